@@ -0,0 +1,120 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import com.nickbenn.advent.util.LongHashSet;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AutomatonBenchmark {
+
+  private static final long SEED = 2020;
+  private static final int GENERATIONS = 100;
+  private static final double PRESENT_FRACTION = 0.8;
+  private static final double ALIVE_FRACTION = 0.3;
+  private static final Rule RULE = Rule.parse("B3/S23");
+
+  @Param({"100", "500"})
+  private int size;
+
+  @Param({"moore", "lineOfSight"})
+  private String topology;
+
+  @Param({"dense", "sparse"})
+  private String backend;
+
+  // 0 steps on the calling thread; otherwise, steps on a pool of this many threads.
+  @Param({"0", "1", "2", "4", "8"})
+  private int threads;
+
+  private BoundedTopology grid;
+  private boolean[] alive;
+  private ForkJoinPool pool;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random rng = new Random(SEED);
+    boolean[][] present = new boolean[size][size];
+    for (boolean[] row : present) {
+      for (int column = 0; column < row.length; column++) {
+        row[column] = rng.nextDouble() < PRESENT_FRACTION;
+      }
+    }
+    switch (topology) {
+      case "moore":
+        grid = new MooreTopology(present);
+        break;
+      case "lineOfSight":
+        grid = new LineOfSightTopology(present);
+        break;
+      default:
+        throw new IllegalArgumentException(topology);
+    }
+    alive = new boolean[grid.size()];
+    for (int cell = 0; cell < alive.length; cell++) {
+      alive[cell] = rng.nextDouble() < ALIVE_FRACTION;
+    }
+    pool = (threads > 0) ? new ForkJoinPool(threads) : null;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+  @Benchmark
+  public int run() {
+    Automaton automaton;
+    if (backend.equals("dense")) {
+      automaton = new DenseAutomaton(grid, RULE, alive, pool);
+    } else {
+      LongHashSet cells = new LongHashSet();
+      for (int cell = 0; cell < alive.length; cell++) {
+        if (alive[cell]) {
+          cells.add(cell);
+        }
+      }
+      automaton = new SparseAutomaton(grid, RULE, cells, pool);
+    }
+    for (int i = 0; i < GENERATIONS; i++) {
+      automaton.step();
+    }
+    return automaton.getPopulation();
+  }
+
+}
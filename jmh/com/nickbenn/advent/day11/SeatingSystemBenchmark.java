@@ -0,0 +1,87 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day11;
+
+import com.nickbenn.advent.generator.SeatingSystemGenerator;
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SeatingSystemBenchmark {
+
+  private static final long SEED = 2020;
+
+  @Param({"90", "400"})
+  private int size;
+
+  private SeatingSystem seatingSystem;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, URISyntaxException {
+    seatingSystem =
+        new SeatingSystem(new Parser.Builder(new SeatingSystemGenerator(size, SEED)).build());
+  }
+
+  @Setup(Level.Invocation)
+  public void reset() {
+    seatingSystem.reset();
+  }
+
+  @Benchmark
+  public int countMooreStablePopulation() {
+    return seatingSystem.countMooreStablePopulation();
+  }
+
+  @Benchmark
+  public int countMooreStablePopulationBitboard() {
+    return seatingSystem.countMooreStablePopulationBitboard();
+  }
+
+  @Benchmark
+  public int countMooreStablePopulationFrontier() {
+    return seatingSystem.countMooreStablePopulationFrontier();
+  }
+
+  @Benchmark
+  public int countLineOfSightStablePopulation() {
+    return seatingSystem.countLineOfSightStablePopulation();
+  }
+
+  @Benchmark
+  public int countLineOfSightStablePopulationFrontier() {
+    return seatingSystem.countLineOfSightStablePopulationFrontier();
+  }
+
+}
@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day15;
+
+import com.nickbenn.advent.generator.RambunctiousRecitationGenerator;
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+// Run with -prof gc to compare the memory each storage mode allocates per recitation.
+public class RambunctiousRecitationBenchmark {
+
+  private static final long SEED = 2020;
+  private static final Pattern ELEMENT_DELIMITER = Pattern.compile("\\s*,\\s*");
+
+  @Param({"2020", "300000", "30000000"})
+  private int limit;
+
+  @Param({"3", "7"})
+  private int startingValues;
+
+  @Param({"boxed", "sparse", "dense", "mapped"})
+  private String storage;
+
+  private int[] inputValues;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, URISyntaxException {
+    try (
+        IntStream stream = new Parser.Builder(
+            new RambunctiousRecitationGenerator(limit, startingValues, SEED)).build()
+            .lineStream()
+            .flatMap(ELEMENT_DELIMITER::splitAsStream)
+            .mapToInt(Integer::parseInt)
+    ) {
+      inputValues = stream
+          .skip(1)
+          .toArray();
+    }
+  }
+
+  @Benchmark
+  public long process() throws IOException {
+    switch (storage) {
+      case "boxed":
+        return processBoxed(inputValues, limit);
+      case "sparse":
+        return RambunctiousRecitation.processSparse(inputValues, limit);
+      case "dense":
+        return RambunctiousRecitation.processDense(inputValues, limit);
+      case "mapped":
+        return processMapped(inputValues, limit);
+      default:
+        throw new IllegalArgumentException(storage);
+    }
+  }
+
+  private static long processMapped(int[] inputValues, int limit) throws IOException {
+    Path directory = Files.createTempDirectory("recitation");
+    Path path = directory.resolve("positions");
+    try {
+      return RambunctiousRecitation.processMapped(inputValues, limit, path);
+    } finally {
+      Files.deleteIfExists(path);
+      Files.delete(directory);
+    }
+  }
+
+  // The original HashMap<Integer, Integer> implementation, kept as a baseline.
+  private static int processBoxed(int[] inputValues, int limit) {
+    Map<Integer, Integer> positions = new HashMap<>();
+    int position = 0;
+    int last;
+    Integer lastPosition = null;
+    for (int value : inputValues) {
+      last = value;
+      lastPosition = positions.put(last, ++position);
+    }
+    do {
+      if (lastPosition == null) {
+        last = 0;
+      } else {
+        last = position - lastPosition;
+      }
+      lastPosition = positions.put(last, ++position);
+    } while (position < limit);
+    return last;
+  }
+
+}
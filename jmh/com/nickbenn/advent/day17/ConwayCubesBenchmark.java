@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day17;
+
+import com.nickbenn.advent.generator.ConwayCubesGenerator;
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConwayCubesBenchmark {
+
+  private static final long SEED = 2020;
+  private static final int GENERATIONS = 6;
+
+  @Param({"8", "16"})
+  private int size;
+
+  @Param({"3", "4"})
+  private int dimensions;
+
+  @Param({"sparse", "packed", "dense", "symmetric"})
+  private String engine;
+
+  private ConwayCubes cubes;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, URISyntaxException {
+    cubes = new ConwayCubes(new Parser.Builder(new ConwayCubesGenerator(size, SEED)).build());
+  }
+
+  @Benchmark
+  public long iterate() {
+    switch (engine) {
+      case "sparse":
+        return cubes.countActive(dimensions, GENERATIONS);
+      case "packed":
+        return cubes.countActivePacked(dimensions, GENERATIONS);
+      case "dense":
+        return cubes.countActiveDense(dimensions, GENERATIONS);
+      case "symmetric":
+        return cubes.countActiveSymmetric(dimensions, GENERATIONS);
+      default:
+        throw new IllegalArgumentException(engine);
+    }
+  }
+
+}
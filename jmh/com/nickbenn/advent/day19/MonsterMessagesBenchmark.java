@@ -0,0 +1,84 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day19;
+
+import com.nickbenn.advent.generator.MonsterMessagesGenerator;
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MonsterMessagesBenchmark {
+
+  private static final long SEED = 2020;
+
+  @Param({"400", "40000"})
+  private int messages;
+
+  @Param({"false", "true"})
+  private boolean looping;
+
+  @Param({"recursive", "compiled"})
+  private String matcher;
+
+  private MonsterMessages monsterMessages;
+  private Grammar grammar;
+  private byte[] messageBytes;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, URISyntaxException {
+    MonsterMessagesGenerator generator = new MonsterMessagesGenerator(messages, looping, SEED);
+    monsterMessages = new MonsterMessages(
+        new Parser.Builder(generator.rules()).build(),
+        new Parser.Builder(generator.messages()).build()
+    );
+    grammar = Grammar.parse(new Parser.Builder(generator.rules()).build());
+    messageBytes = generator.messages().toBytes();
+  }
+
+  @Benchmark
+  public long countValid() {
+    return matcher.equals("compiled")
+        ? monsterMessages.countValidCompiled()
+        : monsterMessages.countValid();
+  }
+
+  @Benchmark
+  public long validate() throws IOException, URISyntaxException {
+    return MonsterMessages.validate(grammar,
+        new Parser.Builder(messageBytes).setMapped(true).build())
+        .getValidCount();
+  }
+
+}
@@ -0,0 +1,67 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day22;
+
+import com.nickbenn.advent.generator.CrabCombatGenerator;
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CrabCombatBenchmark {
+
+  private static final long SEED = 2020;
+
+  @Param({"10", "25"})
+  private int cards;
+
+  private CrabCombat combat;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, URISyntaxException {
+    CrabCombatGenerator generator = new CrabCombatGenerator(cards, SEED);
+    combat = new CrabCombat(
+        new Parser.Builder(generator.player1()).build(),
+        new Parser.Builder(generator.player2()).build()
+    );
+  }
+
+  @Benchmark
+  public boolean playRecursive() {
+    return combat.playRecursive(
+        new LinkedList<>(combat.getPlayer1()), new LinkedList<>(combat.getPlayer2()));
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day23;
+
+import com.nickbenn.advent.generator.CrabCupsGenerator;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+// Run with -prof gc to confirm that the array implementation allocates nothing per move.
+public class CupCircleBenchmark {
+
+  private static final long SEED = 2020;
+  private static final int MOVES = 100_000;
+
+  @Param({"9", "1000000", "10000000"})
+  private int cups;
+
+  @Param({"linked", "array", "mapped"})
+  private String implementation;
+
+  private Circle circle;
+  private Path directory;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    String arrangement =
+        new String(new CrabCupsGenerator(SEED).toBytes(), StandardCharsets.US_ASCII).strip();
+    switch (implementation) {
+      case "linked":
+        circle = new CupCircle(arrangement, cups);
+        break;
+      case "array":
+        circle = new ArrayCupCircle(arrangement, cups);
+        break;
+      case "mapped":
+        directory = Files.createTempDirectory("cups");
+        circle = MappedCupCircle.create(directory.resolve("circle"), arrangement, cups);
+        break;
+      default:
+        throw new IllegalArgumentException(implementation);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    if (directory != null) {
+      ((MappedCupCircle) circle).close();
+      Files.delete(directory.resolve("circle"));
+      Files.delete(directory);
+      directory = null;
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES)
+  public void move() {
+    for (int i = 0; i < MOVES; i++) {
+      circle.move();
+    }
+  }
+
+}
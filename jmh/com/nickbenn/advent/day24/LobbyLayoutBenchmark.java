@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day24;
+
+import com.nickbenn.advent.generator.LobbyLayoutGenerator;
+import com.nickbenn.advent.util.LongHashSet;
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LobbyLayoutBenchmark {
+
+  private static final long SEED = 2020;
+
+  @Param({"500", "5000"})
+  private int tiles;
+
+  @Param({"10", "100"})
+  private int generations;
+
+  @Param({"boxed", "packed", "hashlife", "dense", "adaptive"})
+  private String representation;
+
+  private LobbyLayout layout;
+  private Set<HexagonalCell> initial;
+  private LongHashSet packedInitial;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, URISyntaxException {
+    layout = new LobbyLayout(new Parser.Builder(new LobbyLayoutGenerator(tiles, SEED)).build());
+    initial = layout.getInitialConfiguration();
+    packedInitial = layout.getPackedConfiguration();
+  }
+
+  @Benchmark
+  public int iterate() {
+    switch (representation) {
+      case "packed":
+        return LobbyLayout.countPopulation(packedInitial, generations);
+      case "hashlife":
+        return (int) LobbyLayout.countPopulationHashlife(packedInitial, generations);
+      case "dense":
+        return LobbyLayout.countPopulationDense(packedInitial, generations);
+      case "adaptive":
+        return LobbyLayout.countPopulationAdaptive(packedInitial, generations);
+      default:
+        Set<HexagonalCell> population = initial;
+        for (int i = 0; i < generations; i++) {
+          population = layout.iterate(population);
+        }
+        return population.size();
+    }
+  }
+
+}
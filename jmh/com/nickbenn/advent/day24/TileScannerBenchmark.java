@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day24;
+
+import com.nickbenn.advent.generator.LobbyLayoutGenerator;
+import com.nickbenn.advent.util.LongHashSet;
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TileScannerBenchmark {
+
+  private static final long SEED = 2020;
+
+  @Param({"500", "1000000"})
+  private int tiles;
+
+  private Path path;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    path = Files.createTempFile("tiles", ".txt");
+    new LobbyLayoutGenerator(tiles, SEED).write(path);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  @Benchmark
+  public LongHashSet patternMatch() throws IOException, URISyntaxException {
+    return new LobbyLayout(new Parser.Builder(path.toUri()).build()).getPackedConfiguration();
+  }
+
+  @Benchmark
+  public LongHashSet scanner() throws IOException, URISyntaxException {
+    return LobbyLayout.scanPackedConfiguration(new Parser.Builder(path.toUri()).build());
+  }
+
+  @Benchmark
+  public LongHashSet mappedScanner() throws IOException, URISyntaxException {
+    return LobbyLayout.scanPackedConfiguration(new Parser.Builder(path.toUri())
+        .setMapped(true)
+        .build());
+  }
+
+  @Benchmark
+  public LongHashSet parallelMappedScanner() throws IOException, URISyntaxException {
+    return LobbyLayout.scanPackedConfiguration(new Parser.Builder(path.toUri())
+        .setMapped(true)
+        .setParallel(true)
+        .build());
+  }
+
+}
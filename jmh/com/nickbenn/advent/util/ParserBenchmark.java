@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+
+  private static final long SEED = 2020;
+
+  @Param({"100000", "10000000"})
+  private int size;
+
+  private Path path;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    path = Files.createTempFile("numbers", ".txt");
+    Random rng = new Random(SEED);
+    try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+      for (int i = 0; i < size; i++) {
+        writer.write(Integer.toString(rng.nextInt()));
+        writer.newLine();
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  @Benchmark
+  public int[] stringParseInt() throws IOException {
+    try (Stream<String> stream = Files.lines(path)) {
+      return stream
+          .map(String::trim)
+          .mapToInt(Integer::parseInt)
+          .toArray();
+    }
+  }
+
+  @Benchmark
+  public int[] scannerInts() throws IOException, URISyntaxException {
+    return new Parser.Builder(path.toUri())
+        .build()
+        .ints();
+  }
+
+  @Benchmark
+  public int[] mappedScannerInts() throws IOException, URISyntaxException {
+    return new Parser.Builder(path.toUri())
+        .setMapped(true)
+        .build()
+        .ints();
+  }
+
+  @Benchmark
+  public int[] parallelMappedScannerInts() throws IOException, URISyntaxException {
+    return new Parser.Builder(path.toUri())
+        .setMapped(true)
+        .setParallel(true)
+        .build()
+        .ints();
+  }
+
+  @Benchmark
+  public void scannerCallback(Blackhole blackhole) throws IOException, URISyntaxException {
+    new Parser.Builder(path.toUri())
+        .setMapped(true)
+        .build()
+        .parseInts(blackhole::consume);
+  }
+
+  @Benchmark
+  public int intStreamSum() throws IOException, URISyntaxException {
+    try (
+        IntStream stream = new Parser.Builder(path.toUri())
+            .setMapped(true)
+            .build()
+            .intStream()
+    ) {
+      return stream.sum();
+    }
+  }
+
+}
@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import com.nickbenn.advent.util.LongHashSet;
+import java.util.function.LongConsumer;
+
+// Runs a hexagonal rule on whichever of the sparse and dense engines suits the current density of
+// the pattern: dense once live cells fill at least 1 in DENSE_RATIO of their bounding box, and
+// sparse again once they fill less than 1 in SPARSE_RATIO of it. The gap between the two keeps a
+// pattern near either threshold from switching back and forth.
+public class AdaptiveHexAutomaton implements Automaton {
+
+  static final int DENSE_RATIO = 8;
+  static final int SPARSE_RATIO = 32;
+  static final int MIN_DENSE_AREA = 1 << 10;
+
+  private final HexTopology topology;
+  private final Rule rule;
+
+  private Automaton engine;
+  private long generation;
+
+  public AdaptiveHexAutomaton(HexTopology topology, Rule rule, LongHashSet alive) {
+    this.topology = topology;
+    this.rule = rule;
+    engine = new SparseAutomaton(topology, rule, alive);
+    select();
+  }
+
+  @Override
+  public boolean step() {
+    boolean changed = engine.step();
+    generation++;
+    select();
+    return changed;
+  }
+
+  @Override
+  public long getGeneration() {
+    return generation;
+  }
+
+  @Override
+  public int getPopulation() {
+    return engine.getPopulation();
+  }
+
+  public boolean isDense() {
+    return engine instanceof DenseHexAutomaton;
+  }
+
+  @Override
+  public boolean isAlive(long cell) {
+    return engine.isAlive(cell);
+  }
+
+  @Override
+  public void forEachAlive(LongConsumer action) {
+    engine.forEachAlive(action);
+  }
+
+  private void select() {
+    long population = engine.getPopulation();
+    if (isDense()) {
+      if (population * SPARSE_RATIO < ((DenseHexAutomaton) engine).getLiveArea()) {
+        engine = new SparseAutomaton(topology, rule, alive());
+      }
+    } else if (population > 0) {
+      int[] box = {Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE};
+      engine.forEachAlive((cell) -> {
+        box[0] = Math.min(box[0], topology.q(cell));
+        box[1] = Math.max(box[1], topology.q(cell));
+        box[2] = Math.min(box[2], topology.r(cell));
+        box[3] = Math.max(box[3], topology.r(cell));
+      });
+      long area = (box[1] - box[0] + 1L) * (box[3] - box[2] + 1L);
+      if (area >= MIN_DENSE_AREA && population * DENSE_RATIO >= area) {
+        engine = new DenseHexAutomaton(topology, rule, alive());
+      }
+    }
+  }
+
+  private LongHashSet alive() {
+    LongHashSet cells = new LongHashSet(engine.getPopulation());
+    engine.forEachAlive(cells::add);
+    return cells;
+  }
+
+}
@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import java.util.function.LongConsumer;
+
+public interface Automaton {
+
+  // Advances one generation, and returns true if any cell changed state.
+  boolean step();
+
+  long getGeneration();
+
+  int getPopulation();
+
+  boolean isAlive(long cell);
+
+  void forEachAlive(LongConsumer action);
+
+  // Steps until a generation changes nothing, and returns the number of generations that did.
+  default long runUntilStable() {
+    long start = getGeneration();
+    while (step()) {
+      // Keep stepping.
+    }
+    return getGeneration() - start - 1;
+  }
+
+}
@@ -0,0 +1,206 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+// Runs a rule over a Moore topology 64 columns at a time: each grid row is a run of long words,
+// one bit per column, with a zero word at each end and a zero row above and below the grid. The
+// 8 neighbor bits of every column are summed at once into 4 bit planes with bit-parallel adders;
+// the neighbor counts that give birth or survival are read from the rule once, up front.
+public class BitboardAutomaton implements Automaton {
+
+  private static final int MAX_COUNT = 8;
+
+  private final MooreTopology topology;
+  private final int stride;
+  private final long[] present;
+  private final int[] births;
+  private final int[] survivals;
+
+  private long[] current;
+  private long[] next;
+  private int population;
+  private long generation;
+
+  public BitboardAutomaton(MooreTopology topology, Rule rule, boolean[] alive) {
+    if (alive.length != topology.size()) {
+      throw new IllegalArgumentException();
+    }
+    this.topology = topology;
+    int width = 0;
+    for (int row = 0; row < topology.getRowCount(); row++) {
+      width = Math.max(width, topology.getColumnCount(row));
+    }
+    stride = (width + Long.SIZE - 1) / Long.SIZE + 2;
+    int length = (topology.getRowCount() + 2) * stride;
+    present = new long[length];
+    current = new long[length];
+    next = new long[length];
+    for (int cell = 0; cell < alive.length; cell++) {
+      int index = index(topology.row(cell), topology.column(cell));
+      long bit = 1L << topology.column(cell);
+      present[index] |= bit;
+      if (alive[cell]) {
+        current[index] |= bit;
+        population++;
+      }
+    }
+    births = counts(rule, false);
+    survivals = counts(rule, true);
+  }
+
+  @Override
+  public boolean step() {
+    boolean changed = false;
+    int population = 0;
+    for (int row = 1; row <= topology.getRowCount(); row++) {
+      int start = row * stride;
+      for (int index = start + 1; index < start + stride - 1; index++) {
+        long mask = present[index];
+        if (mask == 0) {
+          next[index] = 0;
+          continue;
+        }
+        long state = current[index];
+        long update = next(index, state) & mask;
+        next[index] = update;
+        changed |= update != state;
+        population += Long.bitCount(update);
+      }
+    }
+    long[] swap = current;
+    current = next;
+    next = swap;
+    this.population = population;
+    generation++;
+    return changed;
+  }
+
+  @Override
+  public long getGeneration() {
+    return generation;
+  }
+
+  @Override
+  public int getPopulation() {
+    return population;
+  }
+
+  @Override
+  public boolean isAlive(long cell) {
+    if (cell < 0 || cell >= topology.size()) {
+      return false;
+    }
+    int row = topology.row((int) cell);
+    int column = topology.column((int) cell);
+    return (current[index(row, column)] & (1L << column)) != 0;
+  }
+
+  @Override
+  public void forEachAlive(LongConsumer action) {
+    for (int row = 0; row < topology.getRowCount(); row++) {
+      int start = (row + 1) * stride + 1;
+      for (int word = 0; word < stride - 2; word++) {
+        for (long bits = current[start + word]; bits != 0; bits &= bits - 1) {
+          int column = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+          action.accept(topology.cellAt(row, column));
+        }
+      }
+    }
+  }
+
+  public boolean[] getState() {
+    boolean[] state = new boolean[topology.size()];
+    forEachAlive((cell) -> state[(int) cell] = true);
+    return state;
+  }
+
+  // Sums the 8 neighbors of each bit of current[index] into planes of weight 1, 2, 4 and 8, and
+  // selects the bits whose count the rule maps to a live cell, given their present state.
+  private long next(int index, long state) {
+    int above = index - stride;
+    int below = index + stride;
+    long north = current[above];
+    long northWest = west(current[above - 1], north);
+    long northEast = east(north, current[above + 1]);
+    long south = current[below];
+    long southWest = west(current[below - 1], south);
+    long southEast = east(south, current[below + 1]);
+    long west = west(current[index - 1], state);
+    long east = east(state, current[index + 1]);
+
+    long northOnes = northWest ^ north ^ northEast;
+    long northTwos = majority(northWest, north, northEast);
+    long southOnes = southWest ^ south ^ southEast;
+    long southTwos = majority(southWest, south, southEast);
+    long middleOnes = west ^ east;
+    long middleTwos = west & east;
+
+    long ones = northOnes ^ southOnes ^ middleOnes;
+    long onesCarry = majority(northOnes, southOnes, middleOnes);
+    long partialTwos = northTwos ^ southTwos ^ middleTwos;
+    long twosCarry = majority(northTwos, southTwos, middleTwos);
+    long twos = partialTwos ^ onesCarry;
+    long partialCarry = partialTwos & onesCarry;
+    long fours = twosCarry ^ partialCarry;
+    long eights = twosCarry & partialCarry;
+
+    return (~state & select(births, ones, twos, fours, eights))
+        | (state & select(survivals, ones, twos, fours, eights));
+  }
+
+  private int index(int row, int column) {
+    return (row + 1) * stride + column / Long.SIZE + 1;
+  }
+
+  // Each bit of the result is the bit of the column to its west (that is, one lower).
+  private static long west(long previous, long word) {
+    return (word << 1) | (previous >>> (Long.SIZE - 1));
+  }
+
+  private static long east(long word, long following) {
+    return (word >>> 1) | (following << (Long.SIZE - 1));
+  }
+
+  private static long majority(long a, long b, long c) {
+    return (a & b) | (c & (a ^ b));
+  }
+
+  private static long select(int[] counts, long ones, long twos, long fours, long eights) {
+    long selected = 0;
+    for (int count : counts) {
+      selected |= (((count & 1) != 0) ? ones : ~ones)
+          & (((count & 2) != 0) ? twos : ~twos)
+          & (((count & 4) != 0) ? fours : ~fours)
+          & (((count & 8) != 0) ? eights : ~eights);
+    }
+    return selected;
+  }
+
+  private static int[] counts(Rule rule, boolean alive) {
+    int[] counts = new int[MAX_COUNT + 1];
+    int size = 0;
+    for (int count = 0; count <= MAX_COUNT; count++) {
+      if (rule.next(alive, count)) {
+        counts[size++] = count;
+      }
+    }
+    return Arrays.copyOf(counts, size);
+  }
+
+}
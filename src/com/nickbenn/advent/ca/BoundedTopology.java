@@ -0,0 +1,61 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import java.util.function.LongConsumer;
+
+// A topology over the cells 0 through size() - 1.
+public interface BoundedTopology extends Topology {
+
+  int size();
+
+  int maxNeighbors();
+
+  // Writes the neighbors of cell to the start of buffer, which must hold at least maxNeighbors()
+  // values, and returns their number.
+  int neighbors(int cell, int[] buffer);
+
+  // Sets counts[cell] to the number of live neighbors of each cell, given the live cells in state.
+  default void countAlive(boolean[] state, int[] counts) {
+    countAlive(state, counts, 0, state.length);
+  }
+
+  // As above, for the cells from (inclusive) through to (exclusive) only; calls for disjoint ranges
+  // may run concurrently.
+  default void countAlive(boolean[] state, int[] counts, int from, int to) {
+    int[] buffer = new int[maxNeighbors()];
+    for (int cell = from; cell < to; cell++) {
+      int count = neighbors(cell, buffer);
+      int alive = 0;
+      for (int i = 0; i < count; i++) {
+        if (state[buffer[i]]) {
+          alive++;
+        }
+      }
+      counts[cell] = alive;
+    }
+  }
+
+  @Override
+  default void forEachNeighbor(long cell, LongConsumer action) {
+    int[] buffer = new int[maxNeighbors()];
+    int count = neighbors((int) cell, buffer);
+    for (int i = 0; i < count; i++) {
+      action.accept(buffer[i]);
+    }
+  }
+
+}
@@ -21,9 +21,14 @@ import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class Cell implements Comparable<Cell> {
 
+  private static final int MAX_CACHED_DIMENSIONS = 8;
+  private static final AtomicReferenceArray<int[][]> OFFSETS =
+      new AtomicReferenceArray<>(MAX_CACHED_DIMENSIONS + 1);
+
   private final int[] coordinates;
   private final int hash;
 
@@ -93,6 +98,58 @@ public class Cell implements Comparable<Cell> {
     return neighbors;
   }
 
+  // The consumer receives the same array for every neighbor, overwritten in place; it must copy
+  // the coordinates if it keeps them.
+  public void forEachNeighbor(IntArrayConsumer consumer) {
+    int[] neighbor = new int[coordinates.length];
+    for (int[] offset : neighborOffsets(coordinates.length)) {
+      for (int i = 0; i < neighbor.length; i++) {
+        neighbor[i] = coordinates[i] + offset[i];
+      }
+      consumer.accept(neighbor);
+    }
+  }
+
+  // Offsets to the 3^d - 1 neighbors of a cell in d dimensions, computed once per dimension count
+  // and shared; callers must not modify them.
+  public static int[][] neighborOffsets(int dimensions) {
+    if (dimensions > MAX_CACHED_DIMENSIONS) {
+      return computeOffsets(dimensions);
+    }
+    int[][] offsets = OFFSETS.get(dimensions);
+    if (offsets == null) {
+      offsets = computeOffsets(dimensions);
+      if (!OFFSETS.compareAndSet(dimensions, null, offsets)) {
+        offsets = OFFSETS.get(dimensions);
+      }
+    }
+    return offsets;
+  }
+
+  private static int[][] computeOffsets(int dimensions) {
+    int count = 1;
+    for (int i = 0; i < dimensions; i++) {
+      count *= 3;
+    }
+    int[][] offsets = new int[count - 1][];
+    int[] offset = new int[dimensions];
+    Arrays.fill(offset, -1);
+    int index = 0;
+    for (int i = 0; i < count; i++) {
+      boolean origin = true;
+      for (int value : offset) {
+        origin &= value == 0;
+      }
+      if (!origin) {
+        offsets[index++] = offset.clone();
+      }
+      for (int j = 0; j < dimensions && ++offset[j] > 1; j++) {
+        offset[j] = -1;
+      }
+    }
+    return offsets;
+  }
+
   private void collectNeighbors(Set<Cell> neighbors, Deque<Integer> partialCoordinates) {
     if (partialCoordinates.size() == coordinates.length) {
       neighbors.add(new Cell(partialCoordinates));
@@ -0,0 +1,145 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongConsumer;
+
+// Holds the state of every cell of a bounded topology, double-buffered between generations. Given
+// a pool, each generation is split into bands of consecutive cells, computed concurrently from the
+// previous generation's state; since each band writes only its own cells, and band totals are
+// summed in a fixed order, the result does not depend on the number of threads.
+public class DenseAutomaton implements Automaton {
+
+  static final int MIN_BAND_SIZE = 1 << 14;
+
+  private final BoundedTopology topology;
+  private final Rule rule;
+  private final ForkJoinPool pool;
+  private final int[] counts;
+
+  private boolean[] current;
+  private boolean[] next;
+  private int population;
+  private long generation;
+
+  public DenseAutomaton(BoundedTopology topology, Rule rule, boolean[] alive) {
+    this(topology, rule, alive, null);
+  }
+
+  public DenseAutomaton(BoundedTopology topology, Rule rule, boolean[] alive, ForkJoinPool pool) {
+    if (alive.length != topology.size()) {
+      throw new IllegalArgumentException();
+    }
+    this.topology = topology;
+    this.rule = rule;
+    this.pool = pool;
+    counts = new int[alive.length];
+    current = alive.clone();
+    next = new boolean[alive.length];
+    for (boolean state : current) {
+      if (state) {
+        population++;
+      }
+    }
+  }
+
+  @Override
+  public boolean step() {
+    Band band = new Band(0, current.length);
+    if (pool != null && current.length > MIN_BAND_SIZE) {
+      pool.invoke(band);
+    } else {
+      band.compute();
+    }
+    boolean[] swap = current;
+    current = next;
+    next = swap;
+    population = band.population;
+    generation++;
+    return band.changed;
+  }
+
+  @Override
+  public long getGeneration() {
+    return generation;
+  }
+
+  @Override
+  public int getPopulation() {
+    return population;
+  }
+
+  @Override
+  public boolean isAlive(long cell) {
+    return cell >= 0 && cell < current.length && current[(int) cell];
+  }
+
+  @Override
+  public void forEachAlive(LongConsumer action) {
+    for (int cell = 0; cell < current.length; cell++) {
+      if (current[cell]) {
+        action.accept(cell);
+      }
+    }
+  }
+
+  public boolean[] getState() {
+    return current.clone();
+  }
+
+  private class Band extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+
+    private int population;
+    private boolean changed;
+
+    Band(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (pool != null && to - from > MIN_BAND_SIZE) {
+        int middle = (from + to) >>> 1;
+        Band low = new Band(from, middle);
+        Band high = new Band(middle, to);
+        invokeAll(low, high);
+        population = low.population + high.population;
+        changed = low.changed || high.changed;
+      } else {
+        topology.countAlive(current, counts, from, to);
+        for (int cell = from; cell < to; cell++) {
+          boolean alive = current[cell];
+          boolean state = rule.next(alive, counts[cell]);
+          next[cell] = state;
+          changed |= state != alive;
+          if (state) {
+            population++;
+          }
+        }
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,218 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import com.nickbenn.advent.util.LongHashSet;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+// Holds the hexagonal grid as one byte per cell over a box in axial coordinates, row r by column
+// q, kept with a margin of at least 2 dead cells on every side, and grown as the pattern nears an
+// edge. Each neighbor of (q, r) is a fixed offset in the array, so counts are six shifted-array
+// additions over the interior rows; the margin keeps the row-to-row wraparound of those offsets
+// from ever reaching a live cell.
+public class DenseHexAutomaton implements Automaton {
+
+  static final int MARGIN = 2;
+
+  private static final int MAX_NEIGHBORS = 6;
+  private static final int MIN_GROWTH = 8;
+
+  private final HexTopology topology;
+  private final byte[] table;
+  private final int[][] directions;
+
+  private int originQ;
+  private int originR;
+  private int width;
+  private int height;
+  private byte[] cells;
+  private byte[] next;
+  private byte[] counts;
+  private int population;
+  private int minRow;
+  private int maxRow;
+  private int minColumn;
+  private int maxColumn;
+  private long generation;
+
+  public DenseHexAutomaton(HexTopology topology, Rule rule, LongHashSet alive) {
+    if (rule.next(false, 0)) {
+      throw new IllegalArgumentException("A growing grid cannot give birth to isolated cells.");
+    }
+    this.topology = topology;
+    directions = topology.getDirections();
+    table = new byte[2 * (MAX_NEIGHBORS + 1)];
+    for (int count = 0; count <= MAX_NEIGHBORS; count++) {
+      table[count] = (byte) (rule.next(false, count) ? 1 : 0);
+      table[MAX_NEIGHBORS + 1 + count] = (byte) (rule.next(true, count) ? 1 : 0);
+    }
+    long[] packed = alive.toArray();
+    int minQ = 0;
+    int maxQ = 0;
+    int minR = 0;
+    int maxR = 0;
+    for (int i = 0; i < packed.length; i++) {
+      int q = topology.q(packed[i]);
+      int r = topology.r(packed[i]);
+      minQ = (i == 0) ? q : Math.min(minQ, q);
+      maxQ = (i == 0) ? q : Math.max(maxQ, q);
+      minR = (i == 0) ? r : Math.min(minR, r);
+      maxR = (i == 0) ? r : Math.max(maxR, r);
+    }
+    originQ = minQ - MARGIN;
+    originR = minR - MARGIN;
+    width = maxQ - minQ + 1 + 2 * MARGIN;
+    height = maxR - minR + 1 + 2 * MARGIN;
+    cells = new byte[width * height];
+    for (long cell : packed) {
+      cells[index(topology.q(cell) - originQ, topology.r(cell) - originR)] = 1;
+    }
+    population = packed.length;
+    next = new byte[cells.length];
+    counts = new byte[cells.length];
+    minRow = minR - originR;
+    maxRow = maxR - originR;
+    minColumn = minQ - originQ;
+    maxColumn = maxQ - originQ;
+  }
+
+  @Override
+  public boolean step() {
+    if (population > 0 && (minRow < MARGIN || maxRow >= height - MARGIN
+        || minColumn < MARGIN || maxColumn >= width - MARGIN)) {
+      grow();
+    }
+    int from = width;
+    int to = cells.length - width;
+    byte[] cells = this.cells;
+    byte[] counts = this.counts;
+    Arrays.fill(counts, (byte) 0);
+    for (int[] direction : directions) {
+      int offset = direction[1] * width + direction[0];
+      for (int i = from; i < to; i++) {
+        counts[i] += cells[i + offset];
+      }
+    }
+    boolean changed = false;
+    int population = 0;
+    minRow = height;
+    maxRow = -1;
+    minColumn = width;
+    maxColumn = -1;
+    for (int row = 1; row < height - 1; row++) {
+      int start = row * width;
+      int first = -1;
+      int last = -1;
+      for (int column = 0; column < width; column++) {
+        int i = start + column;
+        byte state = table[cells[i] * (MAX_NEIGHBORS + 1) + counts[i]];
+        next[i] = state;
+        changed |= state != cells[i];
+        if (state != 0) {
+          population++;
+          last = column;
+          if (first < 0) {
+            first = column;
+          }
+        }
+      }
+      if (first >= 0) {
+        minRow = Math.min(minRow, row);
+        maxRow = row;
+        minColumn = Math.min(minColumn, first);
+        maxColumn = Math.max(maxColumn, last);
+      }
+    }
+    byte[] swap = this.cells;
+    this.cells = next;
+    next = swap;
+    this.population = population;
+    generation++;
+    return changed;
+  }
+
+  @Override
+  public long getGeneration() {
+    return generation;
+  }
+
+  @Override
+  public int getPopulation() {
+    return population;
+  }
+
+  // Returns the number of cells held, live or dead.
+  public int getArea() {
+    return cells.length;
+  }
+
+  // Returns the area of the bounding box of the live cells.
+  public long getLiveArea() {
+    return (population > 0) ? (maxColumn - minColumn + 1L) * (maxRow - minRow + 1L) : 0;
+  }
+
+  @Override
+  public boolean isAlive(long cell) {
+    int column = topology.q(cell) - originQ;
+    int row = topology.r(cell) - originR;
+    return column >= 0 && column < width && row >= 0 && row < height
+        && cells[index(column, row)] != 0;
+  }
+
+  @Override
+  public void forEachAlive(LongConsumer action) {
+    for (int row = Math.max(0, minRow); row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        if (cells[index(column, row)] != 0) {
+          action.accept(topology.pack(column + originQ, row + originR));
+        }
+      }
+    }
+  }
+
+  private int index(int column, int row) {
+    return row * width + column;
+  }
+
+  // Re-centers the live box with room to grow by half its size, and at least MIN_GROWTH, on each
+  // side, so that growth is amortized over many generations.
+  private void grow() {
+    int liveWidth = maxColumn - minColumn + 1;
+    int liveHeight = maxRow - minRow + 1;
+    int padQ = MARGIN + Math.max(MIN_GROWTH, liveWidth / 2);
+    int padR = MARGIN + Math.max(MIN_GROWTH, liveHeight / 2);
+    int newWidth = liveWidth + 2 * padQ;
+    int newHeight = liveHeight + 2 * padR;
+    byte[] grown = new byte[Math.multiplyExact(newWidth, newHeight)];
+    for (int row = minRow; row <= maxRow; row++) {
+      System.arraycopy(cells, index(minColumn, row), grown,
+          (row - minRow + padR) * newWidth + padQ, liveWidth);
+    }
+    originQ += minColumn - padQ;
+    originR += minRow - padR;
+    width = newWidth;
+    height = newHeight;
+    cells = grown;
+    next = new byte[grown.length];
+    counts = new byte[grown.length];
+    minColumn = padQ;
+    maxColumn = padQ + liveWidth - 1;
+    minRow = padR;
+    maxRow = padR + liveHeight - 1;
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import java.util.function.LongConsumer;
+
+// Keeps a live-neighbor count for every cell of a bounded topology, and re-evaluates only the
+// frontier: the cells that changed in the previous generation, and their neighbors. All frontier
+// cells are evaluated before any flips are applied, so generations stay synchronous; once only a
+// thin band of cells is still changing, a step costs time in proportion to it, not to the size of
+// the topology.
+public class FrontierAutomaton implements Automaton {
+
+  private final BoundedTopology topology;
+  private final Rule rule;
+  private final boolean[] state;
+  private final int[] counts;
+  private final int[] buffer;
+  private final int[] queued;
+
+  private int[] frontier;
+  private int frontierSize;
+  private int[] flipped;
+  private int population;
+  private int changeCount;
+  private long generation;
+
+  public FrontierAutomaton(BoundedTopology topology, Rule rule, boolean[] alive) {
+    if (alive.length != topology.size()) {
+      throw new IllegalArgumentException();
+    }
+    this.topology = topology;
+    this.rule = rule;
+    state = alive.clone();
+    counts = new int[alive.length];
+    buffer = new int[topology.maxNeighbors()];
+    queued = new int[alive.length];
+    topology.countAlive(state, counts);
+    frontier = new int[alive.length];
+    flipped = new int[alive.length];
+    for (int cell = 0; cell < alive.length; cell++) {
+      frontier[cell] = cell;
+      if (alive[cell]) {
+        population++;
+      }
+    }
+    frontierSize = alive.length;
+  }
+
+  @Override
+  public boolean step() {
+    int flips = 0;
+    for (int i = 0; i < frontierSize; i++) {
+      int cell = frontier[i];
+      if (rule.next(state[cell], counts[cell]) != state[cell]) {
+        flipped[flips++] = cell;
+      }
+    }
+    generation++;
+    int size = 0;
+    if ((long) flips * buffer.length > state.length) {
+      // Early on, most cells change; recounting in one sequential pass is cheaper than scattering
+      // updates from every flip, and the whole topology is the frontier anyway.
+      for (int i = 0; i < flips; i++) {
+        int cell = flipped[i];
+        state[cell] = !state[cell];
+        population += state[cell] ? 1 : -1;
+      }
+      topology.countAlive(state, counts);
+      for (int cell = 0; cell < state.length; cell++) {
+        frontier[size++] = cell;
+      }
+    } else {
+      int stamp = (int) generation;
+      for (int i = 0; i < flips; i++) {
+        int cell = flipped[i];
+        boolean alive = !state[cell];
+        int delta = alive ? 1 : -1;
+        state[cell] = alive;
+        population += delta;
+        int count = topology.neighbors(cell, buffer);
+        for (int j = 0; j < count; j++) {
+          int neighbor = buffer[j];
+          counts[neighbor] += delta;
+          if (queued[neighbor] != stamp) {
+            queued[neighbor] = stamp;
+            frontier[size++] = neighbor;
+          }
+        }
+        if (queued[cell] != stamp) {
+          queued[cell] = stamp;
+          frontier[size++] = cell;
+        }
+      }
+    }
+    frontierSize = size;
+    changeCount = flips;
+    return flips > 0;
+  }
+
+  @Override
+  public long getGeneration() {
+    return generation;
+  }
+
+  @Override
+  public int getPopulation() {
+    return population;
+  }
+
+  // Returns the number of cells that changed state in the last generation.
+  public int getChangeCount() {
+    return changeCount;
+  }
+
+  // Returns the number of cells that the next generation will re-evaluate.
+  public int getFrontierSize() {
+    return frontierSize;
+  }
+
+  @Override
+  public boolean isAlive(long cell) {
+    return cell >= 0 && cell < state.length && state[(int) cell];
+  }
+
+  @Override
+  public void forEachAlive(LongConsumer action) {
+    for (int cell = 0; cell < state.length; cell++) {
+      if (state[cell]) {
+        action.accept(cell);
+      }
+    }
+  }
+
+  public boolean[] getState() {
+    return state.clone();
+  }
+
+}
@@ -0,0 +1,125 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import java.util.Arrays;
+
+// The present cells of a rectangular grid (rows may differ in length), numbered in row-major
+// order; absent cells, such as floor between seats, are not part of the topology. The grid is
+// also laid out flat with a one-cell border, so that subclasses can step between positions by a
+// fixed offset per direction, without bounds checks.
+public abstract class GridTopology implements BoundedTopology {
+
+  static final int[][] DIRECTIONS = {
+      {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}
+  };
+
+  static final int ABSENT = -1;
+  static final int OUTSIDE = -2;
+
+  private final int[][] index;
+  private final int[] rows;
+  private final int[] columns;
+  private final int[] layout;
+  private final int[] positions;
+  private final int[] offsets;
+
+  protected GridTopology(boolean[][] present) {
+    index = new int[present.length][];
+    int size = 0;
+    for (int row = 0; row < present.length; row++) {
+      index[row] = new int[present[row].length];
+      for (int column = 0; column < present[row].length; column++) {
+        index[row][column] = present[row][column] ? size++ : ABSENT;
+      }
+    }
+    int width = 0;
+    for (int[] row : index) {
+      width = Math.max(width, row.length);
+    }
+    int stride = width + 2;
+    rows = new int[size];
+    columns = new int[size];
+    positions = new int[size];
+    layout = new int[(present.length + 2) * stride];
+    Arrays.fill(layout, OUTSIDE);
+    for (int row = 0; row < present.length; row++) {
+      for (int column = 0; column < present[row].length; column++) {
+        int cell = index[row][column];
+        int position = (row + 1) * stride + column + 1;
+        layout[position] = cell;
+        if (cell >= 0) {
+          rows[cell] = row;
+          columns[cell] = column;
+          positions[cell] = position;
+        }
+      }
+    }
+    offsets = new int[DIRECTIONS.length];
+    for (int i = 0; i < DIRECTIONS.length; i++) {
+      offsets[i] = DIRECTIONS[i][0] * stride + DIRECTIONS[i][1];
+    }
+  }
+
+  @Override
+  public int size() {
+    return rows.length;
+  }
+
+  @Override
+  public int maxNeighbors() {
+    return DIRECTIONS.length;
+  }
+
+  public int getRowCount() {
+    return index.length;
+  }
+
+  public int getColumnCount(int row) {
+    return index[row].length;
+  }
+
+  // Returns the cell at (row, column), or -1 if there is none.
+  public int cellAt(int row, int column) {
+    return (row >= 0 && row < index.length && column >= 0 && column < index[row].length)
+        ? index[row][column]
+        : -1;
+  }
+
+  public int row(int cell) {
+    return rows[cell];
+  }
+
+  public int column(int cell) {
+    return columns[cell];
+  }
+
+  // Returns the flat layout: a cell id at each present position, ABSENT at each absent one, and
+  // OUTSIDE around (and to the right of any short row of) the grid.
+  final int[] layout() {
+    return layout;
+  }
+
+  final int position(int cell) {
+    return positions[cell];
+  }
+
+  // The layout offset of each of DIRECTIONS, in the same order.
+  final int[] offsets() {
+    return offsets;
+  }
+
+}
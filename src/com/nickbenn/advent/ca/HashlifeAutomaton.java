@@ -0,0 +1,481 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import com.nickbenn.advent.util.LongHashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+// Hashlife over the plane, for any rule whose neighborhood lies within the 8 cells around each
+// cell; the hexagonal grid fits, as the square grid with the (1, 1) and (-1, -1) neighbors left
+// out. The plane is a quadtree of canonical nodes, so that identical regions, wherever and whenever
+// they appear, share one node, and each node remembers its center advanced by each power of 2
+// generations it has been asked for. Cells are packed as by PackedCells(2), x first.
+public class HashlifeAutomaton implements Automaton {
+
+  static final int DEFAULT_MAX_NODES = 1 << 22;
+
+  private static final int BASE_LEVEL = 2;
+  private static final int BASE_SIZE = 1 << BASE_LEVEL;
+
+  private final Rule rule;
+  private final int[][] neighborhood;
+  private final int maxNodes;
+  private final PackedCells packing = new PackedCells(2);
+  private final Node dead = new Node(false);
+  private final Node alive = new Node(true);
+
+  private NodeTable nodes = new NodeTable();
+  private Node[] empty = new Node[1];
+  private Node root;
+  private long originX;
+  private long originY;
+  private long generation;
+
+  public HashlifeAutomaton(int[][] neighborhood, Rule rule, LongHashSet alive) {
+    this(neighborhood, rule, alive, DEFAULT_MAX_NODES);
+  }
+
+  // Once more than maxNodes nodes are canonical, all but those of the current pattern are dropped,
+  // and every remembered result is forgotten, to be recomputed as needed.
+  public HashlifeAutomaton(int[][] neighborhood, Rule rule, LongHashSet alive, int maxNodes) {
+    if (rule.next(false, 0)) {
+      throw new IllegalArgumentException("Hashlife cannot give birth to isolated cells.");
+    }
+    for (int[] delta : neighborhood) {
+      if (Math.abs(delta[0]) > 1 || Math.abs(delta[1]) > 1 || (delta[0] == 0 && delta[1] == 0)) {
+        throw new IllegalArgumentException("Neighbors must lie within the 8 cells around a cell.");
+      }
+    }
+    this.rule = rule;
+    this.neighborhood = neighborhood.clone();
+    this.maxNodes = maxNodes;
+    empty[0] = dead;
+    long[] cells = alive.toArray();
+    long minX = Long.MAX_VALUE;
+    long minY = Long.MAX_VALUE;
+    long maxX = Long.MIN_VALUE;
+    long maxY = Long.MIN_VALUE;
+    for (long cell : cells) {
+      minX = Math.min(minX, packing.get(cell, 0));
+      minY = Math.min(minY, packing.get(cell, 1));
+      maxX = Math.max(maxX, packing.get(cell, 0));
+      maxY = Math.max(maxY, packing.get(cell, 1));
+    }
+    int level = BASE_LEVEL;
+    if (cells.length > 0) {
+      while ((1L << level) <= Math.max(maxX - minX, maxY - minY)) {
+        level++;
+      }
+    } else {
+      minX = 0;
+      minY = 0;
+    }
+    root = empty(level);
+    originX = minX;
+    originY = minY;
+    for (long cell : cells) {
+      root = set(root, packing.get(cell, 0) - originX, packing.get(cell, 1) - originY);
+    }
+  }
+
+  @Override
+  public boolean step() {
+    Node previous = root;
+    long previousX = originX;
+    long previousY = originY;
+    NodeTable table = nodes;
+    advance(1);
+    return !sameRegion(previous, previousX, previousY, nodes != table);
+  }
+
+  // Advances by any number of generations, taking one jump of 2^j generations for each bit j set.
+  public void advance(long generations) {
+    if (generations < 0) {
+      throw new IllegalArgumentException();
+    }
+    for (int j = 0; j < Long.SIZE - 1; j++) {
+      if ((generations & (1L << j)) != 0) {
+        while (root.level < j + 3 || !isPadded(root)) {
+          expand();
+        }
+        originX += 1L << (root.level - 2);
+        originY += 1L << (root.level - 2);
+        root = successor(root, j);
+        generation += 1L << j;
+        if (nodes.size() > maxNodes) {
+          collect();
+        }
+      }
+    }
+  }
+
+  @Override
+  public long getGeneration() {
+    return generation;
+  }
+
+  @Override
+  public int getPopulation() {
+    return Math.toIntExact(root.population);
+  }
+
+  public long getLongPopulation() {
+    return root.population;
+  }
+
+  // Returns the number of canonical nodes currently held.
+  public int getNodeCount() {
+    return nodes.size();
+  }
+
+  @Override
+  public boolean isAlive(long cell) {
+    long x = packing.get(cell, 0) - originX;
+    long y = packing.get(cell, 1) - originY;
+    Node node = root;
+    long size = 1L << node.level;
+    if (x < 0 || y < 0 || x >= size || y >= size) {
+      return false;
+    }
+    while (node.level > 0 && node.population > 0) {
+      size >>= 1;
+      boolean east = x >= size;
+      boolean south = y >= size;
+      node = south ? (east ? node.se : node.sw) : (east ? node.ne : node.nw);
+      x -= east ? size : 0;
+      y -= south ? size : 0;
+    }
+    return node.population > 0;
+  }
+
+  @Override
+  public void forEachAlive(LongConsumer action) {
+    forEachAlive(root, originX, originY, action);
+  }
+
+  private void forEachAlive(Node node, long x, long y, LongConsumer action) {
+    if (node.population == 0) {
+      return;
+    }
+    if (node.level == 0) {
+      action.accept(packing.pack((int) x, (int) y));
+      return;
+    }
+    long half = 1L << (node.level - 1);
+    forEachAlive(node.nw, x, y, action);
+    forEachAlive(node.ne, x + half, y, action);
+    forEachAlive(node.sw, x, y + half, action);
+    forEachAlive(node.se, x + half, y + half, action);
+  }
+
+  // Returns the level - 1 center of node, advanced by 2^min(j, level - 2) generations.
+  private Node successor(Node node, int j) {
+    int speed = Math.min(j, node.level - 2);
+    if (node.results == null) {
+      node.results = new Node[node.level - 1];
+    }
+    Node result = node.results[speed];
+    if (result == null) {
+      result = (node.level == BASE_LEVEL) ? base(node) : recurse(node, j);
+      node.results[speed] = result;
+    }
+    return result;
+  }
+
+  // Splits node into 9 overlapping level - 1 squares; at full speed, each is advanced by half the
+  // total, otherwise only its center is taken. Then 4 overlapping squares of those are advanced.
+  private Node recurse(Node node, int j) {
+    Node[] squares = {
+        node.nw, horizontal(node.nw, node.ne), node.ne,
+        vertical(node.nw, node.sw), center(node), vertical(node.ne, node.se),
+        node.sw, horizontal(node.sw, node.se), node.se
+    };
+    boolean fullSpeed = j >= node.level - 2;
+    for (int i = 0; i < squares.length; i++) {
+      squares[i] = fullSpeed ? successor(squares[i], j) : center(squares[i]);
+    }
+    return node(
+        successor(node(squares[0], squares[1], squares[3], squares[4]), j),
+        successor(node(squares[1], squares[2], squares[4], squares[5]), j),
+        successor(node(squares[3], squares[4], squares[6], squares[7]), j),
+        successor(node(squares[4], squares[5], squares[7], squares[8]), j));
+  }
+
+  // Applies the rule once to the central 2 x 2 cells of a 4 x 4 node.
+  private Node base(Node node) {
+    boolean[][] cells = new boolean[BASE_SIZE][BASE_SIZE];
+    for (int y = 0; y < BASE_SIZE; y++) {
+      for (int x = 0; x < BASE_SIZE; x++) {
+        cells[y][x] = leaf(node, x, y);
+      }
+    }
+    Node[] next = new Node[4];
+    for (int y = 1; y <= 2; y++) {
+      for (int x = 1; x <= 2; x++) {
+        int count = 0;
+        for (int[] delta : neighborhood) {
+          if (cells[y + delta[1]][x + delta[0]]) {
+            count++;
+          }
+        }
+        next[(y - 1) * 2 + x - 1] = rule.next(cells[y][x], count) ? alive : dead;
+      }
+    }
+    return node(next[0], next[1], next[2], next[3]);
+  }
+
+  private boolean leaf(Node node, int x, int y) {
+    Node quadrant = (y < 2) ? ((x < 2) ? node.nw : node.ne) : ((x < 2) ? node.sw : node.se);
+    Node cell = ((y & 1) == 0) ? (((x & 1) == 0) ? quadrant.nw : quadrant.ne)
+        : (((x & 1) == 0) ? quadrant.sw : quadrant.se);
+    return cell.population > 0;
+  }
+
+  private Node center(Node node) {
+    return node(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw);
+  }
+
+  private Node horizontal(Node west, Node east) {
+    return node(west.ne, east.nw, west.se, east.sw);
+  }
+
+  private Node vertical(Node north, Node south) {
+    return node(north.sw, north.se, south.nw, south.ne);
+  }
+
+  // True if all live cells lie in the central square a quarter of node's width on a side, so that
+  // nothing can escape the center while it is advanced by up to 2^(level - 3) generations.
+  private boolean isPadded(Node node) {
+    return node.nw.population == node.nw.se.se.population
+        && node.ne.population == node.ne.sw.sw.population
+        && node.sw.population == node.sw.ne.ne.population
+        && node.se.population == node.se.nw.nw.population;
+  }
+
+  private void expand() {
+    Node border = empty(root.level - 1);
+    root = node(
+        node(border, border, border, root.nw),
+        node(border, border, root.ne, border),
+        node(border, root.sw, border, border),
+        node(root.se, border, border, border));
+    originX -= 1L << (root.level - 2);
+    originY -= 1L << (root.level - 2);
+  }
+
+  // Narrows the larger of the two roots to its center while that holds all of its cells, which
+  // lines them up after any step that neither grew nor moved the pattern; then identical regions
+  // are the same canonical node, and a larger root that spills past a smaller one cannot match it.
+  // Cells are compared only if neither shortcut applies, or if nodes were collected in between,
+  // so that the two roots are not canonical together.
+  private boolean sameRegion(Node previous, long previousX, long previousY, boolean collected) {
+    if (previous.population != root.population) {
+      return false;
+    }
+    Node current = root;
+    long currentX = originX;
+    long currentY = originY;
+    while (previous.level > current.level && isCentered(previous)) {
+      previousX += 1L << (previous.level - 2);
+      previousY += 1L << (previous.level - 2);
+      previous = center(previous);
+    }
+    while (current.level > previous.level && isCentered(current)) {
+      currentX += 1L << (current.level - 2);
+      currentY += 1L << (current.level - 2);
+      current = center(current);
+    }
+    if (!collected && previous.level == current.level
+        && previousX == currentX && previousY == currentY) {
+      return previous == current;
+    }
+    if (spills(previous, previousX, previousY, current, currentX, currentY)
+        || spills(current, currentX, currentY, previous, previousX, previousY)) {
+      return false;
+    }
+    boolean[] same = {true};
+    LongHashSet cells = new LongHashSet((int) Math.min(Integer.MAX_VALUE, root.population));
+    forEachAlive(previous, previousX, previousY, cells::add);
+    forEachAlive(current, currentX, currentY, (cell) -> same[0] &= cells.contains(cell));
+    return same[0];
+  }
+
+  // True if outer, left with cells outside its center, has that center covering all of inner.
+  private boolean spills(Node outer, long outerX, long outerY,
+      Node inner, long innerX, long innerY) {
+    if (outer.level <= inner.level) {
+      return false;
+    }
+    long quarter = 1L << (outer.level - 2);
+    long innerSize = 1L << inner.level;
+    return innerX >= outerX + quarter && innerX + innerSize <= outerX + 3 * quarter
+        && innerY >= outerY + quarter && innerY + innerSize <= outerY + 3 * quarter;
+  }
+
+  private boolean isCentered(Node node) {
+    return node.level >= 2 && node.population
+        == node.nw.se.population + node.ne.sw.population
+        + node.sw.ne.population + node.se.nw.population;
+  }
+
+  private Node set(Node node, long x, long y) {
+    if (node.level == 0) {
+      return alive;
+    }
+    long half = 1L << (node.level - 1);
+    boolean east = x >= half;
+    boolean south = y >= half;
+    long innerX = east ? x - half : x;
+    long innerY = south ? y - half : y;
+    return node(
+        (!east && !south) ? set(node.nw, innerX, innerY) : node.nw,
+        (east && !south) ? set(node.ne, innerX, innerY) : node.ne,
+        (!east && south) ? set(node.sw, innerX, innerY) : node.sw,
+        (east && south) ? set(node.se, innerX, innerY) : node.se);
+  }
+
+  private Node empty(int level) {
+    if (level >= empty.length) {
+      Node[] extended = new Node[level + 1];
+      System.arraycopy(empty, 0, extended, 0, empty.length);
+      for (int i = empty.length; i <= level; i++) {
+        Node smaller = extended[i - 1];
+        extended[i] = node(smaller, smaller, smaller, smaller);
+      }
+      empty = extended;
+    }
+    return empty[level];
+  }
+
+  private Node node(Node nw, Node ne, Node sw, Node se) {
+    return nodes.intern(nw, ne, sw, se);
+  }
+
+  // Keeps only the nodes reachable from the root, forgetting all remembered results.
+  private void collect() {
+    nodes = new NodeTable();
+    empty = new Node[]{dead};
+    root = rebuild(root, new IdentityHashMap<>());
+  }
+
+  private Node rebuild(Node node, Map<Node, Node> rebuilt) {
+    if (node.level == 0) {
+      return node;
+    }
+    Node copy = rebuilt.get(node);
+    if (copy == null) {
+      copy = node(rebuild(node.nw, rebuilt), rebuild(node.ne, rebuilt),
+          rebuild(node.sw, rebuilt), rebuild(node.se, rebuilt));
+      rebuilt.put(node, copy);
+    }
+    return copy;
+  }
+
+  private static final class Node {
+
+    private final int level;
+    private final Node nw;
+    private final Node ne;
+    private final Node sw;
+    private final Node se;
+    private final long population;
+    private final int hash;
+
+    private Node[] results;
+
+    Node(boolean alive) {
+      level = 0;
+      nw = null;
+      ne = null;
+      sw = null;
+      se = null;
+      population = alive ? 1 : 0;
+      hash = alive ? 1 : 2;
+    }
+
+    Node(Node nw, Node ne, Node sw, Node se, int hash) {
+      level = nw.level + 1;
+      this.nw = nw;
+      this.ne = ne;
+      this.sw = sw;
+      this.se = se;
+      population = nw.population + ne.population + sw.population + se.population;
+      this.hash = hash;
+    }
+
+  }
+
+  // Open-addressed set of canonical nodes, looked up by their children; since children are
+  // canonical, two nodes are the same region exactly when their children are identical.
+  private static final class NodeTable {
+
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private static final long HASH_MULTIPLIER = 0x9e37_79b9_7f4a_7c15L;
+
+    private Node[] slots = new Node[INITIAL_CAPACITY];
+    private int size;
+
+    Node intern(Node nw, Node ne, Node sw, Node se) {
+      int hash = hash(nw, ne, sw, se);
+      int mask = slots.length - 1;
+      int index = hash & mask;
+      for (Node node = slots[index]; node != null; node = slots[index]) {
+        if (node.nw == nw && node.ne == ne && node.sw == sw && node.se == se) {
+          return node;
+        }
+        index = (index + 1) & mask;
+      }
+      Node node = new Node(nw, ne, sw, se, hash);
+      slots[index] = node;
+      if (++size > slots.length / 2) {
+        grow();
+      }
+      return node;
+    }
+
+    int size() {
+      return size;
+    }
+
+    private void grow() {
+      Node[] previous = slots;
+      slots = new Node[previous.length * 2];
+      int mask = slots.length - 1;
+      for (Node node : previous) {
+        if (node != null) {
+          int index = node.hash & mask;
+          while (slots[index] != null) {
+            index = (index + 1) & mask;
+          }
+          slots[index] = node;
+        }
+      }
+    }
+
+    private static int hash(Node nw, Node ne, Node sw, Node se) {
+      long hash = nw.hash;
+      hash = hash * HASH_MULTIPLIER + ne.hash;
+      hash = hash * HASH_MULTIPLIER + sw.hash;
+      hash = hash * HASH_MULTIPLIER + se.hash;
+      hash *= HASH_MULTIPLIER;
+      return (int) (hash ^ (hash >>> 32));
+    }
+
+  }
+
+}
@@ -0,0 +1,67 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import java.util.function.LongConsumer;
+
+// The unbounded hexagonal grid in axial coordinates (q, r), with the neighbors of (0, 0) at
+// (1, 0), (0, 1), (-1, 1), (-1, 0), (0, -1) and (1, -1).
+public class HexTopology implements Topology {
+
+  private static final int[][] DIRECTIONS = {{1, 0}, {0, 1}, {-1, 1}, {-1, 0}, {0, -1}, {1, -1}};
+
+  private final PackedCells packing = new PackedCells(2);
+  private final long[] deltas = new long[DIRECTIONS.length];
+
+  public HexTopology() {
+    long origin = packing.pack(0, 0);
+    for (int i = 0; i < DIRECTIONS.length; i++) {
+      deltas[i] = packing.pack(DIRECTIONS[i]) - origin;
+    }
+  }
+
+  // Returns the (q, r) offsets of the neighbors of a cell.
+  public int[][] getDirections() {
+    int[][] directions = new int[DIRECTIONS.length][];
+    for (int i = 0; i < DIRECTIONS.length; i++) {
+      directions[i] = DIRECTIONS[i].clone();
+    }
+    return directions;
+  }
+
+  public long pack(int q, int r) {
+    return packing.pack(q, r);
+  }
+
+  public int q(long cell) {
+    return packing.get(cell, 0);
+  }
+
+  public int r(long cell) {
+    return packing.get(cell, 1);
+  }
+
+  @Override
+  public void forEachNeighbor(long cell, LongConsumer action) {
+    if (!packing.isInterior(cell)) {
+      throw new IllegalStateException("Cell is at the edge of the packed coordinate range.");
+    }
+    for (long delta : deltas) {
+      action.accept(cell + delta);
+    }
+  }
+
+}
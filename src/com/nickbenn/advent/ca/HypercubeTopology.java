@@ -0,0 +1,41 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import java.util.function.LongConsumer;
+
+// The unbounded Moore neighborhood in any number of dimensions, over cells packed by PackedCells.
+public class HypercubeTopology implements Topology {
+
+  private final PackedCells packing;
+
+  public HypercubeTopology(int dimensions) {
+    packing = new PackedCells(dimensions);
+  }
+
+  public PackedCells getPacking() {
+    return packing;
+  }
+
+  @Override
+  public void forEachNeighbor(long cell, LongConsumer action) {
+    if (!packing.isInterior(cell)) {
+      throw new IllegalStateException("Cell is at the edge of the packed coordinate range.");
+    }
+    packing.forEachNeighbor(cell, action);
+  }
+
+}
@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class LifeLikeRule implements Rule {
+
+  private static final Pattern NOTATION = Pattern.compile("(?i)B(\\d*)/S(\\d*)");
+
+  private final long birth;
+  private final long survival;
+  private final String notation;
+
+  private LifeLikeRule(long birth, long survival, String notation) {
+    this.birth = birth;
+    this.survival = survival;
+    this.notation = notation;
+  }
+
+  static LifeLikeRule parse(String notation) {
+    Matcher matcher = NOTATION.matcher(notation.strip());
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(
+          String.format("\"%s\" is not in birth/survival notation.", notation));
+    }
+    return new LifeLikeRule(mask(matcher.group(1)), mask(matcher.group(2)),
+        String.format("B%s/S%s", matcher.group(1), matcher.group(2)));
+  }
+
+  @Override
+  public boolean next(boolean alive, int liveNeighbors) {
+    return liveNeighbors < Long.SIZE
+        && (((alive ? survival : birth) >>> liveNeighbors) & 1) != 0;
+  }
+
+  @Override
+  public String toString() {
+    return notation;
+  }
+
+  private static long mask(String counts) {
+    long mask = 0;
+    for (char c : counts.toCharArray()) {
+      mask |= 1L << (c - '0');
+    }
+    return mask;
+  }
+
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+// Each present cell neighbors the first present cell seen in each of the 8 directions, looking
+// past any absent cells. Since that never changes, the neighbors are resolved once, up front, into
+// a compressed sparse row adjacency: the neighbors of cell are adjacency[start[cell]] through
+// adjacency[start[cell + 1] - 1], in the order of DIRECTIONS.
+public class LineOfSightTopology extends GridTopology {
+
+  private final int[] start;
+  private final int[] adjacency;
+
+  public LineOfSightTopology(boolean[][] present) {
+    super(present);
+    int[][] visible = new int[DIRECTIONS.length][];
+    int[] degrees = new int[size()];
+    for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+      visible[direction] = visible(offsets()[direction]);
+      for (int cell = 0; cell < degrees.length; cell++) {
+        if (visible[direction][cell] >= 0) {
+          degrees[cell]++;
+        }
+      }
+    }
+    start = new int[degrees.length + 1];
+    for (int cell = 0; cell < degrees.length; cell++) {
+      start[cell + 1] = start[cell] + degrees[cell];
+    }
+    adjacency = new int[start[degrees.length]];
+    for (int cell = 0; cell < degrees.length; cell++) {
+      int index = start[cell];
+      for (int[] seen : visible) {
+        if (seen[cell] >= 0) {
+          adjacency[index++] = seen[cell];
+        }
+      }
+    }
+  }
+
+  @Override
+  public int neighbors(int cell, int[] buffer) {
+    int from = start[cell];
+    int count = start[cell + 1] - from;
+    System.arraycopy(adjacency, from, buffer, 0, count);
+    return count;
+  }
+
+  @Override
+  public void countAlive(boolean[] state, int[] counts, int from, int to) {
+    for (int cell = from; cell < to; cell++) {
+      int alive = 0;
+      for (int i = start[cell]; i < start[cell + 1]; i++) {
+        if (state[adjacency[i]]) {
+          alive++;
+        }
+      }
+      counts[cell] = alive;
+    }
+  }
+
+  // Returns the first cell seen from each cell along offset, or -1 if there is none; each position
+  // takes the answer of the next one along, so positions are visited from the far end back.
+  private int[] visible(int offset) {
+    int[] layout = layout();
+    int[] nearest = new int[layout.length];
+    int first = (offset > 0) ? layout.length - 1 : 0;
+    int step = (offset > 0) ? -1 : 1;
+    for (int position = first; position >= 0 && position < layout.length; position += step) {
+      int ahead = position + offset;
+      if (ahead < 0 || ahead >= layout.length || layout[ahead] == OUTSIDE) {
+        nearest[position] = -1;
+      } else if (layout[ahead] == ABSENT) {
+        nearest[position] = nearest[ahead];
+      } else {
+        nearest[position] = layout[ahead];
+      }
+    }
+    int[] visible = new int[size()];
+    for (int cell = 0; cell < visible.length; cell++) {
+      visible[cell] = nearest[position(cell)];
+    }
+    return visible;
+  }
+
+}
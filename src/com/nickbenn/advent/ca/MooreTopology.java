@@ -0,0 +1,67 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+// Each present cell neighbors the present cells among the 8 around it.
+public class MooreTopology extends GridTopology {
+
+  public MooreTopology(boolean[][] present) {
+    super(present);
+  }
+
+  @Override
+  public int neighbors(int cell, int[] buffer) {
+    int[] layout = layout();
+    int position = position(cell);
+    int count = 0;
+    for (int offset : offsets()) {
+      int neighbor = layout[position + offset];
+      if (neighbor >= 0) {
+        buffer[count++] = neighbor;
+      }
+    }
+    return count;
+  }
+
+  // Spreads the part of state around the range over the flat layout first, so that each count is a
+  // branch-free sum of 8 bytes.
+  @Override
+  public void countAlive(boolean[] state, int[] counts, int from, int to) {
+    if (from >= to) {
+      return;
+    }
+    int[] layout = layout();
+    int[] offsets = offsets();
+    int low = position(from) + offsets[0];
+    int high = position(to - 1) + offsets[offsets.length - 1];
+    byte[] spread = new byte[high - low + 1];
+    for (int position = low; position <= high; position++) {
+      int cell = layout[position];
+      if (cell >= 0 && state[cell]) {
+        spread[position - low] = 1;
+      }
+    }
+    for (int cell = from; cell < to; cell++) {
+      int position = position(cell) - low;
+      int alive = 0;
+      for (int offset : offsets) {
+        alive += spread[position + offset];
+      }
+      counts[cell] = alive;
+    }
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import java.util.function.LongConsumer;
+
+public final class PackedCells {
+
+  private final int dimensions;
+  private final int bits;
+  private final long mask;
+  private final long bias;
+  private final long[] neighborDeltas;
+
+  // Each coordinate is stored with a bias in its own field of 64 / d bits (at most 32); one value
+  // at each end of the field is kept free, so that the neighbors of any packed cell can be reached
+  // by adding a constant, without carries between fields.
+  public PackedCells(int dimensions) {
+    if (dimensions < 1 || dimensions > Long.SIZE / 2) {
+      throw new IllegalArgumentException();
+    }
+    this.dimensions = dimensions;
+    bits = Math.min(Long.SIZE / dimensions, Integer.SIZE);
+    mask = (1L << bits) - 1;
+    bias = 1L << (bits - 1);
+    int[][] offsets = Cell.neighborOffsets(dimensions);
+    neighborDeltas = new long[offsets.length];
+    for (int i = 0; i < offsets.length; i++) {
+      long delta = 0;
+      for (int j = 0; j < dimensions; j++) {
+        delta += (long) offsets[i][j] << (j * bits);
+      }
+      neighborDeltas[i] = delta;
+    }
+  }
+
+  public int getDimensions() {
+    return dimensions;
+  }
+
+  public int getMinimum() {
+    return (int) (1 - bias);
+  }
+
+  public int getMaximum() {
+    return (int) (mask - 1 - bias);
+  }
+
+  public long pack(int... coordinates) {
+    long packed = 0;
+    for (int i = 0; i < dimensions; i++) {
+      packed |= field((i < coordinates.length) ? coordinates[i] : 0, i);
+    }
+    return packed;
+  }
+
+  public long pack(Cell cell) {
+    long packed = 0;
+    for (int i = 0; i < dimensions; i++) {
+      packed |= field((i < cell.getDimensions()) ? cell.get(i) : 0, i);
+    }
+    return packed;
+  }
+
+  public int get(long packed, int dimension) {
+    return (int) (((packed >>> (dimension * bits)) & mask) - bias);
+  }
+
+  public void unpack(long packed, int[] coordinates) {
+    for (int i = 0; i < dimensions; i++) {
+      coordinates[i] = get(packed, i);
+    }
+  }
+
+  public Cell toCell(long packed) {
+    int[] coordinates = new int[dimensions];
+    unpack(packed, coordinates);
+    return new Cell(coordinates);
+  }
+
+  // True if all neighbors of the cell are within range.
+  public boolean isInterior(long packed) {
+    for (int i = 0; i < dimensions; i++) {
+      int value = get(packed, i);
+      if (value <= getMinimum() || value >= getMaximum()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // The cell must be within range; its neighbors may not be.
+  public void forEachNeighbor(long packed, LongConsumer consumer) {
+    for (long delta : neighborDeltas) {
+      consumer.accept(packed + delta);
+    }
+  }
+
+  private long field(int value, int dimension) {
+    if (value < getMinimum() || value > getMaximum()) {
+      throw new IllegalArgumentException(
+          String.format("Coordinate %d is outside [%d, %d].", value, getMinimum(), getMaximum()));
+    }
+    return (value + bias) << (dimension * bits);
+  }
+
+}
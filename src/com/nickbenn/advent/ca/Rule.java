@@ -0,0 +1,28 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+@FunctionalInterface
+public interface Rule {
+
+  boolean next(boolean alive, int liveNeighbors);
+
+  // Parses birth/survival notation, such as "B3/S23" for Conway's Life; counts are single digits.
+  static Rule parse(String notation) {
+    return LifeLikeRule.parse(notation);
+  }
+
+}
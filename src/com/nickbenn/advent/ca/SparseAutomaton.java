@@ -0,0 +1,198 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import com.nickbenn.advent.util.LongHashSet;
+import com.nickbenn.advent.util.LongIntHashMap;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongConsumer;
+
+// Holds only the live cells, so it suits unbounded topologies; the rule must not bring a cell
+// with no live neighbors to life, since that would fill the whole space. Given a pool, the live
+// cells are split into chunks that count neighbors concurrently, each into its own maps, one per
+// shard of the space; the shards are then resolved concurrently, each merging its chunk maps in
+// chunk order, and the next generation is assembled in shard order, so that the result does not
+// depend on the number of threads.
+public class SparseAutomaton implements Automaton {
+
+  static final int MIN_CHUNK_SIZE = 1 << 12;
+
+  private static final int CHUNKS_PER_THREAD = 4;
+  private static final long SHARD_MULTIPLIER = 0x9e37_79b9_7f4a_7c15L;
+
+  private final Topology topology;
+  private final Rule rule;
+  private final boolean survivesAlone;
+  private final ForkJoinPool pool;
+
+  private LongHashSet alive;
+  private long generation;
+
+  public SparseAutomaton(Topology topology, Rule rule, LongHashSet alive) {
+    this(topology, rule, alive, null);
+  }
+
+  public SparseAutomaton(Topology topology, Rule rule, LongHashSet alive, ForkJoinPool pool) {
+    if (rule.next(false, 0)) {
+      throw new IllegalArgumentException("A sparse automaton cannot give birth to isolated cells.");
+    }
+    this.topology = topology;
+    this.rule = rule;
+    survivesAlone = rule.next(true, 0);
+    this.pool = pool;
+    this.alive = new LongHashSet(alive.size());
+    alive.forEach(this.alive::add);
+  }
+
+  // Each live cell adds one to the count of each of its neighbors; only counted cells, and live
+  // cells with no live neighbors, can be alive in the next generation.
+  @Override
+  public boolean step() {
+    LongHashSet current = alive;
+    LongHashSet next;
+    boolean born;
+    if (pool != null && current.size() > MIN_CHUNK_SIZE) {
+      Generation task = new Generation(current);
+      pool.invoke(task);
+      next = task.next;
+      born = task.born;
+    } else {
+      LongIntHashMap counts = new LongIntHashMap(current.size() * 4);
+      current.forEach((cell) -> count(cell, counts));
+      next = new LongHashSet(current.size());
+      born = resolve(current, counts, next);
+    }
+    alive = next;
+    generation++;
+    return born || next.size() != current.size();
+  }
+
+  @Override
+  public long getGeneration() {
+    return generation;
+  }
+
+  @Override
+  public int getPopulation() {
+    return alive.size();
+  }
+
+  @Override
+  public boolean isAlive(long cell) {
+    return alive.contains(cell);
+  }
+
+  @Override
+  public void forEachAlive(LongConsumer action) {
+    alive.forEach(action);
+  }
+
+  // A live cell with no live neighbors is counted as 0 if it could survive, so resolve sees it.
+  private void count(long cell, LongIntHashMap counts) {
+    topology.forEachNeighbor(cell, (neighbor) -> counts.addTo(neighbor, 1));
+    if (survivesAlone) {
+      counts.addTo(cell, 0);
+    }
+  }
+
+  // Adds each counted cell that the rule keeps or brings to life to next, and returns true if any
+  // was brought to life.
+  private boolean resolve(LongHashSet current, LongIntHashMap counts, LongHashSet next) {
+    boolean[] born = {false};
+    counts.forEach((cell, count) -> {
+      boolean wasAlive = current.contains(cell);
+      if (rule.next(wasAlive, count)) {
+        next.add(cell);
+        born[0] |= !wasAlive;
+      }
+    });
+    return born[0];
+  }
+
+  private static int shard(long cell, int shardBits) {
+    return (int) ((cell * SHARD_MULTIPLIER) >>> (Long.SIZE - shardBits));
+  }
+
+  private class Generation extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LongHashSet current;
+
+    private LongHashSet next;
+    private boolean born;
+
+    Generation(LongHashSet current) {
+      this.current = current;
+    }
+
+    @Override
+    protected void compute() {
+      long[] cells = current.toArray();
+      int chunkCount = Math.max(1, Math.min(
+          CHUNKS_PER_THREAD * pool.getParallelism(), cells.length / MIN_CHUNK_SIZE));
+      int shardBits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(chunkCount - 1));
+      int shardCount = 1 << shardBits;
+      LongIntHashMap[][] chunkCounts = new LongIntHashMap[chunkCount][shardCount];
+      ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunkCount];
+      for (int chunk = 0; chunk < chunkCount; chunk++) {
+        int from = (int) ((long) cells.length * chunk / chunkCount);
+        int to = (int) ((long) cells.length * (chunk + 1) / chunkCount);
+        LongIntHashMap[] counts = chunkCounts[chunk];
+        tasks[chunk] = adapt(() -> {
+          int expectedSize = Math.max(1, (to - from) * 4 / shardCount);
+          for (int shard = 0; shard < shardCount; shard++) {
+            counts[shard] = new LongIntHashMap(expectedSize);
+          }
+          for (int i = from; i < to; i++) {
+            topology.forEachNeighbor(cells[i], (neighbor) ->
+                counts[shard(neighbor, shardBits)].addTo(neighbor, 1));
+            if (survivesAlone) {
+              counts[shard(cells[i], shardBits)].addTo(cells[i], 0);
+            }
+          }
+        });
+      }
+      invokeAll(tasks);
+      LongHashSet[] shardNext = new LongHashSet[shardCount];
+      boolean[] shardBorn = new boolean[shardCount];
+      tasks = new ForkJoinTask<?>[shardCount];
+      for (int shard = 0; shard < shardCount; shard++) {
+        int index = shard;
+        tasks[shard] = adapt(() -> {
+          LongIntHashMap merged = chunkCounts[0][index];
+          for (int chunk = 1; chunk < chunkCount; chunk++) {
+            chunkCounts[chunk][index].forEach(merged::addTo);
+          }
+          shardNext[index] = new LongHashSet(merged.size() / 4);
+          shardBorn[index] = resolve(current, merged, shardNext[index]);
+        });
+      }
+      invokeAll(tasks);
+      int size = Arrays.stream(shardNext).mapToInt(LongHashSet::size).sum();
+      next = new LongHashSet(size);
+      for (int shard = 0; shard < shardCount; shard++) {
+        shardNext[shard].forEach(next::add);
+        born |= shardBorn[shard];
+      }
+    }
+
+  }
+
+}
@@ -29,9 +29,11 @@ public class ReportRepair {
   private final BitSet data;
 
   public ReportRepair(String filename) throws IOException, URISyntaxException {
-    data = new Parser.Builder(getClass().getResource(filename).toURI())
-        .build()
-        .bitSet();
+    this(new Parser.Builder(ReportRepair.class.getResource(filename).toURI()).build());
+  }
+
+  public ReportRepair(Parser parser) throws IOException {
+    data = parser.bitSet();
   }
 
   public static void main(String[] args) throws URISyntaxException, IOException {
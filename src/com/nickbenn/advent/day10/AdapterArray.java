@@ -35,10 +35,12 @@ public class AdapterArray {
   private final long[] values;
 
   public AdapterArray(String filename) throws URISyntaxException, IOException {
+    this(new Parser.Builder(AdapterArray.class.getResource(filename).toURI()).build());
+  }
+
+  public AdapterArray(Parser parser) throws IOException {
     try (
-        LongStream stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .longStream()
+        LongStream stream = parser.longStream()
             .sorted()
     ) {
       long[] intermediateValues = stream.toArray();
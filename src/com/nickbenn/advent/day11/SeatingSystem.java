@@ -15,185 +15,131 @@
  */
 package com.nickbenn.advent.day11;
 
+import com.nickbenn.advent.ca.BitboardAutomaton;
+import com.nickbenn.advent.ca.BoundedTopology;
+import com.nickbenn.advent.ca.DenseAutomaton;
+import com.nickbenn.advent.ca.FrontierAutomaton;
+import com.nickbenn.advent.ca.LineOfSightTopology;
+import com.nickbenn.advent.ca.MooreTopology;
+import com.nickbenn.advent.ca.Rule;
 import com.nickbenn.advent.util.Defaults;
 import com.nickbenn.advent.util.Parser;
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class SeatingSystem {
 
   private static final char FLOOR = '.';
-  private static final char UNOCCUPIED = 'L';
   private static final char OCCUPIED = '#';
+  private static final Rule MOORE_RULE = Rule.parse("B0/S0123");
+  private static final Rule LINE_OF_SIGHT_RULE = Rule.parse("B0/S01234");
 
-  private final char[][] tableau;
-  private final char[][] current;
-  private final char[][] work;
+  private final boolean[] initial;
+  private final MooreTopology mooreTopology;
+  private final LineOfSightTopology lineOfSightTopology;
+
+  private boolean[] current;
+  private int[] changeCounts = new int[0];
 
   public SeatingSystem(String filename) throws URISyntaxException, IOException {
+    this(new Parser.Builder(SeatingSystem.class.getResource(filename).toURI()).build());
+  }
+
+  public SeatingSystem(Parser parser) throws IOException {
     try (
-        Stream<char[]> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .charArrayStream()
+        Stream<char[]> stream = parser.charArrayStream()
     ) {
-      tableau = stream.toArray(char[][]::new);
-      current = new char[tableau.length][];
-      work = new char[tableau.length][];
+      char[][] tableau = stream.toArray(char[][]::new);
+      boolean[][] seats = new boolean[tableau.length][];
+      for (int row = 0; row < tableau.length; row++) {
+        seats[row] = new boolean[tableau[row].length];
+        for (int col = 0; col < tableau[row].length; col++) {
+          seats[row][col] = tableau[row][col] != FLOOR;
+        }
+      }
+      mooreTopology = new MooreTopology(seats);
+      lineOfSightTopology = new LineOfSightTopology(seats);
+      initial = new boolean[mooreTopology.size()];
+      for (int seat = 0; seat < initial.length; seat++) {
+        initial[seat] =
+            tableau[mooreTopology.row(seat)][mooreTopology.column(seat)] == OCCUPIED;
+      }
       reset();
     }
   }
 
   public static void main(String[] args) throws IOException, URISyntaxException {
     SeatingSystem seatingSystem = new SeatingSystem(Defaults.FILENAME);
-    System.out.println(seatingSystem.countMooreStablePopulation());
+    System.out.println(seatingSystem.countMooreStablePopulationBitboard());
     seatingSystem.reset();
     System.out.println(seatingSystem.countLineOfSightStablePopulation());
   }
 
   public void reset() {
-    for (int i = 0; i < tableau.length; i++) {
-      current[i] = Arrays.copyOf(tableau[i], tableau[i].length);
-      work[i] = new char[tableau[i].length];
-    }
+    current = initial.clone();
   }
 
+  // An empty seat is taken when no neighbor is occupied; an occupied seat is left when 4 or more
+  // neighbors are.
   public int countMooreStablePopulation() {
-    //noinspection StatementWithEmptyBody
-    while (iterateMoore()) {};
-    return countCurrentPopulation();
+    return countMooreStablePopulation(null);
   }
 
-  public int countLineOfSightStablePopulation() {
-    //noinspection StatementWithEmptyBody
-    while (iterateLineOfSight()) {};
-    return countCurrentPopulation();
+  public int countMooreStablePopulation(ForkJoinPool pool) {
+    return countStablePopulation(mooreTopology, MOORE_RULE, pool);
   }
 
-  private boolean iterateMoore() {
-    boolean changed = false;
-    for (int row = 0; row < current.length; row++) {
-      for (int col = 0; col < current[row].length; col++) {
-        char state = current[row][col];
-        if (state != FLOOR) {
-          int count = countMooreNeighborhoodPopulation(row, col);
-          if (state == UNOCCUPIED && count == 0) {
-            work[row][col] = OCCUPIED;
-            changed = true;
-          } else if (state == OCCUPIED && count >= 4) {
-            work[row][col] = UNOCCUPIED;
-            changed = true;
-          } else {
-            work[row][col] = state;
-          }
-        } else {
-          work[row][col] = state;
-        }
-      }
-    }
-    for (int row = 0; row < current.length; row++) {
-      current[row] = Arrays.copyOf(work[row], work[row].length);
-    }
-    return changed;
+  // As above, 64 seats at a time on a bitboard.
+  public int countMooreStablePopulationBitboard() {
+    BitboardAutomaton automaton = new BitboardAutomaton(mooreTopology, MOORE_RULE, current);
+    automaton.runUntilStable();
+    current = automaton.getState();
+    return automaton.getPopulation();
   }
 
-  private boolean iterateLineOfSight() {
-    boolean changed = false;
-    for (int row = 0; row < current.length; row++) {
-      for (int col = 0; col < current[row].length; col++) {
-        char state = current[row][col];
-        if (state != FLOOR) {
-          int count = countLineOfSiteNeighborhoodPopulation(row, col);
-          if (state == UNOCCUPIED && count == 0) {
-            work[row][col] = OCCUPIED;
-            changed = true;
-          } else if (state == OCCUPIED && count >= 5) {
-            work[row][col] = UNOCCUPIED;
-            changed = true;
-          } else {
-            work[row][col] = state;
-          }
-        } else {
-          work[row][col] = state;
-        }
-      }
-    }
-    for (int row = 0; row < current.length; row++) {
-      current[row] = Arrays.copyOf(work[row], work[row].length);
-    }
-    return changed;
+  // As for the Moore neighborhood, but seen along each direction past any floor, and an occupied
+  // seat is only left when 5 or more neighbors are occupied.
+  public int countLineOfSightStablePopulation() {
+    return countLineOfSightStablePopulation(null);
   }
 
-  private int countCurrentPopulation() {
-    int count = 0;
-    for (char[] row : current) {
-      for (char state : row) {
-        if (state == OCCUPIED) {
-          count++;
-        }
-      }
-    }
-    return count;
+  public int countLineOfSightStablePopulation(ForkJoinPool pool) {
+    return countStablePopulation(lineOfSightTopology, LINE_OF_SIGHT_RULE, pool);
   }
 
-  private int countMooreNeighborhoodPopulation(int row, int col) {
-    int count = 0;
-    for (int r = Math.max(0, row - 1); r <= Math.min(current.length - 1, row + 1); r++) {
-      for (int c = Math.max(0, col - 1); c <= Math.min(current[r].length - 1, col + 1); c++) {
-        if (current[r][c] == OCCUPIED) {
-          count++;
-        }
-      }
-    }
-    return count - ((current[row][col] == OCCUPIED) ? 1 : 0);
+  // As above, re-evaluating only seats next to a seat that changed in the previous generation.
+  public int countMooreStablePopulationFrontier() {
+    return countStablePopulationFrontier(mooreTopology, MOORE_RULE);
   }
 
-  private int countLineOfSiteNeighborhoodPopulation(int row, int col) {
-    int count = 0;
-    for (Direction dir : Direction.values()) {
-      int rowOffset = dir.getRowOffset();
-      int colOffset = dir.getColOffset();
-      for (int r = row + rowOffset, c = col + colOffset;
-          r >= 0 && r < current.length && c >= 0 && c < current[r].length;
-          r += rowOffset, c += colOffset) {
-        char state = current[r][c];
-        if (state != FLOOR) {
-          if (state == OCCUPIED) {
-            count++;
-          }
-          break;
-        }
-      }
-    }
-    return count;
+  public int countLineOfSightStablePopulationFrontier() {
+    return countStablePopulationFrontier(lineOfSightTopology, LINE_OF_SIGHT_RULE);
   }
 
-  private enum Direction {
-
-    NORTH(-1, 0),
-    NORTH_EAST(-1, 1),
-    EAST(0, 1),
-    SOUTH_EAST(1, 1),
-    SOUTH(1, 0),
-    SOUTH_WEST(1, -1),
-    WEST(0, -1),
-    NORTH_WEST(-1, -1);
-
-    Direction(int rowOffset, int colOffset) {
-      this.rowOffset = rowOffset;
-      this.colOffset = colOffset;
-    }
-
-    private final int rowOffset;
-    private final int colOffset;
+  // Returns the number of seats that changed in each generation of the last frontier run.
+  public int[] getChangeCounts() {
+    return changeCounts.clone();
+  }
 
-    public int getRowOffset() {
-      return rowOffset;
+  private int countStablePopulationFrontier(BoundedTopology topology, Rule rule) {
+    FrontierAutomaton automaton = new FrontierAutomaton(topology, rule, current);
+    IntStream.Builder changes = IntStream.builder();
+    while (automaton.step()) {
+      changes.add(automaton.getChangeCount());
     }
+    changeCounts = changes.build().toArray();
+    current = automaton.getState();
+    return automaton.getPopulation();
+  }
 
-    public int getColOffset() {
-      return colOffset;
-    }
+  private int countStablePopulation(BoundedTopology topology, Rule rule, ForkJoinPool pool) {
+    DenseAutomaton automaton = new DenseAutomaton(topology, rule, current, pool);
+    automaton.runUntilStable();
+    current = automaton.getState();
+    return automaton.getPopulation();
   }
+
 }
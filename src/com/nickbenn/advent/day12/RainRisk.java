@@ -32,10 +32,12 @@ public class RainRisk {
   private final List<Command> commands;
 
   public RainRisk(String filename) throws URISyntaxException, IOException {
+    this(new Parser.Builder(RainRisk.class.getResource(filename).toURI()).build());
+  }
+
+  public RainRisk(Parser parser) throws IOException {
     try (
-        Stream<Command> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineStream()
+        Stream<Command> stream = parser.lineStream()
             .map(Command::new)
     ) {
       commands = stream.collect(Collectors.toList());
@@ -20,9 +20,8 @@ import com.nickbenn.advent.util.Parser;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.net.URISyntaxException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.regex.Pattern;
@@ -35,18 +34,36 @@ public class ShuttleSearch {
   private static final Pattern ROUTE_LENGTH_SPLITTER = Pattern.compile("\\s*,\\s*");
   private static final String NULL_INPUT_VALUE = "x";
 
-  public static void main(String[] args) throws IOException, URISyntaxException {
-    List<String> input =
-        Files.readAllLines(Path.of(ShuttleSearch.class.getResource(Defaults.FILENAME).toURI()));
-    var threshold = Integer.parseInt(input.get(0));
-    List<Integer> routeLengths = ROUTE_LENGTH_SPLITTER.splitAsStream(input.get(1))
+  private final int threshold;
+  private final List<Integer> routeLengths;
+
+  public ShuttleSearch(String filename) throws URISyntaxException, IOException {
+    this(new Parser.Builder(ShuttleSearch.class.getResource(filename).toURI()).build());
+  }
+
+  public ShuttleSearch(Parser parser) throws IOException {
+    String[] input = parser.lines();
+    threshold = Integer.parseInt(input[0].trim());
+    routeLengths = ROUTE_LENGTH_SPLITTER.splitAsStream(input[1].trim())
         .map((value) -> value.equals(NULL_INPUT_VALUE) ? null : Integer.valueOf(value))
         .collect(Collectors.toList());
-    System.out.println(getMinWaitProduct(threshold, routeLengths));
-    System.out.println(findOffsetSynchSmartForce(routeLengths));
+  }
+
+  public static void main(String[] args) throws IOException, URISyntaxException {
+    ShuttleSearch search = new ShuttleSearch(Defaults.FILENAME);
+    System.out.println(getMinWaitProduct(search.getThreshold(), search.getRouteLengths()));
+    System.out.println(findOffsetSynchSmartForce(search.getRouteLengths()));
 //    System.out.println(findOffsetSynchModInverse(routeLengths));
   }
 
+  public int getThreshold() {
+    return threshold;
+  }
+
+  public List<Integer> getRouteLengths() {
+    return Collections.unmodifiableList(routeLengths);
+  }
+
   public static int getMinWaitProduct(int threshold, List<Integer> routeLengths) {
     var bestInterval = -1;
     var bestWait = Integer.MAX_VALUE;
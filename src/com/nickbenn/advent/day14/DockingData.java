@@ -34,10 +34,12 @@ public class DockingData {
   private final String[] lines;
 
   public DockingData(String filename) throws URISyntaxException, IOException {
+    this(new Parser.Builder(DockingData.class.getResource(filename).toURI()).build());
+  }
+
+  public DockingData(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineStream()
+        Stream<String> stream = parser.lineStream()
     ) {
       lines = stream.toArray(String[]::new);
     }
@@ -0,0 +1,281 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day15;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class MappedRecitation implements AutoCloseable {
+
+  public static final int COMPACT_SLOT_WIDTH = 5;
+  public static final int WIDE_SLOT_WIDTH = 8;
+  public static final long DEFAULT_CHECKPOINT_INTERVAL = 1L << 28;
+
+  private static final long MAGIC = 0x5641_4e45_434b_3031L;
+  private static final long MAX_COMPACT_POSITION = (1L << 40) - 1;
+  private static final int HEADER_SIZE = 4096;
+  private static final int MAGIC_OFFSET = 0;
+  private static final int SLOT_WIDTH_OFFSET = 8;
+  private static final int LIMIT_OFFSET = 16;
+  private static final int COMMIT_OFFSET = 24;
+  private static final int STATE_OFFSET = 32;
+  private static final int STATE_SIZE = 24;
+  private static final int JOURNAL_CAPACITY = 1 << 20;
+  private static final int JOURNAL_ENTRY_SIZE = 24;
+  private static final int JOURNAL_SIZE = JOURNAL_CAPACITY * JOURNAL_ENTRY_SIZE;
+  private static final int SEGMENT_SHIFT = 27;
+  private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer header;
+  private final MappedByteBuffer journal;
+  private final MappedByteBuffer[] segments;
+  private final int slotWidth;
+  private final long limit;
+
+  private long commit;
+  private long position;
+  private long last;
+  private long lastPosition;
+  private long checkpointPosition;
+  private int journalSize;
+
+  private MappedRecitation(FileChannel channel, int slotWidth, long limit) throws IOException {
+    this.channel = channel;
+    this.slotWidth = slotWidth;
+    this.limit = limit;
+    header = map(channel, 0, HEADER_SIZE);
+    journal = map(channel, HEADER_SIZE, JOURNAL_SIZE);
+    int segmentCount = (int) ((limit + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+    segments = new MappedByteBuffer[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      long first = (long) i << SEGMENT_SHIFT;
+      long slots = Math.min(limit - first, 1L << SEGMENT_SHIFT);
+      segments[i] = map(channel, HEADER_SIZE + JOURNAL_SIZE + first * slotWidth, slots * slotWidth);
+    }
+  }
+
+  // Starting values must be non-negative and less than the limit, since the table has a slot for
+  // each number below the limit; 5-byte slots hold positions up to 2^40 - 1.
+  public static MappedRecitation create(Path path, int[] inputValues, long limit, int slotWidth)
+      throws IOException {
+    if (slotWidth != COMPACT_SLOT_WIDTH && slotWidth != WIDE_SLOT_WIDTH) {
+      throw new IllegalArgumentException("Slot width must be 5 or 8 bytes.");
+    }
+    if (inputValues.length == 0 || limit <= inputValues.length
+        || (slotWidth == COMPACT_SLOT_WIDTH && limit > MAX_COMPACT_POSITION)) {
+      throw new IllegalArgumentException();
+    }
+    for (int value : inputValues) {
+      if (value < 0 || value >= limit) {
+        throw new IllegalArgumentException();
+      }
+    }
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      MappedRecitation recitation = new MappedRecitation(channel, slotWidth, limit);
+      recitation.start(inputValues);
+      return recitation;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  public static MappedRecitation resume(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    try {
+      MappedByteBuffer header = map(channel, 0, HEADER_SIZE);
+      if (header.getLong(MAGIC_OFFSET) != MAGIC) {
+        throw new IOException(String.format("%s is not a complete recitation file.", path));
+      }
+      MappedRecitation recitation = new MappedRecitation(
+          channel, header.getInt(SLOT_WIDTH_OFFSET), header.getLong(LIMIT_OFFSET));
+      recitation.restore();
+      return recitation;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  public static MappedRecitation open(Path path, int[] inputValues, long limit, int slotWidth)
+      throws IOException {
+    if (Files.exists(path)) {
+      MappedRecitation recitation = resume(path);
+      if (recitation.limit != limit) {
+        recitation.close();
+        throw new IllegalArgumentException(
+            String.format("%s holds a recitation with a limit of %d.", path, recitation.limit));
+      }
+      return recitation;
+    }
+    return create(path, inputValues, limit, slotWidth);
+  }
+
+  public long getLimit() {
+    return limit;
+  }
+
+  public long getPosition() {
+    return position;
+  }
+
+  public long getLast() {
+    return last;
+  }
+
+  public boolean isComplete() {
+    return position >= limit;
+  }
+
+  public long run() throws IOException {
+    return run(DEFAULT_CHECKPOINT_INTERVAL);
+  }
+
+  public long run(long checkpointInterval) throws IOException {
+    while (!isComplete()) {
+      advance(checkpointInterval);
+      checkpoint();
+    }
+    return last;
+  }
+
+  // Between checkpoints, the state is kept only in fields, while the table is updated in place; the
+  // first time a step overwrites a slot as of the last checkpoint, the old value is saved to the
+  // journal beforehand, so that a process stopped at any point can roll the table back on resume.
+  public long advance(long steps) {
+    long end = Math.min(limit, position + Math.max(steps, 0));
+    while (position < end) {
+      long next = (lastPosition == 0) ? 0 : position - lastPosition;
+      long nextPosition = getSlot(next);
+      if (nextPosition <= checkpointPosition) {
+        if (journalSize == JOURNAL_CAPACITY) {
+          checkpoint();
+        }
+        record(next, nextPosition);
+      }
+      setSlot(next, ++position);
+      last = next;
+      lastPosition = nextPosition;
+    }
+    return last;
+  }
+
+  public void checkpoint() {
+    for (MappedByteBuffer segment : segments) {
+      segment.force();
+    }
+    commit();
+    header.force();
+  }
+
+  @Override
+  public void close() throws IOException {
+    checkpoint();
+    channel.close();
+  }
+
+  private void start(int[] inputValues) {
+    long previous = 0;
+    for (int i = 0; i < inputValues.length; i++) {
+      previous = getSlot(inputValues[i]);
+      setSlot(inputValues[i], i + 1);
+    }
+    position = inputValues.length;
+    last = inputValues[inputValues.length - 1];
+    lastPosition = previous;
+    header.putInt(SLOT_WIDTH_OFFSET, slotWidth);
+    header.putLong(LIMIT_OFFSET, limit);
+    checkpoint();
+    header.putLong(MAGIC_OFFSET, MAGIC);
+    header.force();
+  }
+
+  private void restore() {
+    commit = header.getLong(COMMIT_OFFSET);
+    int offset = STATE_OFFSET + (int) (commit & 1) * STATE_SIZE;
+    position = header.getLong(offset);
+    last = header.getLong(offset + 8);
+    lastPosition = header.getLong(offset + 16);
+    checkpointPosition = position;
+    for (int entry = 0; entry < JOURNAL_SIZE && journal.getLong(entry) == commit;
+        entry += JOURNAL_ENTRY_SIZE) {
+      setSlot(journal.getLong(entry + 8), journal.getLong(entry + 16));
+      journalSize++;
+    }
+  }
+
+  // The state is double-buffered: the inactive copy is written in full before the commit counter
+  // that selects it, so a stopped process always leaves one complete copy. Journal entries are
+  // tagged with the commit they roll back to, so committing discards them without clearing them.
+  private void commit() {
+    int offset = STATE_OFFSET + (int) ((commit + 1) & 1) * STATE_SIZE;
+    header.putLong(offset, position);
+    header.putLong(offset + 8, last);
+    header.putLong(offset + 16, lastPosition);
+    VarHandle.releaseFence();
+    header.putLong(COMMIT_OFFSET, ++commit);
+    checkpointPosition = position;
+    journalSize = 0;
+  }
+
+  private void record(long number, long position) {
+    int entry = journalSize++ * JOURNAL_ENTRY_SIZE;
+    journal.putLong(entry + 8, number);
+    journal.putLong(entry + 16, position);
+    VarHandle.releaseFence();
+    journal.putLong(entry, commit);
+    VarHandle.releaseFence();
+  }
+
+  private long getSlot(long number) {
+    MappedByteBuffer segment = segments[(int) (number >>> SEGMENT_SHIFT)];
+    int offset = (int) (number & SEGMENT_MASK) * slotWidth;
+    if (slotWidth == WIDE_SLOT_WIDTH) {
+      return segment.getLong(offset);
+    }
+    return (segment.getInt(offset) & 0xffff_ffffL) | ((segment.get(offset + 4) & 0xffL) << 32);
+  }
+
+  private void setSlot(long number, long position) {
+    MappedByteBuffer segment = segments[(int) (number >>> SEGMENT_SHIFT)];
+    int offset = (int) (number & SEGMENT_MASK) * slotWidth;
+    if (slotWidth == WIDE_SLOT_WIDTH) {
+      segment.putLong(offset, position);
+    } else {
+      segment.putInt(offset, (int) position);
+      segment.put(offset + 4, (byte) (position >>> 32));
+    }
+  }
+
+  private static MappedByteBuffer map(FileChannel channel, long start, long size)
+      throws IOException {
+    MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, start, size);
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    return buffer;
+  }
+
+}
@@ -16,18 +16,19 @@
 package com.nickbenn.advent.day15;
 
 import com.nickbenn.advent.util.Defaults;
+import com.nickbenn.advent.util.IntIntMap;
 import com.nickbenn.advent.util.Parser;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 public class RambunctiousRecitation {
 
   private static final Pattern ELEMENT_DELIMITER = Pattern.compile("\\s*,\\s*");
+  private static final int MAX_DENSE_SIZE = Integer.MAX_VALUE - 8;
 
   public static void main(String[] args) throws IOException, URISyntaxException {
     try (
@@ -50,23 +51,74 @@ public class RambunctiousRecitation {
   }
 
   public static int process(int[] inputValues, int limit) {
-    Map<Integer, Integer> positions = new HashMap<>();
+    return isDenseApplicable(inputValues, limit)
+        ? processDense(inputValues, limit)
+        : processSparse(inputValues, limit);
+  }
+
+  // Every spoken number after the starting values is a difference between positions, and so is
+  // less than the limit; if the starting values are too, last-spoken positions can be indexed
+  // directly by number.
+  public static int processDense(int[] inputValues, int limit) {
+    int[] positions = new int[denseSize(inputValues, limit)];
     int position = 0;
     int last;
-    Integer lastPosition = null;
+    int lastPosition = 0;
+    for (int value : inputValues) {
+      last = value;
+      lastPosition = positions[last];
+      positions[last] = ++position;
+    }
+    do {
+      last = (lastPosition == 0) ? 0 : position - lastPosition;
+      lastPosition = positions[last];
+      positions[last] = ++position;
+    } while (position < limit);
+    return last;
+  }
+
+  public static int processSparse(int[] inputValues, int limit) {
+    IntIntMap positions = new IntIntMap();
+    int position = 0;
+    int last;
+    int lastPosition = 0;
     for (int value : inputValues) {
       last = value;
       lastPosition = positions.put(last, ++position);
     }
     do {
-      if (lastPosition == null) {
-        last = 0;
-      } else {
-        last = position - lastPosition;
-      }
+      last = (lastPosition == 0) ? 0 : position - lastPosition;
       lastPosition = positions.put(last, ++position);
     } while (position < limit);
     return last;
   }
 
+  // Runs a recitation too long for the heap against a table in the given file, resuming it if the
+  // file already exists; the file is left in place, so it must be deleted to start over.
+  public static long processMapped(int[] inputValues, long limit, Path path) throws IOException {
+    try (
+        MappedRecitation recitation = MappedRecitation.open(
+            path, inputValues, limit, MappedRecitation.COMPACT_SLOT_WIDTH)
+    ) {
+      return recitation.run();
+    }
+  }
+
+  private static boolean isDenseApplicable(int[] inputValues, int limit) {
+    int size = denseSize(inputValues, limit);
+    if (size > MAX_DENSE_SIZE) {
+      return false;
+    }
+    for (int value : inputValues) {
+      if (value < 0 || value >= size) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int denseSize(int[] inputValues, int limit) {
+    return Math.max(limit, inputValues.length + 1);
+  }
+
 }
@@ -33,7 +33,7 @@ public class TicketTranslation {
 
   private static final Pattern RULE_PATTERN = Pattern.compile(
       "^\\s*(.*)\\s*:\\s*(\\d+)\\s*-\\s*(\\d+)\\s*or\\s*(\\d+)\\s*-\\s*(\\d+)\\s*$");
-  private static final Pattern LINE_SPLITTER = Pattern.compile("\\r\\n?");
+  private static final Pattern LINE_SPLITTER = Pattern.compile("\\r?\\n");
   private static final Pattern VALUE_SPLITTER = Pattern.compile("\\s*,\\s*");
 
   private final Map<String, List<int[]>> ruleRanges;
@@ -41,10 +41,12 @@ public class TicketTranslation {
   private final List<List<Integer>> nearbyTicketValues;
 
   public TicketTranslation(String filename) throws URISyntaxException, IOException {
+    this(new Parser.Builder(TicketTranslation.class.getResource(filename).toURI()).build());
+  }
+
+  public TicketTranslation(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineGroupStream()
+        Stream<String> stream = parser.lineGroupStream()
     ) {
       String[] groups = stream.toArray(String[]::new);
       ruleRanges = new HashMap<>();
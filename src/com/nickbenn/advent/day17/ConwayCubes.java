@@ -15,8 +15,13 @@
  */
 package com.nickbenn.advent.day17;
 
+import com.nickbenn.advent.ca.Automaton;
 import com.nickbenn.advent.ca.Cell;
+import com.nickbenn.advent.ca.HypercubeTopology;
+import com.nickbenn.advent.ca.Rule;
+import com.nickbenn.advent.ca.SparseAutomaton;
 import com.nickbenn.advent.util.Defaults;
+import com.nickbenn.advent.util.LongHashSet;
 import com.nickbenn.advent.util.Parser;
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -27,6 +32,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -43,13 +49,17 @@ public class ConwayCubes {
     return comparison;
   };
 
+  private static final Rule RULE = Rule.parse("B3/S23");
+
   private final Set<Cell> cells;
 
   public ConwayCubes(String filename) throws URISyntaxException, IOException {
+    this(new Parser.Builder(ConwayCubes.class.getResource(filename).toURI()).build());
+  }
+
+  public ConwayCubes(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineStream()
+        Stream<String> stream = parser.lineStream()
     ) {
       int[] yValue = {0};
       cells = stream
@@ -68,33 +78,72 @@ public class ConwayCubes {
 
   public static void main(String[] args) throws IOException, URISyntaxException {
     ConwayCubes cubes = new ConwayCubes(Defaults.FILENAME);
-    System.out.println(cubes.countActive(3, 6));
-    System.out.println(cubes.countActive(4, 6));
+    System.out.println(cubes.countActivePacked(3, 6));
+    System.out.println(cubes.countActivePacked(4, 6));
   }
 
   public int countActive(int dimensions, int generations) {
-    Set<Cell> population = cells.stream()
-        .map((cell) -> new Cell(cell, dimensions))
-        .collect(Collectors.toCollection(() -> new TreeSet<>(REVERSE_DIMENSION_COMPARATOR)));
+    Set<Cell> population = population(dimensions);
     for (int i = 0; i < generations; i++) {
       iterate(population);
     }
     return population.size();
   }
 
+  public int countActiveDense(int dimensions, int generations) {
+    DenseGrid grid = new DenseGrid(cells, dimensions);
+    for (int i = 0; i < generations; i++) {
+      grid.iterate();
+    }
+    return grid.size();
+  }
+
+  public long countActiveSymmetric(int dimensions, int generations) {
+    SymmetricPopulation population = new SymmetricPopulation(cells, dimensions);
+    for (int i = 0; i < generations; i++) {
+      population.iterate();
+    }
+    return population.size();
+  }
+
+  public int countActivePacked(int dimensions, int generations) {
+    return countActivePacked(dimensions, generations, null);
+  }
+
+  public int countActivePacked(int dimensions, int generations, ForkJoinPool pool) {
+    HypercubeTopology topology = new HypercubeTopology(dimensions);
+    LongHashSet population = new LongHashSet(cells.size());
+    for (Cell cell : cells) {
+      population.add(topology.getPacking().pack(cell));
+    }
+    Automaton automaton = new SparseAutomaton(topology, RULE, population, pool);
+    for (int i = 0; i < generations; i++) {
+      automaton.step();
+    }
+    return automaton.getPopulation();
+  }
+
+  Set<Cell> population(int dimensions) {
+    return cells.stream()
+        .map((cell) -> new Cell(cell, dimensions))
+        .collect(Collectors.toCollection(() -> new TreeSet<>(REVERSE_DIMENSION_COMPARATOR)));
+  }
+
   public void iterate(Set<Cell> actives) {
     Set<Cell> next = new TreeSet<>(REVERSE_DIMENSION_COMPARATOR);
     Map<Cell, Integer> inactives = new TreeMap<>(REVERSE_DIMENSION_COMPARATOR);
+    int[] activeNeighbors = new int[1];
     for (Cell cell : actives) {
-      Set<Cell> neighbors = cell.getNeighbors();
-      for (Cell neighbor : neighbors) {
-        if (!actives.contains(neighbor)) {
-          inactives.put(neighbor, inactives.getOrDefault(neighbor, 0) + 1);
+      activeNeighbors[0] = 0;
+      cell.forEachNeighbor((coordinates) -> {
+        Cell neighbor = new Cell(coordinates);
+        if (actives.contains(neighbor)) {
+          activeNeighbors[0]++;
+        } else {
+          inactives.merge(neighbor, 1, Integer::sum);
         }
-      }
-      neighbors.retainAll(actives);
-      int size = neighbors.size();
-      if (size >= 2 && size <= 3) {
+      });
+      if (activeNeighbors[0] >= 2 && activeNeighbors[0] <= 3) {
         next.add(cell);
       }
     }
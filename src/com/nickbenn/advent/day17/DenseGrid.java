@@ -0,0 +1,247 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day17;
+
+import com.nickbenn.advent.ca.Cell;
+import java.util.Arrays;
+import java.util.Collection;
+
+final class DenseGrid {
+
+  private static final int BITS_PER_WORD = Long.SIZE;
+  private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+  private static final int MAX_DIMENSIONS = 9;
+
+  private final int dimensions;
+
+  private int[] origin;
+  private int[] sizes;
+  private int rowWords;
+  private long[] bits;
+  private int population;
+
+  // Block counts are held in shorts, which limits the grid to 9 dimensions (3^9 < 2^15).
+  DenseGrid(Collection<Cell> cells, int dimensions) {
+    if (dimensions < 1 || dimensions > MAX_DIMENSIONS) {
+      throw new IllegalArgumentException();
+    }
+    this.dimensions = dimensions;
+    int[] min = new int[dimensions];
+    int[] max = new int[dimensions];
+    Arrays.fill(min, Integer.MAX_VALUE);
+    Arrays.fill(max, Integer.MIN_VALUE);
+    for (Cell cell : cells) {
+      for (int i = 0; i < dimensions; i++) {
+        int value = (i < cell.getDimensions()) ? cell.get(i) : 0;
+        min[i] = Math.min(min[i], value);
+        max[i] = Math.max(max[i], value);
+      }
+    }
+    allocate(min, max, !cells.isEmpty());
+    int[] coordinates = new int[dimensions];
+    for (Cell cell : cells) {
+      for (int i = 0; i < dimensions; i++) {
+        coordinates[i] = ((i < cell.getDimensions()) ? cell.get(i) : 0) - origin[i];
+      }
+      int x = coordinates[0];
+      long mask = 1L << x;
+      int word = rowOffset(coordinates) + x / BITS_PER_WORD;
+      if ((bits[word] & mask) == 0) {
+        bits[word] |= mask;
+        population++;
+      }
+    }
+  }
+
+  int size() {
+    return population;
+  }
+
+  boolean contains(int... coordinates) {
+    int[] local = new int[dimensions];
+    for (int i = 0; i < dimensions; i++) {
+      local[i] = ((i < coordinates.length) ? coordinates[i] : 0) - origin[i];
+      if (local[i] < 0 || local[i] >= sizes[i]) {
+        return false;
+      }
+    }
+    return isSet(local);
+  }
+
+  // Counts, for every cell in the bounding box grown by one in each direction, the live cells in
+  // its 3^n block (itself included), as a box sum taken one axis at a time. A cell lives in the
+  // next generation if that count is 3, or if it is 4 and the cell is alive now.
+  void iterate() {
+    if (population == 0) {
+      return;
+    }
+    int[] extent = new int[dimensions];
+    int[] strides = new int[dimensions];
+    long total = 1;
+    for (int i = 0; i < dimensions; i++) {
+      extent[i] = sizes[i] + 2;
+      strides[i] = (int) total;
+      total *= extent[i];
+      if (total > MAX_SIZE) {
+        throw new IllegalStateException("Bounding box too large for a dense grid.");
+      }
+    }
+    short[] counts = new short[(int) total];
+    deposit(counts, strides);
+    for (int axis = 0; axis < dimensions; axis++) {
+      convolve(counts, strides[axis], extent[axis]);
+    }
+    select(counts, extent);
+  }
+
+  private void deposit(short[] counts, int[] strides) {
+    int[] coordinates = new int[dimensions];
+    int rows = bits.length / rowWords;
+    for (int row = 0; row < rows; row++) {
+      int base = 0;
+      for (int i = 1; i < dimensions; i++) {
+        base += (coordinates[i] + 1) * strides[i];
+      }
+      base++;
+      for (int w = 0; w < rowWords; w++) {
+        long word = bits[row * rowWords + w];
+        while (word != 0) {
+          counts[base + w * BITS_PER_WORD + Long.numberOfTrailingZeros(word)] = 1;
+          word &= word - 1;
+        }
+      }
+      advance(coordinates, sizes, 1);
+    }
+  }
+
+  private static void convolve(short[] counts, int stride, int extent) {
+    int span = stride * extent;
+    for (int outer = 0; outer < counts.length; outer += span) {
+      for (int inner = outer; inner < outer + stride; inner++) {
+        int previous = 0;
+        int end = inner + span - stride;
+        for (int index = inner; index < end; index += stride) {
+          int current = counts[index];
+          counts[index] = (short) (previous + current + counts[index + stride]);
+          previous = current;
+        }
+        counts[end] = (short) (previous + counts[end]);
+      }
+    }
+  }
+
+  private void select(short[] counts, int[] extent) {
+    int[] min = new int[dimensions];
+    int[] max = new int[dimensions];
+    Arrays.fill(min, Integer.MAX_VALUE);
+    Arrays.fill(max, Integer.MIN_VALUE);
+    int[] coordinates = new int[dimensions];
+    int[] local = new int[dimensions];
+    boolean any = false;
+    for (int index = 0; index < counts.length; index++) {
+      int count = counts[index];
+      boolean alive = count == 3 || (count == 4 && wasAlive(coordinates, local));
+      counts[index] = (short) (alive ? 1 : 0);
+      if (alive) {
+        any = true;
+        for (int i = 0; i < dimensions; i++) {
+          min[i] = Math.min(min[i], coordinates[i]);
+          max[i] = Math.max(max[i], coordinates[i]);
+        }
+      }
+      advance(coordinates, extent, 0);
+    }
+    int[] grownOrigin = new int[dimensions];
+    for (int i = 0; i < dimensions; i++) {
+      grownOrigin[i] = origin[i] - 1;
+    }
+    if (!any) {
+      origin = grownOrigin;
+      allocate(min, max, false);
+      return;
+    }
+    int[] shifted = new int[dimensions];
+    for (int i = 0; i < dimensions; i++) {
+      shifted[i] = grownOrigin[i] + min[i];
+      max[i] += grownOrigin[i];
+    }
+    allocate(shifted, max, true);
+    Arrays.fill(coordinates, 0);
+    for (int index = 0; index < counts.length; index++) {
+      if (counts[index] != 0) {
+        for (int i = 0; i < dimensions; i++) {
+          local[i] = coordinates[i] - min[i];
+        }
+        bits[rowOffset(local) + local[0] / BITS_PER_WORD] |= 1L << local[0];
+        population++;
+      }
+      advance(coordinates, extent, 0);
+    }
+  }
+
+  private boolean wasAlive(int[] grown, int[] local) {
+    for (int i = 0; i < dimensions; i++) {
+      local[i] = grown[i] - 1;
+      if (local[i] < 0 || local[i] >= sizes[i]) {
+        return false;
+      }
+    }
+    return isSet(local);
+  }
+
+  private boolean isSet(int[] local) {
+    int x = local[0];
+    return (bits[rowOffset(local) + x / BITS_PER_WORD] & (1L << x)) != 0;
+  }
+
+  private int rowOffset(int[] local) {
+    int row = 0;
+    for (int i = dimensions - 1; i > 0; i--) {
+      row = row * sizes[i] + local[i];
+    }
+    return row * rowWords;
+  }
+
+  private void allocate(int[] min, int[] max, boolean occupied) {
+    if (occupied) {
+      origin = min.clone();
+    } else if (origin == null) {
+      origin = new int[dimensions];
+    }
+    sizes = new int[dimensions];
+    long words = 1;
+    for (int i = 0; i < dimensions; i++) {
+      sizes[i] = occupied ? max[i] - min[i] + 1 : 0;
+      words *= (i == 0) ? (sizes[0] + BITS_PER_WORD - 1) / BITS_PER_WORD : sizes[i];
+    }
+    if (words > MAX_SIZE) {
+      throw new IllegalStateException("Bounding box too large for a dense grid.");
+    }
+    rowWords = (sizes[0] + BITS_PER_WORD - 1) / BITS_PER_WORD;
+    bits = new long[(int) words];
+    population = 0;
+  }
+
+  private static void advance(int[] coordinates, int[] extent, int from) {
+    for (int i = from; i < coordinates.length; i++) {
+      if (++coordinates[i] < extent[i]) {
+        return;
+      }
+      coordinates[i] = 0;
+    }
+  }
+
+}
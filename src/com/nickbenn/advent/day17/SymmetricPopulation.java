@@ -0,0 +1,153 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day17;
+
+import com.nickbenn.advent.ca.Cell;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+final class SymmetricPopulation {
+
+  private static final int PLANE_DIMENSIONS = 2;
+
+  private final int dimensions;
+  private final Map<Cell, Map<Cell, Integer>> transitions = new HashMap<>();
+  private final Map<Cell, Long> weights = new HashMap<>();
+
+  private Set<Cell> cells;
+
+  // Every axis beyond the initial plane starts at 0, and the rule treats all axes alike, so the
+  // population is unchanged by reflecting any of those axes or permuting them. Only cells with
+  // extra coordinates that are non-negative and ascending are kept; each stands for all of its
+  // images.
+  SymmetricPopulation(Collection<Cell> plane, int dimensions) {
+    if (dimensions < PLANE_DIMENSIONS) {
+      throw new IllegalArgumentException();
+    }
+    this.dimensions = dimensions;
+    cells = new HashSet<>();
+    int[] coordinates = new int[dimensions];
+    for (Cell cell : plane) {
+      for (int i = 0; i < PLANE_DIMENSIONS; i++) {
+        coordinates[i] = cell.get(i);
+      }
+      cells.add(new Cell(coordinates));
+    }
+  }
+
+  long size() {
+    long size = 0;
+    for (Cell cell : cells) {
+      size += weight(extra(cell));
+    }
+    return size;
+  }
+
+  // The count for a canonical cell is the number of live cells in the 3^n block around it. Pushing
+  // from each live canonical cell to its block, and mapping each target to canonical form,
+  // overcounts a target by its weight over that of the source; summing source weights and then
+  // dividing by the target's weight gives the exact count.
+  void iterate() {
+    Map<Cell, Long> counts = new HashMap<>();
+    int[] coordinates = new int[dimensions];
+    for (Cell cell : cells) {
+      Cell extra = extra(cell);
+      long weight = weight(extra);
+      for (Map.Entry<Cell, Integer> entry : transitions(extra).entrySet()) {
+        Cell target = entry.getKey();
+        for (int i = PLANE_DIMENSIONS; i < dimensions; i++) {
+          coordinates[i] = target.get(i - PLANE_DIMENSIONS);
+        }
+        long contribution = weight * entry.getValue();
+        for (int dx = -1; dx <= 1; dx++) {
+          for (int dy = -1; dy <= 1; dy++) {
+            coordinates[0] = cell.get(0) + dx;
+            coordinates[1] = cell.get(1) + dy;
+            counts.merge(new Cell(coordinates), contribution, Long::sum);
+          }
+        }
+      }
+    }
+    Set<Cell> next = new HashSet<>();
+    for (Map.Entry<Cell, Long> entry : counts.entrySet()) {
+      Cell cell = entry.getKey();
+      long count = entry.getValue() / weight(extra(cell));
+      if (count == 3 || (count == 4 && cells.contains(cell))) {
+        next.add(cell);
+      }
+    }
+    cells = next;
+  }
+
+  private Cell extra(Cell cell) {
+    int[] extra = new int[dimensions - PLANE_DIMENSIONS];
+    for (int i = 0; i < extra.length; i++) {
+      extra[i] = cell.get(i + PLANE_DIMENSIONS);
+    }
+    return new Cell(extra);
+  }
+
+  private Map<Cell, Integer> transitions(Cell extra) {
+    return transitions.computeIfAbsent(extra, (key) -> {
+      Map<Cell, Integer> targets = new HashMap<>();
+      int size = key.getDimensions();
+      int[] offsets = new int[size];
+      Arrays.fill(offsets, -1);
+      int[] moved = new int[size];
+      do {
+        for (int i = 0; i < size; i++) {
+          moved[i] = Math.abs(key.get(i) + offsets[i]);
+        }
+        int[] sorted = moved.clone();
+        Arrays.sort(sorted);
+        targets.merge(new Cell(sorted), 1, Integer::sum);
+      } while (advance(offsets));
+      return targets;
+    });
+  }
+
+  // The number of distinct images of a canonical cell: each non-zero extra coordinate may be
+  // negated, and the extra coordinates may be permuted, up to repeated values.
+  private long weight(Cell extra) {
+    return weights.computeIfAbsent(extra, (key) -> {
+      long weight = 1;
+      int run = 0;
+      for (int i = 0; i < key.getDimensions(); i++) {
+        if (key.get(i) != 0) {
+          weight *= 2;
+        }
+        run = (i > 0 && key.get(i) == key.get(i - 1)) ? run + 1 : 1;
+        weight = weight * (i + 1) / run;
+      }
+      return weight;
+    });
+  }
+
+  private static boolean advance(int[] offsets) {
+    for (int i = 0; i < offsets.length; i++) {
+      if (++offsets[i] <= 1) {
+        return true;
+      }
+      offsets[i] = -1;
+    }
+    return false;
+  }
+
+}
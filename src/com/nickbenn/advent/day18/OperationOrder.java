@@ -40,10 +40,12 @@ public class OperationOrder {
   private final List<String> lines;
 
   public OperationOrder(String filename) throws URISyntaxException, IOException {
+    this(new Parser.Builder(OperationOrder.class.getResource(filename).toURI()).build());
+  }
+
+  public OperationOrder(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineStream()
+        Stream<String> stream = parser.lineStream()
     ) {
       lines = stream
           .collect(Collectors.toList());
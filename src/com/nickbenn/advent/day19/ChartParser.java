@@ -0,0 +1,233 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day19;
+
+import java.util.Arrays;
+
+// A chart parser for rule sets that may refer to themselves, as long as no rule can reach itself
+// again without consuming a character, through the first elements of its branches. For each rule
+// and start index in the message, the chart holds the set of indices at which a match of that rule
+// can end, as a bit set. Since no rule matches the empty string, a cell depends only on cells at
+// later start indices, and on cells at the same index for the rules its branches begin with; so the
+// chart is filled from the last index to the first, in a fixed order of rules, without recursion.
+// Rules that reach no loop are compiled to DFAs, which fill a cell in a single scan from its start
+// index, and only the rules the parser actually refers to get rows in the chart.
+final class ChartParser implements MessageMatcher {
+
+  private static final byte UNVISITED = 0;
+  private static final byte VISITING = 1;
+  private static final byte VISITED = 2;
+  private static final int MAX_ROW_SIZE = Integer.MAX_VALUE - 8;
+  private static final long MAX_RETAINED_SIZE = 1 << 20;
+
+  // Shared by every parser, so that a chart never holds on to the parser that filled it.
+  private static final ThreadLocal<Chart> CHARTS = ThreadLocal.withInitial(Chart::new);
+
+  private final int[][][] branches;
+  private final int root;
+  private final RuleAutomaton[] automata;
+  private final int[] rows;
+  private final int[] order;
+  private final boolean[] referenced;
+
+  ChartParser(char[] letters, int[][][] branches, int root) {
+    this.branches = branches;
+    this.root = root;
+    byte[] states = new byte[letters.length];
+    for (int rule = 0; rule < letters.length; rule++) {
+      checkLeftRecursion(rule, states);
+    }
+    automata = new RuleAutomaton[letters.length];
+    rows = new int[letters.length];
+    Arrays.fill(rows, -1);
+    referenced = new boolean[letters.length];
+    int[] count = {0};
+    compileLoopFree(letters, root, new boolean[letters.length], count);
+    order = new int[count[0]];
+    count[0] = 0;
+    orderRows(root, new boolean[letters.length], count);
+  }
+
+  @Override
+  public boolean matches(CharSequence message) {
+    Chart chart = CHARTS.get();
+    try {
+      chart.load(message, order.length);
+      for (int start = chart.length - 1; start >= 0; start--) {
+        for (int rule : order) {
+          // Only the root can be unreferenced, and only its match from the first index counts.
+          if (referenced[rule] || start == 0) {
+            fill(chart, rule, start);
+          }
+        }
+      }
+      int length = chart.length;
+      return length > 0 && (chart.rows[rows[root]][length / Long.SIZE] & (1L << length)) != 0;
+    } finally {
+      chart.trim();
+    }
+  }
+
+  private void checkLeftRecursion(int rule, byte[] states) {
+    if (states[rule] == VISITING) {
+      throw new IllegalArgumentException("Rule " + rule + " is left-recursive.");
+    }
+    if (states[rule] == UNVISITED) {
+      states[rule] = VISITING;
+      if (branches[rule] != null) {
+        for (int[] sequence : branches[rule]) {
+          checkLeftRecursion(sequence[0], states);
+        }
+      }
+      states[rule] = VISITED;
+    }
+  }
+
+  // Gives a row to every rule reachable from rule without passing through a loop-free rule.
+  private void compileLoopFree(char[] letters, int rule, boolean[] visited, int[] count) {
+    if (!visited[rule]) {
+      visited[rule] = true;
+      rows[rule] = count[0]++;
+      automata[rule] = RuleAutomaton.of(letters, branches, rule);
+      if (automata[rule] == null) {
+        for (int[] sequence : branches[rule]) {
+          for (int reference : sequence) {
+            referenced[reference] = true;
+            compileLoopFree(letters, reference, visited, count);
+          }
+        }
+      }
+    }
+  }
+
+  // Orders the rules with rows so that each follows the rules its branches begin with.
+  private void orderRows(int rule, boolean[] placed, int[] count) {
+    if (!placed[rule]) {
+      placed[rule] = true;
+      if (automata[rule] == null) {
+        for (int[] sequence : branches[rule]) {
+          orderRows(sequence[0], placed, count);
+        }
+        for (int[] sequence : branches[rule]) {
+          for (int reference : sequence) {
+            orderRows(reference, placed, count);
+          }
+        }
+      }
+      order[count[0]++] = rule;
+    }
+  }
+
+  private void fill(Chart chart, int rule, int start) {
+    int words = chart.words;
+    int offset = start * words;
+    long[] ends = chart.rows[rows[rule]];
+    Arrays.fill(ends, offset, offset + words, 0);
+    if (automata[rule] != null) {
+      automata[rule].markEnds(chart.message, start, chart.length, ends, offset);
+      return;
+    }
+    long[] scratch = chart.scratch;
+    int first = start / Long.SIZE;
+    for (int[] sequence : branches[rule]) {
+      int current = 0;
+      int next = words;
+      Arrays.fill(scratch, 0, 2 * words, 0);
+      scratch[current + start / Long.SIZE] |= 1L << start;
+      boolean found = true;
+      for (int reference : sequence) {
+        long[] matched = chart.rows[rows[reference]];
+        Arrays.fill(scratch, next + first, next + words, 0);
+        found = false;
+        for (int word = first; word < words; word++) {
+          for (long bits = scratch[current + word]; bits != 0; bits &= bits - 1) {
+            int position = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+            if (position < chart.length) {
+              // A match starting at position ends after it, so lower words are always empty.
+              int matchedOffset = position * words;
+              for (int i = position / Long.SIZE; i < words; i++) {
+                scratch[next + i] |= matched[matchedOffset + i];
+                found |= matched[matchedOffset + i] != 0;
+              }
+            }
+          }
+        }
+        int swap = current;
+        current = next;
+        next = swap;
+        if (!found) {
+          break;
+        }
+      }
+      if (found) {
+        for (int i = first; i < words; i++) {
+          ends[offset + i] |= scratch[current + i];
+        }
+      }
+    }
+  }
+
+  // Each row grows with the square of the message length; after an oversized message, the chart
+  // drops its rows, rather than holding them for the life of the thread.
+  private static class Chart {
+
+    private char[] message = new char[0];
+    private int length;
+    private int words;
+    private long[][] rows = new long[0][];
+    private long[] scratch = new long[0];
+
+    private void load(CharSequence text, int rowCount) {
+      length = text.length();
+      words = (length + Long.SIZE) / Long.SIZE;
+      long size = (long) (length + 1) * words;
+      if (size > MAX_ROW_SIZE) {
+        throw new IllegalArgumentException(
+            String.format("Message of %,d characters is too long to parse.", length));
+      }
+      if (message.length < length) {
+        message = new char[length];
+      }
+      for (int i = 0; i < length; i++) {
+        message[i] = text.charAt(i);
+      }
+      if (rows.length < rowCount) {
+        rows = Arrays.copyOf(rows, rowCount);
+      }
+      for (int row = 0; row < rowCount; row++) {
+        if (rows[row] == null || rows[row].length < size) {
+          rows[row] = new long[(int) size];
+        }
+      }
+      if (scratch.length < 2 * words) {
+        scratch = new long[2 * words];
+      }
+    }
+
+    private void trim() {
+      long retained = scratch.length;
+      for (long[] row : rows) {
+        retained += (row != null) ? row.length : 0;
+      }
+      if (retained > MAX_RETAINED_SIZE) {
+        rows = new long[0][];
+        scratch = new long[0];
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,108 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day19;
+
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// A rule set, frozen at parse time and compiled once to a matcher for rule 0. Nothing in a grammar
+// changes after construction, and matching keeps any per-message state in the calling thread, so a
+// single grammar can validate messages on any number of threads at once.
+public final class Grammar {
+
+  private static final Pattern RULE_PATTERN =
+      Pattern.compile("^(\\d+):\\s*(?:\"(.)\"|([\\d|\\s]*))\\s*$");
+  private static final Pattern BRANCH_SPLITTER = Pattern.compile("\\s*\\|\\s*");
+  private static final Pattern SEQUENCE_SPLITTER = Pattern.compile("\\s+");
+  private static final int ROOT = 0;
+
+  private final char[] letters;
+  private final int[][][] branches;
+  private final MessageMatcher matcher;
+
+  private Grammar(char[] letters, int[][][] branches) {
+    this.letters = letters;
+    this.branches = branches;
+    matcher = MessageMatcher.compile(letters, branches, ROOT);
+  }
+
+  public static Grammar parse(Parser parser) throws IOException {
+    Map<Integer, Character> literals = new HashMap<>();
+    Map<Integer, int[][]> sequences = new HashMap<>();
+    try (
+        Stream<String> stream = parser.lineStream();
+    ) {
+      stream
+          .map(RULE_PATTERN::matcher)
+          .filter(Matcher::matches)
+          .forEachOrdered((matcher) -> {
+            int id = Integer.parseInt(matcher.group(1));
+            if (matcher.group(2) != null && !matcher.group(2).isEmpty()) {
+              literals.put(id, matcher.group(2).charAt(0));
+            } else {
+              sequences.put(id, BRANCH_SPLITTER.splitAsStream(matcher.group(3))
+                  .map(String::trim)
+                  .filter(Predicate.not(String::isEmpty))
+                  .map((part) -> SEQUENCE_SPLITTER.splitAsStream(part)
+                      .mapToInt(Integer::parseInt)
+                      .toArray())
+                  .toArray(int[][]::new));
+            }
+          });
+    }
+    int size = 1 + IntStream.concat(
+            IntStream.concat(
+                literals.keySet().stream().mapToInt(Integer::intValue),
+                sequences.keySet().stream().mapToInt(Integer::intValue)),
+            sequences.values().stream().flatMap(Stream::of).flatMapToInt(IntStream::of))
+        .max()
+        .orElse(ROOT);
+    char[] letters = new char[size];
+    int[][][] branches = new int[size][][];
+    literals.forEach((id, letter) -> letters[id] = letter);
+    sequences.forEach((id, sequence) -> branches[id] = sequence);
+    return new Grammar(letters, branches);
+  }
+
+  public boolean matches(CharSequence message) {
+    return matcher.matches(message);
+  }
+
+  int size() {
+    return letters.length;
+  }
+
+  // Returns the letter of a literal rule, or 0 for any other rule.
+  char letter(int rule) {
+    return letters[rule];
+  }
+
+  // Returns a copy of the branches of a rule that isn't a literal, or null for a literal or
+  // undefined rule.
+  int[][] branches(int rule) {
+    return (branches[rule] != null)
+        ? Stream.of(branches[rule]).map(int[]::clone).toArray(int[][]::new)
+        : null;
+  }
+
+}
@@ -0,0 +1,32 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day19;
+
+// Decides whether a whole message matches the root rule of a rule set. Rules are given by id: a
+// literal rule has a nonzero letter, and any other rule has an array of branches, each a sequence
+// of rule ids; a rule with neither matches nothing.
+interface MessageMatcher {
+
+  boolean matches(CharSequence message);
+
+  // Compiles loop-free rule sets to a DFA, and falls back to a chart parser for recursive rules
+  // (or for an automaton too large to build).
+  static MessageMatcher compile(char[] letters, int[][][] branches, int root) {
+    MessageMatcher automaton = RuleAutomaton.of(letters, branches, root);
+    return (automaton != null) ? automaton : new ChartParser(letters, branches, root);
+  }
+
+}
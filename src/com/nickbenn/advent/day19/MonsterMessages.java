@@ -18,70 +18,58 @@ package com.nickbenn.advent.day19;
 import com.nickbenn.advent.util.Parser;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class MonsterMessages {
 
-  private static final Pattern RULE_PATTERN =
-      Pattern.compile("^(\\d+):\\s*(?:\"(.)\"|([\\d|\\s]*))\\s*$");
-  private static final Pattern BRANCH_SPLITTER = Pattern.compile("\\s*\\|\\s*");
-  private static final Pattern SEQUENCE_SPLITTER = Pattern.compile("\\s+");
+  private static final String MESSAGES_FILE = "messages.txt";
+  private static final String[] RULES_FILES = {"rules-1.txt", "rules-2.txt"};
+  private static final String THROUGHPUT_FORMAT = "%d of %d messages valid (%,.0f messages/s).%n";
 
+  private final Grammar grammar;
   private final Map<Integer, Rule> rules;
   private final List<String> messages;
 
   public MonsterMessages(String rulesFile, String messagesFile)
       throws URISyntaxException, IOException {
+    this(
+        new Parser.Builder(MonsterMessages.class.getResource(rulesFile).toURI()).build(),
+        new Parser.Builder(MonsterMessages.class.getResource(messagesFile).toURI()).build()
+    );
+  }
+
+  public MonsterMessages(Parser rulesParser, Parser messagesParser) throws IOException {
+    grammar = Grammar.parse(rulesParser);
+    rules = recursiveRules(grammar);
     try (
-        Stream<String> rulesStream = new Parser.Builder(getClass().getResource(rulesFile).toURI())
-            .build()
-            .lineStream();
-        Stream<String> messagesStream =
-            new Parser.Builder(getClass().getResource(messagesFile).toURI())
-                .build()
-                .lineStream();
+        Stream<String> messagesStream = messagesParser.lineStream();
     ) {
       messages = messagesStream
           .collect(Collectors.toList());
-      rules = rulesStream
-          .map(RULE_PATTERN::matcher)
-          .filter(Matcher::matches)
-          .collect(Collectors.toMap(
-              (matcher) -> Integer.valueOf(matcher.group(1)),
-              (matcher) -> {
-                Rule rule;
-                if (matcher.group(2) != null && !matcher.group(2).isEmpty()) {
-                  rule = new Literal(matcher.group(2).charAt(0));
-                } else {
-                  List<List<Integer>> sequences = BRANCH_SPLITTER.splitAsStream(matcher.group(3))
-                      .map(String::trim)
-                      .filter(Predicate.not(String::isEmpty))
-                      .map((part) -> SEQUENCE_SPLITTER.splitAsStream(part)
-                          .map(String::trim)
-                          .map(Integer::valueOf)
-                          .collect(Collectors.toList())
-                      )
-                      .collect(Collectors.toList());
-                  rule = new Recursive(sequences);
-                }
-                return rule;
-              }
-          ));
     }
   }
 
   public static void main(String[] args) throws IOException, URISyntaxException {
-    MonsterMessages part1 = new MonsterMessages("rules-1.txt", "messages.txt");
-    System.out.println(part1.countValid());
-    MonsterMessages part2 = new MonsterMessages("rules-2.txt", "messages.txt");
-    System.out.println(part2.countValid());
+    for (String rulesFile : RULES_FILES) {
+      Grammar grammar = Grammar.parse(
+          new Parser.Builder(MonsterMessages.class.getResource(rulesFile).toURI()).build());
+      Validation validation = validate(grammar,
+          new Parser.Builder(MonsterMessages.class.getResource(MESSAGES_FILE).toURI())
+              .setMapped(true)
+              .setParallel(true)
+              .build());
+      System.out.printf(THROUGHPUT_FORMAT, validation.getValidCount(),
+          validation.getMessageCount(), validation.getMessagesPerSecond());
+    }
   }
 
   public long countValid() {
@@ -94,6 +82,77 @@ public class MonsterMessages {
         .count();
   }
 
+  public long countValidCompiled() {
+    return messages.stream()
+        .filter(grammar::matches)
+        .count();
+  }
+
+  // Reads the non-blank lines of messagesParser as they're needed, without collecting them, and
+  // validates them against grammar on all cores of the common pool.
+  public static Validation validate(Grammar grammar, Parser messagesParser) throws IOException {
+    long start = System.nanoTime();
+    Map<Boolean, Long> counts;
+    try (
+        Stream<CharSequence> stream = messagesParser.lineSequenceStream();
+    ) {
+      counts = stream
+          .unordered()
+          .parallel()
+          .filter((message) -> message.length() > 0)
+          .collect(Collectors.partitioningBy(grammar::matches, Collectors.counting()));
+    }
+    return new Validation(counts.get(true), counts.get(true) + counts.get(false),
+        System.nanoTime() - start);
+  }
+
+  private static Map<Integer, Rule> recursiveRules(Grammar grammar) {
+    Map<Integer, Rule> rules = new HashMap<>();
+    for (int id = 0; id < grammar.size(); id++) {
+      int[][] branches = grammar.branches(id);
+      if (grammar.letter(id) != 0) {
+        rules.put(id, new Literal(grammar.letter(id)));
+      } else if (branches != null) {
+        rules.put(id, new Recursive(Stream.of(branches)
+            .map((sequence) -> IntStream.of(sequence).boxed().collect(Collectors.toList()))
+            .collect(Collectors.toList()), rules));
+      }
+    }
+    return Collections.unmodifiableMap(rules);
+  }
+
+  public static class Validation {
+
+    private final long validCount;
+    private final long messageCount;
+    private final long elapsedNanos;
+
+    private Validation(long validCount, long messageCount, long elapsedNanos) {
+      this.validCount = validCount;
+      this.messageCount = messageCount;
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getValidCount() {
+      return validCount;
+    }
+
+    public long getMessageCount() {
+      return messageCount;
+    }
+
+    public long getElapsedNanos() {
+      return elapsedNanos;
+    }
+
+    public double getMessagesPerSecond() {
+      return (elapsedNanos > 0)
+          ? messageCount * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos
+          : Double.POSITIVE_INFINITY;
+    }
+
+  }
+
   private interface Rule {
 
     List<String> matches(List<String> inputs);
@@ -121,12 +180,15 @@ public class MonsterMessages {
 
   }
 
-  public class Recursive implements Rule {
+  // Resolves references through the map of all rules, which isn't modified once it's built.
+  private static class Recursive implements Rule {
 
     private final List<List<Integer>> ruleReferences;
+    private final Map<Integer, Rule> rules;
 
-    public Recursive(List<List<Integer>> ruleReferences) {
+    public Recursive(List<List<Integer>> ruleReferences, Map<Integer, Rule> rules) {
       this.ruleReferences = List.copyOf(ruleReferences);
+      this.rules = rules;
     }
 
     @Override
@@ -0,0 +1,230 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day19;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// A DFA for a loop-free rule set. Every rule reference is inlined, so that each literal leaf of the
+// resulting tree is a distinct position; the Glushkov construction links positions by which may
+// follow which, without epsilon moves, and subset construction then makes the automaton
+// deterministic. Matching takes one table lookup per character.
+final class RuleAutomaton implements MessageMatcher {
+
+  static final int MAX_POSITIONS = 1 << 16;
+  static final int MAX_STATES = 1 << 16;
+
+  private static final int DEAD = -1;
+
+  private final int[] symbols;
+  private final int width;
+  private final int[] transitions;
+  private final boolean[] accepting;
+
+  private RuleAutomaton(int[] symbols, int width, int[] transitions, boolean[] accepting) {
+    this.symbols = symbols;
+    this.width = width;
+    this.transitions = transitions;
+    this.accepting = accepting;
+  }
+
+  // Returns null if the rules loop, or if the inlined rules or the automaton would be too large.
+  static RuleAutomaton of(char[] letters, int[][][] branches, int root) {
+    long positionCount = countPositions(root, letters, branches, new long[letters.length]);
+    if (positionCount < 0 || positionCount > MAX_POSITIONS) {
+      return null;
+    }
+    Glushkov glushkov = new Glushkov(letters, branches);
+    Fragment fragment = glushkov.inline(root);
+    return glushkov.determinize(fragment);
+  }
+
+  int getStateCount() {
+    return accepting.length;
+  }
+
+  @Override
+  public boolean matches(CharSequence message) {
+    int state = 0;
+    for (int i = 0, length = message.length(); i < length && state != DEAD; i++) {
+      char letter = message.charAt(i);
+      int symbol = (letter < symbols.length) ? symbols[letter] : DEAD;
+      state = (symbol != DEAD) ? transitions[state * width + symbol] : DEAD;
+    }
+    return state != DEAD && accepting[state];
+  }
+
+  // Sets, in the bit set at offset in ends, every index after start at which a match of the rules
+  // can end, reading message no further than length.
+  void markEnds(char[] message, int start, int length, long[] ends, int offset) {
+    int state = 0;
+    for (int i = start; i < length && state != DEAD; i++) {
+      char letter = message[i];
+      int symbol = (letter < symbols.length) ? symbols[letter] : DEAD;
+      state = (symbol != DEAD) ? transitions[state * width + symbol] : DEAD;
+      if (state != DEAD && accepting[state]) {
+        ends[offset + (i + 1) / Long.SIZE] |= 1L << (i + 1);
+      }
+    }
+  }
+
+  // Counts the literal leaves of the inlined rule tree, saturating past MAX_POSITIONS; a negative
+  // result means that the rules loop. In counts, 0 is unvisited and -1 is in progress.
+  private static long countPositions(int rule, char[] letters, int[][][] branches, long[] counts) {
+    if (counts[rule] == -1) {
+      return -1;
+    }
+    if (counts[rule] == 0) {
+      counts[rule] = -1;
+      long count = (letters[rule] != 0) ? 1 : 0;
+      if (branches[rule] != null) {
+        for (int[] sequence : branches[rule]) {
+          for (int reference : sequence) {
+            long referenceCount = countPositions(reference, letters, branches, counts);
+            if (referenceCount < 0) {
+              return -1;
+            }
+            count = Math.min(count + referenceCount, MAX_POSITIONS + 1);
+          }
+        }
+      }
+      counts[rule] = count + 1;
+    }
+    return counts[rule] - 1;
+  }
+
+  private static class Fragment {
+
+    private final BitSet first = new BitSet();
+    private final BitSet last = new BitSet();
+
+  }
+
+  private static class Glushkov {
+
+    private final char[] letters;
+    private final int[][][] branches;
+    private final StringBuilder positionLetters = new StringBuilder();
+    private final List<BitSet> follows = new ArrayList<>();
+
+    private Glushkov(char[] letters, int[][][] branches) {
+      this.letters = letters;
+      this.branches = branches;
+    }
+
+    // Rules are never nullable (every branch is a non-empty sequence), so the first positions of
+    // a sequence are those of its first element, and its last positions those of its last.
+    private Fragment inline(int rule) {
+      Fragment fragment = new Fragment();
+      if (letters[rule] != 0) {
+        int position = positionLetters.length();
+        positionLetters.append(letters[rule]);
+        follows.add(new BitSet());
+        fragment.first.set(position);
+        fragment.last.set(position);
+      } else if (branches[rule] != null) {
+        for (int[] sequence : branches[rule]) {
+          Fragment previous = null;
+          for (int reference : sequence) {
+            Fragment next = inline(reference);
+            if (previous == null) {
+              fragment.first.or(next.first);
+            } else {
+              BitSet last = previous.last;
+              for (int p = last.nextSetBit(0); p >= 0; p = last.nextSetBit(p + 1)) {
+                follows.get(p).or(next.first);
+              }
+            }
+            previous = next;
+          }
+          if (previous != null) {
+            fragment.last.or(previous.last);
+          }
+        }
+      }
+      return fragment;
+    }
+
+    private RuleAutomaton determinize(Fragment root) {
+      BitSet alphabet = new BitSet();
+      positionLetters.chars().forEach(alphabet::set);
+      int width = alphabet.cardinality();
+      int[] symbols = new int[alphabet.length()];
+      Arrays.fill(symbols, DEAD);
+      for (int letter = alphabet.nextSetBit(0), symbol = 0; letter >= 0;
+          letter = alphabet.nextSetBit(letter + 1)) {
+        symbols[letter] = symbol++;
+      }
+      // The start state is the only one whose successors are drawn from the first positions of
+      // the root, rather than from the follow sets of its own positions.
+      List<BitSet> states = new ArrayList<>();
+      Map<BitSet, Integer> ids = new HashMap<>();
+      states.add(new BitSet());
+      int[] transitions = new int[width];
+      BitSet[] successors = new BitSet[width];
+      for (int state = 0; state < states.size(); state++) {
+        BitSet candidates;
+        if (state == 0) {
+          candidates = root.first;
+        } else {
+          candidates = new BitSet();
+          BitSet positions = states.get(state);
+          for (int p = positions.nextSetBit(0); p >= 0; p = positions.nextSetBit(p + 1)) {
+            candidates.or(follows.get(p));
+          }
+        }
+        for (int symbol = 0; symbol < width; symbol++) {
+          successors[symbol] = new BitSet();
+        }
+        for (int p = candidates.nextSetBit(0); p >= 0; p = candidates.nextSetBit(p + 1)) {
+          successors[symbols[positionLetters.charAt(p)]].set(p);
+        }
+        if (transitions.length < (state + 1) * width) {
+          transitions = Arrays.copyOf(transitions, 2 * transitions.length);
+        }
+        for (int symbol = 0; symbol < width; symbol++) {
+          BitSet next = successors[symbol];
+          int target = DEAD;
+          if (!next.isEmpty()) {
+            Integer id = ids.get(next);
+            if (id == null) {
+              if (states.size() == MAX_STATES) {
+                return null;
+              }
+              id = states.size();
+              ids.put(next, id);
+              states.add(next);
+            }
+            target = id;
+          }
+          transitions[state * width + symbol] = target;
+        }
+      }
+      boolean[] accepting = new boolean[states.size()];
+      for (int state = 1; state < accepting.length; state++) {
+        accepting[state] = states.get(state).intersects(root.last);
+      }
+      return new RuleAutomaton(symbols, width,
+          Arrays.copyOf(transitions, accepting.length * width), accepting);
+    }
+
+  }
+
+}
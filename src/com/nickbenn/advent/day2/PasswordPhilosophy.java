@@ -28,10 +28,12 @@ public class PasswordPhilosophy {
   private final List<PasswordEntry> entries;
 
   public PasswordPhilosophy(String filename) throws IOException, URISyntaxException {
+    this(new Parser.Builder(PasswordPhilosophy.class.getResource(filename).toURI()).build());
+  }
+
+  public PasswordPhilosophy(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineStream()
+        Stream<String> stream = parser.lineStream()
     ) {
       entries = stream.map(PasswordEntry::new)
           .collect(Collectors.toUnmodifiableList());
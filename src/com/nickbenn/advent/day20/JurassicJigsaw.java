@@ -43,12 +43,13 @@ public class JurassicJigsaw {
   private final Map<Integer, Tile> tiles;
   private final Map<Integer, Set<Integer>> buckets;
 
-  public JurassicJigsaw(String filename)
-      throws URISyntaxException, IOException {
+  public JurassicJigsaw(String filename) throws URISyntaxException, IOException {
+    this(new Parser.Builder(JurassicJigsaw.class.getResource(filename).toURI()).build());
+  }
+
+  public JurassicJigsaw(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineGroupStream()
+        Stream<String> stream = parser.lineGroupStream()
     ) {
       buckets = new HashMap<>();
       tiles = stream
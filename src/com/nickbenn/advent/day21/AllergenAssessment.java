@@ -43,10 +43,12 @@ public class AllergenAssessment {
   private final List<Set<String>> ingredientListings;
 
   public AllergenAssessment(String filename) throws URISyntaxException, IOException {
+    this(new Parser.Builder(AllergenAssessment.class.getResource(filename).toURI()).build());
+  }
+
+  public AllergenAssessment(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineStream();
+        Stream<String> stream = parser.lineStream();
     ) {
       potentialAllergens = new HashMap<>();
       potentialIngredients = new HashMap<>();
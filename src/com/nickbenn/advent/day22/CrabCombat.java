@@ -31,13 +31,16 @@ public class CrabCombat {
   private final List<Integer> player2;
 
   public CrabCombat(String player1File, String player2File) throws URISyntaxException, IOException {
+    this(
+        new Parser.Builder(CrabCombat.class.getResource(player1File).toURI()).build(),
+        new Parser.Builder(CrabCombat.class.getResource(player2File).toURI()).build()
+    );
+  }
+
+  public CrabCombat(Parser player1Parser, Parser player2Parser) throws IOException {
     try (
-        IntStream player1Stream = new Parser.Builder(getClass().getResource(player1File).toURI())
-            .build()
-            .intStream();
-        IntStream player2Stream = new Parser.Builder(getClass().getResource(player2File).toURI())
-            .build()
-            .intStream()
+        IntStream player1Stream = player1Parser.intStream();
+        IntStream player2Stream = player2Parser.intStream()
     ) {
       player1 = player1Stream
           .boxed()
@@ -0,0 +1,95 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day23;
+
+public class ArrayCupCircle implements Circle {
+
+  private static final int MINIMUM = 1;
+
+  private final int[] next;
+  private final int maximum;
+
+  private int current;
+
+  public ArrayCupCircle(String preassigned) {
+    this(preassigned, preassigned.length());
+  }
+
+  // Cups are labeled 1 through size, so the label of each cup indexes the label of its successor.
+  public ArrayCupCircle(String preassigned, int size) {
+    if (size < 5) {
+      throw new IllegalArgumentException();
+    }
+    next = new int[size + 1];
+    maximum = size;
+    char[] chars = preassigned.toCharArray();
+    int first = 0;
+    int previous = 0;
+    for (int i = 0; i < size; i++) {
+      int value = (i >= chars.length) ? (i + 1) : chars[i] - '0';
+      if (value < MINIMUM || value > size || next[value] != 0 || value == first
+          || value == previous) {
+        throw new IllegalArgumentException(
+            String.format("Cups must be labeled 1 through %d.", size));
+      }
+      if (previous == 0) {
+        first = value;
+      } else {
+        next[previous] = value;
+      }
+      previous = value;
+    }
+    next[previous] = first;
+    current = first;
+  }
+
+  @Override
+  public void move() {
+    int[] next = this.next;
+    int current = this.current;
+    int pickUpHead = next[current];
+    int pickUpMiddle = next[pickUpHead];
+    int pickUpTail = next[pickUpMiddle];
+    int insertPoint = current;
+    do {
+      insertPoint = (insertPoint == MINIMUM) ? maximum : insertPoint - 1;
+    } while (
+        insertPoint == pickUpHead || insertPoint == pickUpMiddle || insertPoint == pickUpTail);
+    next[current] = next[pickUpTail];
+    next[pickUpTail] = next[insertPoint];
+    next[insertPoint] = pickUpHead;
+    this.current = next[current];
+  }
+
+  @Override
+  public String reportItems() {
+    StringBuilder builder = new StringBuilder();
+    for (int item = next[MINIMUM]; item != MINIMUM; item = next[item]) {
+      builder.append(item);
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public long reportProduct(int count) {
+    long product = 1;
+    for (int item = next[MINIMUM]; item != MINIMUM && count-- > 0; item = next[item]) {
+      product *= item;
+    }
+    return product;
+  }
+
+}
@@ -16,22 +16,8 @@
 package com.nickbenn.advent.day23;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.Timer;
-import java.util.TimerTask;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ForkJoinPool;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
+import java.io.PrintStream;
+import java.nio.file.Path;
 
 public class CrabCups {
 
@@ -39,20 +25,57 @@ public class CrabCups {
   public static final int MOVES_IN_GAME_1 = 100;
   public static final int MOVES_IN_GAME_2 = 10_000_000;
 
+  public static final long DEFAULT_CHECKPOINT_INTERVAL = 100_000_000;
+
   private static final String INITIAL_ARRANGEMENT = "389547612";
+  private static final String USAGE = "Usage: CrabCups [<cups> <moves> <path>]";
+  private static final String PROGRESS_FORMAT = "%,d of %,d moves (%,.0f moves/s)%n";
+  private static final long NANOS_PER_SECOND = 1_000_000_000;
 
-  public static void main(String[] args) {
-    CupCircle circle;
-    circle = new CupCircle(INITIAL_ARRANGEMENT);
+  // With arguments (cups, moves, path), plays a game too large for the heap in a mapped file,
+  // resuming from the file if it exists.
+  public static void main(String[] args) throws IOException {
+    if (args.length > 0) {
+      if (args.length != 3 || Long.parseLong(args[1]) < 0) {
+        System.err.println(USAGE);
+        System.exit(1);
+      }
+      int cups = Integer.parseInt(args[0]);
+      long moves = Long.parseLong(args[1]);
+      Path path = Path.of(args[2]);
+      System.out.println(playMapped(INITIAL_ARRANGEMENT, cups, moves, path,
+          DEFAULT_CHECKPOINT_INTERVAL, System.err));
+      return;
+    }
+    Circle circle;
+    circle = new ArrayCupCircle(INITIAL_ARRANGEMENT);
     for (int i = 0; i < MOVES_IN_GAME_1; i++) {
       circle.move();
     }
     System.out.println(circle.reportItems());
-    circle = new CupCircle(INITIAL_ARRANGEMENT, CUPS_IN_GAME_2);
+    circle = new ArrayCupCircle(INITIAL_ARRANGEMENT, CUPS_IN_GAME_2);
     for (int i = 0; i < MOVES_IN_GAME_2; i++) {
       circle.move();
     }
     System.out.println(circle.reportProduct(2));
   }
 
+  public static long playMapped(String preassigned, int cups, long moves, Path path,
+      long checkpointInterval, PrintStream progress) throws IOException {
+    if (moves < 0) {
+      throw new IllegalArgumentException(String.format("Invalid move count %d.", moves));
+    }
+    try (MappedCupCircle circle = MappedCupCircle.open(path, preassigned, cups)) {
+      while (circle.getMoves() < moves) {
+        long start = System.nanoTime();
+        long count = Math.min(checkpointInterval, moves - circle.getMoves());
+        circle.move(count);
+        circle.checkpoint();
+        double seconds = Math.max(System.nanoTime() - start, 1) / (double) NANOS_PER_SECOND;
+        progress.printf(PROGRESS_FORMAT, circle.getMoves(), moves, count / seconds);
+      }
+      return circle.reportProduct(2);
+    }
+  }
+
 }
@@ -20,7 +20,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
-public class CupCircle {
+public class CupCircle implements Circle {
 
   private static final int PICKUP_COUNT = 3;
 
@@ -58,6 +58,7 @@ public class CupCircle {
     }
   }
 
+  @Override
   public void move() {
     Cup pickUpHead = current.getNext();
     Cup pickUpTail = current;
@@ -76,6 +77,7 @@ public class CupCircle {
     insertPoint.setNext(pickUpHead);
   }
 
+  @Override
   public String reportItems() {
     StringBuilder builder = new StringBuilder();
     Cup item = minimum.getNext();
@@ -86,6 +88,7 @@ public class CupCircle {
     return builder.toString();
   }
 
+  @Override
   public long reportProduct(int count) {
     long product = 1;
     Cup item = minimum.getNext();
@@ -0,0 +1,277 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day23;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class MappedCupCircle implements Circle, AutoCloseable {
+
+  private static final long MAGIC = 0x4352_4142_4355_5031L;
+  private static final int MINIMUM = 1;
+  private static final int HEADER_SIZE = 4096;
+  private static final int MAGIC_OFFSET = 0;
+  private static final int SIZE_OFFSET = 8;
+  private static final int COMMIT_OFFSET = 16;
+  private static final int STATE_OFFSET = 24;
+  private static final int STATE_SIZE = 16;
+  private static final int JOURNAL_CAPACITY = 1 << 20;
+  private static final int JOURNAL_ENTRY_SIZE = 32;
+  private static final int JOURNAL_SIZE = JOURNAL_CAPACITY * JOURNAL_ENTRY_SIZE;
+  private static final int SLOT_WIDTH = Integer.BYTES;
+  private static final int SEGMENT_SHIFT = 28;
+  private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer header;
+  private final MappedByteBuffer journal;
+  private final MappedByteBuffer[] segments;
+  private final int maximum;
+
+  private long commit;
+  private long moves;
+  private int current;
+  private int journalSize;
+
+  private MappedCupCircle(FileChannel channel, int size) throws IOException {
+    this.channel = channel;
+    maximum = size;
+    header = map(channel, 0, HEADER_SIZE);
+    journal = map(channel, HEADER_SIZE, JOURNAL_SIZE);
+    long slots = size + 1L;
+    int segmentCount = (int) ((slots + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+    segments = new MappedByteBuffer[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      long first = (long) i << SEGMENT_SHIFT;
+      long count = Math.min(slots - first, 1L << SEGMENT_SHIFT);
+      segments[i] =
+          map(channel, HEADER_SIZE + JOURNAL_SIZE + first * SLOT_WIDTH, count * SLOT_WIDTH);
+    }
+  }
+
+  public static MappedCupCircle create(Path path, String preassigned, int size)
+      throws IOException {
+    if (size < 5 || size == Integer.MAX_VALUE) {
+      throw new IllegalArgumentException();
+    }
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      MappedCupCircle circle = new MappedCupCircle(channel, size);
+      circle.start(preassigned);
+      return circle;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      Files.deleteIfExists(path);
+      throw e;
+    }
+  }
+
+  public static MappedCupCircle resume(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    try {
+      MappedByteBuffer header = map(channel, 0, HEADER_SIZE);
+      if (header.getLong(MAGIC_OFFSET) != MAGIC) {
+        throw new IOException(String.format("%s is not a complete cup circle file.", path));
+      }
+      MappedCupCircle circle = new MappedCupCircle(channel, header.getInt(SIZE_OFFSET));
+      circle.restore();
+      return circle;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  public static MappedCupCircle open(Path path, String preassigned, int size)
+      throws IOException {
+    if (Files.exists(path)) {
+      MappedCupCircle circle = resume(path);
+      if (circle.maximum != size) {
+        circle.close();
+        throw new IllegalArgumentException(
+            String.format("%s holds a circle of %d cups.", path, circle.maximum));
+      }
+      return circle;
+    }
+    return create(path, preassigned, size);
+  }
+
+  public int getSize() {
+    return maximum;
+  }
+
+  public long getMoves() {
+    return moves;
+  }
+
+  // Between checkpoints, the move count and current cup are kept only in fields, while the links
+  // are updated in place; each move first saves the three links it changes to the journal, so that
+  // a process stopped at any point can undo its moves since the last checkpoint on resume.
+  @Override
+  public void move() {
+    int pickUpHead = get(current);
+    int pickUpMiddle = get(pickUpHead);
+    int pickUpTail = get(pickUpMiddle);
+    int insertPoint = current;
+    do {
+      insertPoint = (insertPoint == MINIMUM) ? maximum : insertPoint - 1;
+    } while (
+        insertPoint == pickUpHead || insertPoint == pickUpMiddle || insertPoint == pickUpTail);
+    int following = get(pickUpTail);
+    int insertFollowing = get(insertPoint);
+    if (journalSize == JOURNAL_CAPACITY) {
+      checkpoint();
+    }
+    int entry = journalSize++ * JOURNAL_ENTRY_SIZE;
+    journal.putInt(entry + 8, current);
+    journal.putInt(entry + 12, pickUpHead);
+    journal.putInt(entry + 16, pickUpTail);
+    journal.putInt(entry + 20, following);
+    journal.putInt(entry + 24, insertPoint);
+    journal.putInt(entry + 28, insertFollowing);
+    VarHandle.releaseFence();
+    journal.putLong(entry, commit);
+    VarHandle.releaseFence();
+    set(current, following);
+    set(pickUpTail, insertFollowing);
+    set(insertPoint, pickUpHead);
+    current = following;
+    moves++;
+  }
+
+  public void move(long count) {
+    for (long i = 0; i < count; i++) {
+      move();
+    }
+  }
+
+  public void checkpoint() {
+    for (MappedByteBuffer segment : segments) {
+      segment.force();
+    }
+    commit();
+    header.force();
+  }
+
+  @Override
+  public String reportItems() {
+    StringBuilder builder = new StringBuilder();
+    for (int item = get(MINIMUM); item != MINIMUM; item = get(item)) {
+      builder.append(item);
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public long reportProduct(int count) {
+    long product = 1;
+    for (int item = get(MINIMUM); item != MINIMUM && count-- > 0; item = get(item)) {
+      product *= item;
+    }
+    return product;
+  }
+
+  @Override
+  public void close() throws IOException {
+    checkpoint();
+    channel.close();
+  }
+
+  private void start(String preassigned) {
+    char[] chars = preassigned.toCharArray();
+    boolean[] assigned = new boolean[Math.min(chars.length, maximum) + 1];
+    int first = 0;
+    int previous = 0;
+    for (int i = 0; i < maximum; i++) {
+      int value = (i >= chars.length) ? (i + 1) : chars[i] - '0';
+      if (value < MINIMUM || value > maximum
+          || (value < assigned.length ? assigned[value] : i < chars.length)) {
+        throw new IllegalArgumentException(
+            String.format("Cups must be labeled 1 through %d.", maximum));
+      }
+      if (value < assigned.length) {
+        assigned[value] = true;
+      }
+      if (previous == 0) {
+        first = value;
+      } else {
+        set(previous, value);
+      }
+      previous = value;
+    }
+    set(previous, first);
+    header.putInt(SIZE_OFFSET, maximum);
+    current = first;
+    checkpoint();
+    header.putLong(MAGIC_OFFSET, MAGIC);
+    header.force();
+  }
+
+  private void restore() {
+    commit = header.getLong(COMMIT_OFFSET);
+    int offset = STATE_OFFSET + (int) (commit & 1) * STATE_SIZE;
+    moves = header.getLong(offset);
+    current = header.getInt(offset + 8);
+    while (journalSize < JOURNAL_CAPACITY
+        && journal.getLong(journalSize * JOURNAL_ENTRY_SIZE) == commit) {
+      journalSize++;
+    }
+    // A cup may be relinked by several moves, so they are undone latest first.
+    for (int entry = (journalSize - 1) * JOURNAL_ENTRY_SIZE; entry >= 0;
+        entry -= JOURNAL_ENTRY_SIZE) {
+      for (int link = 8; link < JOURNAL_ENTRY_SIZE; link += 8) {
+        set(journal.getInt(entry + link), journal.getInt(entry + link + 4));
+      }
+    }
+  }
+
+  // The state is double-buffered: the inactive copy is written in full before the commit counter
+  // that selects it, so a stopped process always leaves one complete copy. Journal entries are
+  // tagged with the commit they roll back to, so committing discards them without clearing them.
+  private void commit() {
+    int offset = STATE_OFFSET + (int) ((commit + 1) & 1) * STATE_SIZE;
+    header.putLong(offset, moves);
+    header.putInt(offset + 8, current);
+    VarHandle.releaseFence();
+    header.putLong(COMMIT_OFFSET, ++commit);
+    journalSize = 0;
+  }
+
+  private int get(int label) {
+    return segments[label >>> SEGMENT_SHIFT].getInt((label & SEGMENT_MASK) * SLOT_WIDTH);
+  }
+
+  private void set(int label, int next) {
+    segments[label >>> SEGMENT_SHIFT].putInt((label & SEGMENT_MASK) * SLOT_WIDTH, next);
+  }
+
+  private static MappedByteBuffer map(FileChannel channel, long start, long size)
+      throws IOException {
+    MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, start, size);
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    return buffer;
+  }
+
+}
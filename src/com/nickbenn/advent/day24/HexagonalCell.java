@@ -25,6 +25,10 @@ public class HexagonalCell implements Comparable<HexagonalCell> {
   private static final Comparator<HexagonalCell> COMPARATOR =
       Comparator.comparingInt(HexagonalCell::getY).thenComparingInt(HexagonalCell::getX);
 
+  // 31 * x + y gives (x, y) and (x + 1, y - 31) the same hash; mixing both coordinates as one long
+  // spreads neighboring tiles across the table.
+  private static final long HASH_MULTIPLIER = 0x9e37_79b9_7f4a_7c15L;
+
   private final int x;
   private final int y;
   private final int hash;
@@ -32,7 +36,7 @@ public class HexagonalCell implements Comparable<HexagonalCell> {
   public HexagonalCell(int x, int y) {
     this.x = x;
     this.y = y;
-    hash = 31 * x + y;
+    hash = Long.hashCode(((long) x << Integer.SIZE | (y & 0xffff_ffffL)) * HASH_MULTIPLIER);
   }
 
   @Override
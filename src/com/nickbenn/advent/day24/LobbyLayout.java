@@ -15,7 +15,15 @@
  */
 package com.nickbenn.advent.day24;
 
+import com.nickbenn.advent.ca.AdaptiveHexAutomaton;
+import com.nickbenn.advent.ca.Automaton;
+import com.nickbenn.advent.ca.DenseHexAutomaton;
+import com.nickbenn.advent.ca.HashlifeAutomaton;
+import com.nickbenn.advent.ca.HexTopology;
+import com.nickbenn.advent.ca.Rule;
+import com.nickbenn.advent.ca.SparseAutomaton;
 import com.nickbenn.advent.util.Defaults;
+import com.nickbenn.advent.util.LongHashSet;
 import com.nickbenn.advent.util.Parser;
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -25,6 +33,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -36,14 +45,18 @@ public class LobbyLayout {
 
   private static final Pattern NEXT_DIRECTION = Pattern.compile("E|SE|SW|W|NW|NE");
   private static final String POPULATION_REPORT_FORMAT = "Generation %d: Population = %d.%n";
+  private static final HexTopology TOPOLOGY = new HexTopology();
+  private static final Rule RULE = Rule.parse("B2/S12");
 
   private final List<List<HexagonalDirection>> tileChanges;
 
   public LobbyLayout(String filename) throws URISyntaxException, IOException {
+    this(new Parser.Builder(LobbyLayout.class.getResource(filename).toURI()).build());
+  }
+
+  public LobbyLayout(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineStream();
+        Stream<String> stream = parser.lineStream();
     ) {
       tileChanges = stream
           .map(String::toUpperCase)
@@ -60,13 +73,14 @@ public class LobbyLayout {
   }
 
   public static void main(String[] args) throws IOException, URISyntaxException {
-    LobbyLayout layout = new LobbyLayout(Defaults.FILENAME);
-    Set<HexagonalCell> population = layout.getInitialConfiguration();
+    LongHashSet population = scanPackedConfiguration(
+        new Parser.Builder(LobbyLayout.class.getResource(Defaults.FILENAME).toURI())
+            .setMapped(true)
+            .setParallel(true)
+            .build());
     System.out.printf(POPULATION_REPORT_FORMAT, 0, population.size());
-    for (int i = 0; i < NUM_GENERATIONS; i++) {
-      population = layout.iterate(population);
-    }
-    System.out.printf(POPULATION_REPORT_FORMAT, NUM_GENERATIONS, population.size());
+    System.out.printf(POPULATION_REPORT_FORMAT, NUM_GENERATIONS,
+        countPopulationAdaptive(population, NUM_GENERATIONS));
   }
 
   public Set<HexagonalCell> getInitialConfiguration() {
@@ -88,6 +102,76 @@ public class LobbyLayout {
     return flips;
   }
 
+  // Tiles are packed by HexTopology, as (q, r) = (x, y).
+  public LongHashSet getPackedConfiguration() {
+    LongHashSet flips = new LongHashSet(tileChanges.size());
+    for (List<HexagonalDirection> directions : tileChanges) {
+      int x = 0;
+      int y = 0;
+      for (HexagonalDirection direction : directions) {
+        x += direction.getX();
+        y += direction.getY();
+      }
+      flips.toggle(TOPOLOGY.pack(x, y));
+    }
+    return flips;
+  }
+
+  // Folds each line's directions into a position as the bytes go by, with no intermediate lists or
+  // pattern matching; chunks of a parallel parser are scanned separately, and merged by XOR.
+  public static LongHashSet scanPackedConfiguration(Parser parser) throws IOException {
+    return parser.scanChunks(() -> new TileScanner(TOPOLOGY), TileScanner::merge).getFlips();
+  }
+
+  public static long pack(HexagonalCell cell) {
+    return TOPOLOGY.pack(cell.getX(), cell.getY());
+  }
+
+  public static HexagonalCell unpack(long cell) {
+    return new HexagonalCell(TOPOLOGY.q(cell), TOPOLOGY.r(cell));
+  }
+
+  public static LongHashSet iterate(LongHashSet previousGeneration) {
+    Automaton automaton = new SparseAutomaton(TOPOLOGY, RULE, previousGeneration);
+    automaton.step();
+    LongHashSet nextGeneration = new LongHashSet(automaton.getPopulation());
+    automaton.forEachAlive(nextGeneration::add);
+    return nextGeneration;
+  }
+
+  public static int countPopulation(LongHashSet initial, int generations) {
+    return countPopulation(initial, generations, null);
+  }
+
+  public static int countPopulation(LongHashSet initial, int generations, ForkJoinPool pool) {
+    return run(new SparseAutomaton(TOPOLOGY, RULE, initial, pool), generations);
+  }
+
+  // Holds the floor as a byte grid, however sparse it is.
+  public static int countPopulationDense(LongHashSet initial, int generations) {
+    return run(new DenseHexAutomaton(TOPOLOGY, RULE, initial), generations);
+  }
+
+  // Switches between the sparse and dense engines as the density of black tiles changes.
+  public static int countPopulationAdaptive(LongHashSet initial, int generations) {
+    return run(new AdaptiveHexAutomaton(TOPOLOGY, RULE, initial), generations);
+  }
+
+  // Jumps ahead with Hashlife, so generations can run to the millions for regular patterns.
+  public static long countPopulationHashlife(LongHashSet initial, long generations) {
+    HashlifeAutomaton automaton =
+        new HashlifeAutomaton(TOPOLOGY.getDirections(), RULE, initial);
+    automaton.advance(generations);
+    return automaton.getLongPopulation();
+  }
+
+  private static int run(Automaton automaton, int generations) {
+    for (int i = 0; i < generations; i++) {
+      automaton.step();
+    }
+    return automaton.getPopulation();
+  }
+
   public Set<HexagonalCell> iterate(Set<HexagonalCell> previousGeneration) {
     Set<HexagonalCell> nextGeneration = new HashSet<>();
     Map<HexagonalCell, Integer> boundary = new HashMap<>();
@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day24;
+
+import com.nickbenn.advent.ca.HexTopology;
+import com.nickbenn.advent.util.LongHashSet;
+import com.nickbenn.advent.util.Parser.ChunkScanner;
+import java.nio.ByteBuffer;
+
+// Folds each line of direction tokens straight into the (x, y) of the tile it ends on, and
+// toggles that tile in a set of flipped tiles, without building lists or running a regex. State is
+// carried across chunks, so a line may be split between them. As with the line-by-line parse,
+// characters that form no direction are skipped, and a line without directions flips the origin.
+final class TileScanner implements ChunkScanner {
+
+  private final HexTopology topology;
+  private final LongHashSet flips = new LongHashSet();
+
+  private int x;
+  private int y;
+  private int rowStep;
+  private boolean inLine;
+
+  TileScanner(HexTopology topology) {
+    this.topology = topology;
+  }
+
+  @Override
+  public void scan(ByteBuffer chunk, boolean last) {
+    for (int i = chunk.position(), limit = chunk.limit(); i < limit; i++) {
+      byte b = chunk.get(i);
+      if (b == '\n') {
+        endLine();
+        continue;
+      }
+      inLine = true;
+      switch (b) {
+        case 'e':
+        case 'E':
+          x += (rowStep > 0) ? 0 : 1;
+          y += rowStep;
+          rowStep = 0;
+          break;
+        case 'w':
+        case 'W':
+          x += (rowStep < 0) ? 0 : -1;
+          y += rowStep;
+          rowStep = 0;
+          break;
+        case 'n':
+        case 'N':
+          rowStep = -1;
+          break;
+        case 's':
+        case 'S':
+          rowStep = 1;
+          break;
+        default:
+          rowStep = 0;
+          break;
+      }
+    }
+    chunk.position(chunk.limit());
+    if (last && inLine) {
+      endLine();
+    }
+  }
+
+  LongHashSet getFlips() {
+    return flips;
+  }
+
+  // Flipping a tile twice restores it, so merging the flips of two parts of the input is their
+  // symmetric difference; the smaller set is toggled into the larger.
+  TileScanner merge(TileScanner other) {
+    TileScanner larger = (flips.size() >= other.flips.size()) ? this : other;
+    TileScanner smaller = (larger == this) ? other : this;
+    smaller.flips.forEach(larger.flips::toggle);
+    return larger;
+  }
+
+  private void endLine() {
+    flips.toggle(topology.pack(x, y));
+    x = 0;
+    y = 0;
+    rowStep = 0;
+    inLine = false;
+  }
+
+}
@@ -24,10 +24,12 @@ import java.util.stream.Stream;
 public class Main {
 
   public Main(String filename) throws URISyntaxException, IOException {
+    this(new Parser.Builder(Main.class.getResource(filename).toURI()).build());
+  }
+
+  public Main(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineStream();
+        Stream<String> stream = parser.lineStream();
     ) {
     }
   }
@@ -16,7 +16,7 @@
 package com.nickbenn.advent.day3;
 
 import com.nickbenn.advent.util.Defaults;
-import com.nickbenn.advent.util.Parser.Builder;
+import com.nickbenn.advent.util.Parser;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.stream.Stream;
@@ -37,10 +37,12 @@ public class TobogganTrajectory {
   private final char[][] terrain;
 
   public TobogganTrajectory(String filename) throws IOException, URISyntaxException {
+    this(new Parser.Builder(TobogganTrajectory.class.getResource(filename).toURI()).build());
+  }
+
+  public TobogganTrajectory(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineStream()
+        Stream<String> stream = parser.lineStream()
     ) {
       terrain = stream
           .map(String::toCharArray)
@@ -51,10 +51,12 @@ public class PassportProcessing {
   private final List<Map<String, String>> passports;
 
   public PassportProcessing(String filename) throws IOException, URISyntaxException {
+    this(new Parser.Builder(PassportProcessing.class.getResource(filename).toURI()).build());
+  }
+
+  public PassportProcessing(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineGroupStream()
+        Stream<String> stream = parser.lineGroupStream()
     ) {
       passports = stream
           .map((passport) -> ENTRY_DELIMITER.splitAsStream(passport)
@@ -28,10 +28,12 @@ public class BinaryBoarding {
   private final int[] ids;
 
   public BinaryBoarding(String filename) throws IOException, URISyntaxException {
+    this(new Parser.Builder(BinaryBoarding.class.getResource(filename).toURI()).build());
+  }
+
+  public BinaryBoarding(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineStream()
+        Stream<String> stream = parser.lineStream()
     ) {
       ids = stream
           .mapToInt(BinaryBoarding::getId)
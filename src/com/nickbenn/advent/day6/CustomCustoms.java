@@ -33,10 +33,12 @@ public class CustomCustoms {
   private final Collection<String> groups;
 
   public CustomCustoms(String filename) throws IOException, URISyntaxException {
+    this(new Parser.Builder(CustomCustoms.class.getResource(filename).toURI()).build());
+  }
+
+  public CustomCustoms(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineGroupStream()
+        Stream<String> stream = parser.lineGroupStream()
     ) {
       groups = stream
           .collect(Collectors.toList());
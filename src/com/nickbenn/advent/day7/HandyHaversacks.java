@@ -32,10 +32,12 @@ public class HandyHaversacks {
       .compile("(\\d+)\\s+(\\S+\\s+\\S+)(?=\\s+bags?)");
 
   public HandyHaversacks(String filename) throws IOException, URISyntaxException {
+    this(new Parser.Builder(HandyHaversacks.class.getResource(filename).toURI()).build());
+  }
+
+  public HandyHaversacks(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineStream()
+        Stream<String> stream = parser.lineStream()
     ) {
       stream
           .forEach((line) -> {
@@ -31,10 +31,12 @@ public class HandheldHalting {
   private final List<Instruction> instructions;
 
   public HandheldHalting(String filename) throws IOException, URISyntaxException {
+    this(new Parser.Builder(HandheldHalting.class.getResource(filename).toURI()).build());
+  }
+
+  public HandheldHalting(Parser parser) throws IOException {
     try (
-        Stream<String> stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .lineStream()
+        Stream<String> stream = parser.lineStream()
     ) {
       instructions = stream
           .map(Instruction::new)
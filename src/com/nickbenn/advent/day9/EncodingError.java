@@ -30,10 +30,12 @@ public class EncodingError {
   private final int window;
 
   public EncodingError(String filename, int window) throws URISyntaxException, IOException {
+    this(new Parser.Builder(EncodingError.class.getResource(filename).toURI()).build(), window);
+  }
+
+  public EncodingError(Parser parser, int window) throws IOException {
     try (
-        LongStream stream = new Parser.Builder(getClass().getResource(filename).toURI())
-            .build()
-            .longStream()
+        LongStream stream = parser.longStream()
     ) {
       this.window = window;
       sumPartners = new HashMap<>();
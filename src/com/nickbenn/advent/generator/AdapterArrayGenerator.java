@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class AdapterArrayGenerator extends Generator {
+
+  private static final int MAX_RUN_LENGTH = 4;
+
+  private final int size;
+
+  public AdapterArrayGenerator(int size, long seed) {
+    super(seed);
+    if (size < MAX_RUN_LENGTH + 2) {
+      throw new IllegalArgumentException();
+    }
+    this.size = size;
+  }
+
+  // Joltage differences are runs of 1s separated by single 3s, as in the puzzle input; longer
+  // runs of 1s would make the count of viable chains grow much faster.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    long[] adapters = new long[size];
+    long joltage = 0;
+    int run = 1 + rng.nextInt(MAX_RUN_LENGTH);
+    for (int i = 0; i < size; i++) {
+      if (run > 0) {
+        joltage += 1;
+        run--;
+      } else {
+        joltage += 3;
+        run = 1 + rng.nextInt(MAX_RUN_LENGTH);
+      }
+      adapters[i] = joltage;
+    }
+    for (int i = size - 1; i > 0; i--) {
+      int j = rng.nextInt(i + 1);
+      long swap = adapters[i];
+      adapters[i] = adapters[j];
+      adapters[j] = swap;
+    }
+    for (long adapter : adapters) {
+      writer.write(Long.toString(adapter));
+      writer.write('\n');
+    }
+  }
+
+}
@@ -0,0 +1,84 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class AllergenAssessmentGenerator extends Generator {
+
+  private static final List<String> ALLERGENS = List.of("dairy", "eggs", "fish", "nuts",
+      "peanuts", "sesame", "shellfish", "soy", "wheat");
+  private static final int INGREDIENTS = 200;
+  private static final int MIN_INGREDIENT_LENGTH = 4;
+  private static final int MAX_INGREDIENT_LENGTH = 8;
+  private static final int MAX_LISTED_ALLERGENS = 3;
+  private static final double UNLISTED_ALLERGEN_RATE = 0.2;
+  private static final int MIN_SAFE_INGREDIENTS = 10;
+  private static final int MAX_SAFE_INGREDIENTS = 40;
+
+  private final int size;
+
+  public AllergenAssessmentGenerator(int size, long seed) {
+    super(seed);
+    this.size = size;
+  }
+
+  // Each allergen is found in exactly one ingredient; a food always contains the ingredients for
+  // the allergens it lists, and may contain others whose allergens it doesn't list.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    Set<String> names = new LinkedHashSet<>();
+    while (names.size() < INGREDIENTS) {
+      names.add(Choices.word(rng, MIN_INGREDIENT_LENGTH, MAX_INGREDIENT_LENGTH));
+    }
+    List<String> ingredients = new ArrayList<>(names);
+    List<String> allergenic = ingredients.subList(0, ALLERGENS.size());
+    List<String> safe = ingredients.subList(ALLERGENS.size(), ingredients.size());
+    List<String> allergens = new ArrayList<>(ALLERGENS);
+    List<String> food = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      food.clear();
+      Collections.shuffle(allergens, rng);
+      int listed = 1 + rng.nextInt(MAX_LISTED_ALLERGENS);
+      for (int j = 0; j < allergens.size(); j++) {
+        if (j < listed || rng.nextDouble() < UNLISTED_ALLERGEN_RATE) {
+          food.add(allergenic.get(ALLERGENS.indexOf(allergens.get(j))));
+        }
+      }
+      int safeCount = MIN_SAFE_INGREDIENTS
+          + rng.nextInt(MAX_SAFE_INGREDIENTS - MIN_SAFE_INGREDIENTS + 1);
+      for (int j = 0; j < safeCount; j++) {
+        String ingredient = Choices.pick(safe, rng);
+        if (!food.contains(ingredient)) {
+          food.add(ingredient);
+        }
+      }
+      Collections.shuffle(food, rng);
+      writer.write(String.join(" ", food));
+      writer.write(" (contains ");
+      writer.write(String.join(", ", allergens.subList(0, listed)));
+      writer.write(")\n");
+    }
+  }
+
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class BinaryBoardingGenerator extends Generator {
+
+  private static final int COLUMN_BITS = 3;
+  private static final int MIN_ROW_BITS = 7;
+
+  private final int size;
+  private final int rowBits;
+
+  public BinaryBoardingGenerator(int size, long seed) {
+    super(seed);
+    if (size < 3) {
+      throw new IllegalArgumentException();
+    }
+    this.size = size;
+    int rowBits = MIN_ROW_BITS;
+    while (1L << (rowBits + COLUMN_BITS) < size + 2) {
+      rowBits++;
+    }
+    if (rowBits + COLUMN_BITS >= Integer.SIZE - 1) {
+      throw new IllegalArgumentException();
+    }
+    this.rowBits = rowBits;
+  }
+
+  // The occupied seats form a contiguous run of ids, with a single interior gap for the missing
+  // seat; boarding passes are written in random order.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    int capacity = 1 << (rowBits + COLUMN_BITS);
+    int first = rng.nextInt(capacity - size);
+    int missing = first + 1 + rng.nextInt(size - 2);
+    int[] ids = new int[size - 1];
+    for (int i = 0, id = first; i < ids.length; i++, id++) {
+      if (id == missing) {
+        id++;
+      }
+      ids[i] = id;
+    }
+    Choices.shuffle(ids, rng);
+    char[] pass = new char[rowBits + COLUMN_BITS];
+    for (int id : ids) {
+      for (int i = 0; i < pass.length; i++) {
+        boolean set = ((id >>> (pass.length - 1 - i)) & 1) != 0;
+        if (i < rowBits) {
+          pass[i] = set ? 'B' : 'F';
+        } else {
+          pass[i] = set ? 'R' : 'L';
+        }
+      }
+      writer.write(pass);
+      writer.write('\n');
+    }
+  }
+
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.util.List;
+import java.util.Random;
+
+final class Choices {
+
+  private Choices() {
+  }
+
+  static void shuffle(int[] values, Random rng) {
+    for (int i = values.length - 1; i > 0; i--) {
+      int j = rng.nextInt(i + 1);
+      int swap = values[i];
+      values[i] = values[j];
+      values[j] = swap;
+    }
+  }
+
+  static <T> T pick(List<T> items, Random rng) {
+    return items.get(rng.nextInt(items.size()));
+  }
+
+  static char letter(Random rng) {
+    return (char) ('a' + rng.nextInt(26));
+  }
+
+  static String word(Random rng, int minLength, int maxLength) {
+    int length = minLength + rng.nextInt(maxLength - minLength + 1);
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(letter(rng));
+    }
+    return builder.toString();
+  }
+
+}
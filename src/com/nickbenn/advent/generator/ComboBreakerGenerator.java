@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class ComboBreakerGenerator extends Generator {
+
+  public static final int SUBJECT_NUMBER = 7;
+  public static final int MODULUS = 20201227;
+
+  public ComboBreakerGenerator(long seed) {
+    super(seed);
+  }
+
+  // Writes the card's and door's public keys, each derived from a random secret loop size.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    for (int i = 0; i < 2; i++) {
+      writer.write(Long.toString(transform(SUBJECT_NUMBER, 1 + rng.nextInt(MODULUS - 2))));
+      writer.write('\n');
+    }
+  }
+
+  public static long transform(long subject, int loopSize) {
+    long result = 1;
+    long base = subject % MODULUS;
+    for (int exponent = loopSize; exponent > 0; exponent >>= 1) {
+      if ((exponent & 1) != 0) {
+        result = result * base % MODULUS;
+      }
+      base = base * base % MODULUS;
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,45 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class ConwayCubesGenerator extends Generator {
+
+  private static final double DENSITY = 0.5;
+
+  private final int size;
+
+  public ConwayCubesGenerator(int size, long seed) {
+    super(seed);
+    this.size = size;
+  }
+
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    char[] row = new char[size];
+    for (int i = 0; i < size; i++) {
+      for (int col = 0; col < size; col++) {
+        row[col] = (rng.nextDouble() < DENSITY) ? '#' : '.';
+      }
+      writer.write(row);
+      writer.write('\n');
+    }
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class CrabCombatGenerator extends Generator {
+
+  private final int cards;
+
+  public CrabCombatGenerator(int cards, long seed) {
+    super(seed);
+    if (cards < 1) {
+      throw new IllegalArgumentException();
+    }
+    this.cards = cards;
+  }
+
+  public Generator player1() {
+    return new Generator(getSeed()) {
+      @Override
+      protected void generate(Random rng, Writer writer) throws IOException {
+        writeHand(deal(rng), 0, writer);
+      }
+    };
+  }
+
+  public Generator player2() {
+    return new Generator(getSeed()) {
+      @Override
+      protected void generate(Random rng, Writer writer) throws IOException {
+        writeHand(deal(rng), cards, writer);
+      }
+    };
+  }
+
+  // Writes both hands as a single input, in the puzzle's format.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    int[] deck = deal(rng);
+    writer.write("Player 1:\n");
+    writeHand(deck, 0, writer);
+    writer.write("\nPlayer 2:\n");
+    writeHand(deck, cards, writer);
+  }
+
+  private int[] deal(Random rng) {
+    int[] deck = new int[2 * cards];
+    for (int i = 0; i < deck.length; i++) {
+      deck[i] = i + 1;
+    }
+    Choices.shuffle(deck, rng);
+    return deck;
+  }
+
+  private void writeHand(int[] deck, int start, Writer writer) throws IOException {
+    for (int i = start; i < start + cards; i++) {
+      writer.write(Integer.toString(deck[i]));
+      writer.write('\n');
+    }
+  }
+
+}
@@ -0,0 +1,45 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class CrabCupsGenerator extends Generator {
+
+  private static final int LABELS = 9;
+
+  public CrabCupsGenerator(long seed) {
+    super(seed);
+  }
+
+  // The puzzle input is always an arrangement of the labels 1 through 9; larger games extend it
+  // with consecutive labels when the circle is built.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    int[] labels = new int[LABELS];
+    for (int i = 0; i < LABELS; i++) {
+      labels[i] = i + 1;
+    }
+    Choices.shuffle(labels, rng);
+    for (int label : labels) {
+      writer.write(Integer.toString(label));
+    }
+    writer.write('\n');
+  }
+
+}
@@ -0,0 +1,61 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class CustomCustomsGenerator extends Generator {
+
+  private static final int MAX_GROUP_SIZE = 5;
+  private static final int QUESTIONS = 26;
+
+  private final int size;
+
+  public CustomCustomsGenerator(int size, long seed) {
+    super(seed);
+    this.size = size;
+  }
+
+  // Each group shares a random core of answers, so that intersections aren't usually empty.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    StringBuilder person = new StringBuilder(QUESTIONS);
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        writer.write('\n');
+      }
+      int core = rng.nextInt(1 << QUESTIONS) & rng.nextInt(1 << QUESTIONS);
+      int people = 1 + rng.nextInt(MAX_GROUP_SIZE);
+      for (int j = 0; j < people; j++) {
+        int answers = core | (rng.nextInt(1 << QUESTIONS) & rng.nextInt(1 << QUESTIONS));
+        if (answers == 0) {
+          answers = 1 << rng.nextInt(QUESTIONS);
+        }
+        person.setLength(0);
+        for (int k = 0; k < QUESTIONS; k++) {
+          if ((answers & (1 << k)) != 0) {
+            person.append((char) ('a' + k));
+          }
+        }
+        writer.write(person.toString());
+        writer.write('\n');
+      }
+    }
+  }
+
+}
@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class DockingDataGenerator extends Generator {
+
+  private static final int MASK_WIDTH = 36;
+  private static final int MAX_FLOATING_BITS = 9;
+  private static final int MAX_WRITES_PER_MASK = 6;
+  private static final int ADDRESS_BOUND = 1 << 16;
+  private static final int VALUE_BOUND = 1 << 30;
+
+  private final int masks;
+
+  public DockingDataGenerator(int masks, long seed) {
+    super(seed);
+    this.masks = masks;
+  }
+
+  // Floating bits are limited, since each write in version 2 touches 2^floating addresses.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    char[] mask = new char[MASK_WIDTH];
+    for (int i = 0; i < masks; i++) {
+      for (int j = 0; j < MASK_WIDTH; j++) {
+        mask[j] = rng.nextBoolean() ? '1' : '0';
+      }
+      int floating = rng.nextInt(MAX_FLOATING_BITS + 1);
+      for (int j = 0; j < floating; j++) {
+        mask[rng.nextInt(MASK_WIDTH)] = 'X';
+      }
+      writer.write("mask = ");
+      writer.write(mask);
+      writer.write('\n');
+      int writes = 1 + rng.nextInt(MAX_WRITES_PER_MASK);
+      for (int j = 0; j < writes; j++) {
+        writer.write("mem[" + rng.nextInt(ADDRESS_BOUND) + "] = " + rng.nextInt(VALUE_BOUND));
+        writer.write('\n');
+      }
+    }
+  }
+
+}
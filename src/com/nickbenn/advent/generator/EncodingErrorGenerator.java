@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class EncodingErrorGenerator extends Generator {
+
+  private static final long BOUND = 1L << 40;
+  private static final int MAX_PREAMBLE_VALUE = 1000;
+  private static final int MAX_RUN_LENGTH = 18;
+
+  private final int size;
+  private final int window;
+
+  public EncodingErrorGenerator(int size, int window, long seed) {
+    super(seed);
+    if (window < 4 || size < 2 * window + 2) {
+      throw new IllegalArgumentException();
+    }
+    this.size = size;
+    this.window = window;
+  }
+
+  // Each value after the preamble is the sum of two values in the preceding window. To keep
+  // values bounded, every (window / 2)th value is a zero (itself the sum of two earlier zeros),
+  // so that a too-large sum can be replaced by a copy of one of its terms. The final value is the
+  // sum of a contiguous run, chosen so that it isn't a pair sum anywhere near its own window;
+  // EncodingError also pairs values with those that follow them, so the last zero comes a full
+  // window before the final value.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    long[] values = new long[size];
+    int zeroSpacing = window / 2;
+    int lastZero = size - 1 - window;
+    for (int i = 0; i < size - 1; i++) {
+      if ((i % zeroSpacing == 0 && i < lastZero) || i == lastZero) {
+        values[i] = 0;
+      } else if (i < window) {
+        values[i] = 1 + rng.nextInt(MAX_PREAMBLE_VALUE);
+      } else {
+        do {
+          int first = i - window + rng.nextInt(window);
+          int second = i - window + rng.nextInt(window - 1);
+          if (second >= first) {
+            second++;
+          }
+          long sum = values[first] + values[second];
+          values[i] = (sum <= BOUND) ? sum : values[second];
+        } while (i > lastZero && values[i] == 0);
+      }
+      writer.write(Long.toString(values[i]));
+      writer.write('\n');
+    }
+    long invalid;
+    do {
+      int length = 2 + rng.nextInt(Math.min(MAX_RUN_LENGTH, size - 1) - 1);
+      int start = rng.nextInt(size - length);
+      invalid = 0;
+      for (int i = start; i < start + length; i++) {
+        invalid += values[i];
+      }
+    } while (invalid == 0 || isPairSum(values, size - 1, invalid));
+    writer.write(Long.toString(invalid));
+    writer.write('\n');
+  }
+
+  private boolean isPairSum(long[] values, int position, long sum) {
+    for (int i = position - 2 * window; i < position; i++) {
+      for (int j = i + 1; j < position; j++) {
+        if (values[i] + values[j] == sum) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,129 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import com.nickbenn.advent.util.Source;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+public abstract class Generator implements Source {
+
+  private static final int PIPE_SIZE = 1 << 16;
+  private static final String COMPRESSED_SUFFIX = ".gz";
+
+  private final long seed;
+
+  protected Generator(long seed) {
+    this.seed = seed;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public void write(Writer writer) throws IOException {
+    generate(new Random(seed), writer);
+    writer.flush();
+  }
+
+  public void write(OutputStream output) throws IOException {
+    write(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.US_ASCII)));
+  }
+
+  public void write(Path path) throws IOException {
+    try (
+        OutputStream output = path.getFileName().toString().endsWith(COMPRESSED_SUFFIX)
+            ? new GZIPOutputStream(Files.newOutputStream(path))
+            : Files.newOutputStream(path)
+    ) {
+      write(output);
+    }
+  }
+
+  public byte[] toBytes() throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    write(output);
+    return output.toByteArray();
+  }
+
+  // Streams the input as it's generated, so that it never has to be held in memory or on disk.
+  @Override
+  public InputStream openStream() throws IOException {
+    PipedInputStream input = new PipedInputStream(PIPE_SIZE);
+    PipedOutputStream output = new PipedOutputStream(input);
+    GeneratedStream stream = new GeneratedStream(input);
+    Thread writer = new Thread(() -> {
+      try {
+        write(output);
+      } catch (IOException | RuntimeException e) {
+        stream.failure = e;
+      } finally {
+        try {
+          output.close();
+        } catch (IOException e) {
+          // The reader has already gone away.
+        }
+      }
+    }, getClass().getSimpleName());
+    writer.setDaemon(true);
+    writer.start();
+    return stream;
+  }
+
+  protected abstract void generate(Random rng, Writer writer) throws IOException;
+
+  private static class GeneratedStream extends FilterInputStream {
+
+    private volatile Exception failure;
+
+    private GeneratedStream(InputStream input) {
+      super(input);
+    }
+
+    @Override
+    public int read() throws IOException {
+      return check(super.read());
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      return check(super.read(bytes, offset, length));
+    }
+
+    // A failed generator still closes its end of the pipe; that must not look like a clean end.
+    private int check(int result) throws IOException {
+      if (result < 0 && failure != null) {
+        throw new IOException(failure);
+      }
+      return result;
+    }
+
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+public final class Generators {
+
+  public static final long DEFAULT_SEED = 2020;
+
+  private static final int XMAS_WINDOW = 25;
+  private static final int STARTING_VALUES = 6;
+  private static final String USAGE = "Usage: Generators <day> <size> [<seed> [<output path>]]";
+
+  private static final Map<Integer, Factory> FACTORIES = Map.ofEntries(
+      Map.entry(1, ReportRepairGenerator::new),
+      Map.entry(2, PasswordPhilosophyGenerator::new),
+      Map.entry(3, TobogganTrajectoryGenerator::new),
+      Map.entry(4, PassportProcessingGenerator::new),
+      Map.entry(5, BinaryBoardingGenerator::new),
+      Map.entry(6, CustomCustomsGenerator::new),
+      Map.entry(7, HandyHaversacksGenerator::new),
+      Map.entry(8, HandheldHaltingGenerator::new),
+      Map.entry(9, (size, seed) -> new EncodingErrorGenerator(size, XMAS_WINDOW, seed)),
+      Map.entry(10, AdapterArrayGenerator::new),
+      Map.entry(11, SeatingSystemGenerator::new),
+      Map.entry(12, RainRiskGenerator::new),
+      Map.entry(13, ShuttleSearchGenerator::new),
+      Map.entry(14, DockingDataGenerator::new),
+      Map.entry(15,
+          (size, seed) -> new RambunctiousRecitationGenerator(size, STARTING_VALUES, seed)),
+      Map.entry(16, TicketTranslationGenerator::new),
+      Map.entry(17, ConwayCubesGenerator::new),
+      Map.entry(18, OperationOrderGenerator::new),
+      Map.entry(19, (size, seed) -> new MonsterMessagesGenerator(size, true, seed)),
+      Map.entry(20, JurassicJigsawGenerator::new),
+      Map.entry(21, AllergenAssessmentGenerator::new),
+      Map.entry(22, CrabCombatGenerator::new),
+      Map.entry(23, (size, seed) -> new CrabCupsGenerator(seed)),
+      Map.entry(24, LobbyLayoutGenerator::new),
+      Map.entry(25, (size, seed) -> new ComboBreakerGenerator(seed))
+  );
+
+  private Generators() {
+  }
+
+  public static Generator forDay(int day, int size, long seed) {
+    Factory factory = FACTORIES.get(day);
+    if (factory == null) {
+      throw new IllegalArgumentException(String.format("No generator for day %d.", day));
+    }
+    return factory.create(size, seed);
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2 || args.length > 4) {
+      System.err.println(USAGE);
+      System.exit(1);
+    }
+    Generator generator = forDay(
+        Integer.parseInt(args[0]),
+        Integer.parseInt(args[1]),
+        (args.length > 2) ? Long.parseLong(args[2]) : DEFAULT_SEED
+    );
+    if (args.length > 3) {
+      generator.write(Path.of(args[3]));
+    } else {
+      generator.write(System.out);
+    }
+  }
+
+  private interface Factory {
+
+    Generator create(int size, long seed);
+
+  }
+
+}
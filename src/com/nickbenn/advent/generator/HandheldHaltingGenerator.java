@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class HandheldHaltingGenerator extends Generator {
+
+  private static final double ACC_RATE = 0.4;
+  private static final double NOP_RATE = 0.3;
+  private static final int MAX_JUMP = 4;
+  private static final int MAX_OPERAND = 50;
+
+  private final int size;
+
+  public HandheldHaltingGenerator(int size, long seed) {
+    super(seed);
+    if (size < 1) {
+      throw new IllegalArgumentException();
+    }
+    this.size = size;
+  }
+
+  // Builds a program of forward jumps, which always terminates, and then turns the last
+  // instruction on its execution path into a backward jump, creating a loop that is broken by
+  // changing that one instruction back into a nop.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    String[] opcodes = new String[size];
+    int[] operands = new int[size];
+    for (int i = 0; i < size; i++) {
+      double choice = rng.nextDouble();
+      if (choice < ACC_RATE) {
+        opcodes[i] = "acc";
+        operands[i] = rng.nextInt(2 * MAX_OPERAND + 1) - MAX_OPERAND;
+      } else if (choice < ACC_RATE + NOP_RATE) {
+        opcodes[i] = "nop";
+        operands[i] = rng.nextInt(MAX_OPERAND + Math.min(i, MAX_OPERAND) + 1)
+            - Math.min(i, MAX_OPERAND);
+      } else {
+        opcodes[i] = "jmp";
+        operands[i] = 1 + rng.nextInt(MAX_JUMP);
+      }
+    }
+    int[] path = new int[size];
+    int length = 0;
+    for (int pointer = 0; pointer < size; ) {
+      path[length++] = pointer;
+      pointer += opcodes[pointer].equals("jmp") ? operands[pointer] : 1;
+    }
+    int last = path[length - 1];
+    opcodes[last] = "jmp";
+    operands[last] = path[rng.nextInt(length)] - last;
+    for (int i = 0; i < size; i++) {
+      writer.write(String.format("%s %+d\n", opcodes[i], operands[i]));
+    }
+  }
+
+}
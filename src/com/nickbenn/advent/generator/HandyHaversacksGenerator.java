@@ -0,0 +1,116 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Random;
+
+public class HandyHaversacksGenerator extends Generator {
+
+  public static final String SUBJECT_BAG_NAME = "shiny gold";
+
+  private static final List<String> ADJECTIVES = List.of("bright", "clear", "dark", "dim",
+      "dotted", "drab", "dull", "faded", "light", "mirrored", "muted", "pale", "plaid", "posh",
+      "shiny", "striped", "vibrant", "wavy");
+  private static final List<String> COLORS = List.of("aqua", "beige", "black", "blue", "bronze",
+      "brown", "chartreuse", "coral", "crimson", "cyan", "fuchsia", "gold", "gray", "green",
+      "indigo", "lavender", "lime", "magenta", "maroon", "olive", "orange", "plum", "purple", "red",
+      "salmon", "silver", "tan", "teal", "tomato", "turquoise", "violet", "white", "yellow");
+  private static final int LEVELS = 9;
+  private static final int MAX_COMPONENTS = 4;
+  private static final int MAX_QUANTITY = 3;
+
+  private final int size;
+
+  public HandyHaversacksGenerator(int size, long seed) {
+    super(seed);
+    if (size < LEVELS) {
+      throw new IllegalArgumentException();
+    }
+    this.size = size;
+  }
+
+  // Bags are arranged in layers, each containing only bags from deeper layers, so the rules never
+  // form a cycle; the subject bag sits in the middle layer, with containers above it and
+  // components below.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    int subject = levelStart(LEVELS / 2) + rng.nextInt(levelStart(LEVELS / 2 + 1)
+        - levelStart(LEVELS / 2));
+    int[] order = new int[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+    Choices.shuffle(order, rng);
+    int[] components = new int[MAX_COMPONENTS];
+    for (int bag : order) {
+      writer.write(name(bag, subject));
+      writer.write(" bags contain ");
+      int deeper = levelStart(level(bag) + 1);
+      int count = (deeper < size) ? rng.nextInt(MAX_COMPONENTS + 1) : 0;
+      int written = 0;
+      for (int i = 0; i < count; i++) {
+        int component = deeper + rng.nextInt(Math.min(size - deeper, 2 * (deeper - bag) + 1));
+        if (contains(components, written, component)) {
+          continue;
+        }
+        components[written] = component;
+        int quantity = 1 + rng.nextInt(MAX_QUANTITY);
+        writer.write((written++ > 0) ? ", " : "");
+        writer.write(Integer.toString(quantity));
+        writer.write(' ');
+        writer.write(name(component, subject));
+        writer.write((quantity == 1) ? " bag" : " bags");
+      }
+      writer.write((written == 0) ? "no other bags.\n" : ".\n");
+    }
+  }
+
+  private int level(int bag) {
+    return (int) ((long) bag * LEVELS / size);
+  }
+
+  private int levelStart(int level) {
+    return (int) (((long) level * size + LEVELS - 1) / LEVELS);
+  }
+
+  // The subject bag swaps names with whichever bag would otherwise have been called shiny gold.
+  private String name(int bag, int subject) {
+    int natural = ADJECTIVES.indexOf("shiny") + ADJECTIVES.size() * COLORS.indexOf("gold");
+    if (bag == subject) {
+      bag = natural;
+    } else if (bag == natural) {
+      bag = subject;
+    }
+    String adjective = ADJECTIVES.get(bag % ADJECTIVES.size());
+    bag /= ADJECTIVES.size();
+    String color = COLORS.get(bag % COLORS.size());
+    bag /= COLORS.size();
+    return (bag > 0) ? adjective + " " + color + bag : adjective + " " + color;
+  }
+
+  private static boolean contains(int[] values, int count, int value) {
+    for (int i = 0; i < count; i++) {
+      if (values[i] == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,183 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class JurassicJigsawGenerator extends Generator {
+
+  private static final int MIN_TILE_SIZE = 10;
+  private static final int FIRST_ID = 1000;
+  private static final int ORIENTATIONS = 8;
+  private static final double DENSITY = 0.3;
+  private static final int TILES_PER_SEA_MONSTER = 4;
+  private static final int[][] SEA_MONSTER = {
+      {18},
+      {0, 5, 6, 11, 12, 17, 18, 19},
+      {1, 4, 7, 10, 13, 16}
+  };
+  private static final int SEA_MONSTER_WIDTH = 20;
+
+  private final int side;
+  private final int size;
+
+  public JurassicJigsawGenerator(int side, long seed) {
+    super(seed);
+    if (side < 1) {
+      throw new IllegalArgumentException();
+    }
+    this.side = side;
+    int edgeCount = 2 * side * (side + 1);
+    int size = MIN_TILE_SIZE;
+    while ((1L << (size - 1)) < 2L * edgeCount) {
+      size++;
+    }
+    this.size = size;
+  }
+
+  // Tiles are cut from an assembled image, sparse enough that sea monsters almost never appear by
+  // chance, with sea monsters planted in it. Tile edges are unique, even when reversed, and never
+  // palindromic, so that each interior edge is shared by exactly two tiles and each border edge
+  // belongs to exactly one; the tiles are then randomly oriented and shuffled. Tile edges grow
+  // beyond the puzzle's 10 pixels as needed to keep them unique.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    int interior = size - 2;
+    boolean[][] image = new boolean[side * interior][side * interior];
+    for (boolean[] row : image) {
+      for (int col = 0; col < row.length; col++) {
+        row[col] = rng.nextDouble() < DENSITY;
+      }
+    }
+    if (image.length >= SEA_MONSTER_WIDTH) {
+      int monsters = Math.max(1, side * side / TILES_PER_SEA_MONSTER);
+      for (int i = 0; i < monsters; i++) {
+        int top = rng.nextInt(image.length - SEA_MONSTER.length + 1);
+        int left = rng.nextInt(image.length - SEA_MONSTER_WIDTH + 1);
+        for (int row = 0; row < SEA_MONSTER.length; row++) {
+          for (int col : SEA_MONSTER[row]) {
+            image[top + row][left + col] = true;
+          }
+        }
+      }
+    }
+    boolean[][] corners = new boolean[side + 1][side + 1];
+    for (boolean[] row : corners) {
+      for (int i = 0; i < row.length; i++) {
+        row[i] = rng.nextBoolean();
+      }
+    }
+    Set<Integer> used = new HashSet<>();
+    int[][] horizontal = new int[side + 1][side];
+    int[][] vertical = new int[side][side + 1];
+    for (int row = 0; row <= side; row++) {
+      for (int col = 0; col < side; col++) {
+        horizontal[row][col] = edge(corners[row][col], corners[row][col + 1], used, rng);
+      }
+    }
+    for (int row = 0; row < side; row++) {
+      for (int col = 0; col <= side; col++) {
+        vertical[row][col] = edge(corners[row][col], corners[row + 1][col], used, rng);
+      }
+    }
+    int[] ids = new int[2 * side * side];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = FIRST_ID + i;
+    }
+    Choices.shuffle(ids, rng);
+    int[] order = new int[side * side];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Choices.shuffle(order, rng);
+    boolean[][] data = new boolean[size][size];
+    for (int i = 0; i < order.length; i++) {
+      int row = order[i] / side;
+      int col = order[i] % side;
+      for (int r = 1; r < size - 1; r++) {
+        System.arraycopy(image[row * interior + r - 1], col * interior, data[r], 1, interior);
+      }
+      for (int j = 0; j < size; j++) {
+        data[0][j] = bit(horizontal[row][col], j);
+        data[size - 1][j] = bit(horizontal[row + 1][col], j);
+        data[j][0] = bit(vertical[row][col], j);
+        data[j][size - 1] = bit(vertical[row][col + 1], j);
+      }
+      if (i > 0) {
+        writer.write('\n');
+      }
+      write(ids[i], orient(data, rng.nextInt(ORIENTATIONS)), writer);
+    }
+  }
+
+  private int edge(boolean start, boolean end, Set<Integer> used, Random rng) {
+    while (true) {
+      int value = rng.nextInt(1 << size);
+      value = start ? (value | (1 << (size - 1))) : (value & ~(1 << (size - 1)));
+      value = end ? (value | 1) : (value & ~1);
+      int reversed = Integer.reverse(value) >>> (Integer.SIZE - size);
+      if (value != reversed && !used.contains(value) && !used.contains(reversed)) {
+        used.add(value);
+        used.add(reversed);
+        return value;
+      }
+    }
+  }
+
+  private boolean bit(int value, int index) {
+    return (value & (1 << (size - 1 - index))) != 0;
+  }
+
+  private static boolean[][] orient(boolean[][] data, int orientation) {
+    for (int i = 0; i < orientation % 4; i++) {
+      boolean[][] rotated = new boolean[data.length][data.length];
+      for (int row = 0; row < data.length; row++) {
+        for (int col = 0; col < data.length; col++) {
+          rotated[col][data.length - 1 - row] = data[row][col];
+        }
+      }
+      data = rotated;
+    }
+    if (orientation >= 4) {
+      boolean[][] flipped = new boolean[data.length][];
+      for (int row = 0; row < data.length; row++) {
+        flipped[row] = new boolean[data.length];
+        for (int col = 0; col < data.length; col++) {
+          flipped[row][data.length - 1 - col] = data[row][col];
+        }
+      }
+      data = flipped;
+    }
+    return data;
+  }
+
+  private static void write(int id, boolean[][] data, Writer writer) throws IOException {
+    writer.write("Tile " + id + ":\n");
+    char[] line = new char[data.length];
+    for (boolean[] row : data) {
+      for (int col = 0; col < row.length; col++) {
+        line[col] = row[col] ? '#' : '.';
+      }
+      writer.write(line);
+      writer.write('\n');
+    }
+  }
+
+}
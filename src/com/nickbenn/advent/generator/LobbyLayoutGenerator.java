@@ -0,0 +1,47 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Random;
+
+public class LobbyLayoutGenerator extends Generator {
+
+  private static final List<String> DIRECTIONS = List.of("e", "se", "sw", "w", "nw", "ne");
+  private static final int MIN_STEPS = 10;
+  private static final int MAX_STEPS = 20;
+
+  private final int size;
+
+  public LobbyLayoutGenerator(int size, long seed) {
+    super(seed);
+    this.size = size;
+  }
+
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    for (int i = 0; i < size; i++) {
+      int steps = MIN_STEPS + rng.nextInt(MAX_STEPS - MIN_STEPS + 1);
+      for (int j = 0; j < steps; j++) {
+        writer.write(Choices.pick(DIRECTIONS, rng));
+      }
+      writer.write('\n');
+    }
+  }
+
+}
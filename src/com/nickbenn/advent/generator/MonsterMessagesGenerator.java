@@ -0,0 +1,154 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class MonsterMessagesGenerator extends Generator {
+
+  private static final int DEPTH = 7;
+  private static final double BRANCHING_RATE = 0.6;
+  private static final int FIRST_GENERATED_RULE = 100;
+  private static final int MAX_REPETITIONS = 3;
+  private static final double CORRUPTION_RATE = 0.5;
+
+  private final int messages;
+  private final boolean looping;
+
+  public MonsterMessagesGenerator(int messages, boolean looping, long seed) {
+    super(seed);
+    this.messages = messages;
+    this.looping = looping;
+  }
+
+  public Generator rules() {
+    return new Generator(getSeed()) {
+      @Override
+      protected void generate(Random rng, Writer writer) throws IOException {
+        writeRules(defineRules(rng), writer);
+      }
+    };
+  }
+
+  public Generator messages() {
+    return new Generator(getSeed()) {
+      @Override
+      protected void generate(Random rng, Writer writer) throws IOException {
+        writeMessages(defineRules(rng), rng, writer);
+      }
+    };
+  }
+
+  // Writes the rules and messages as a single input, separated by a blank line.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    Map<Integer, List<int[]>> rules = defineRules(rng);
+    writeRules(rules, writer);
+    writer.write('\n');
+    writeMessages(rules, rng, writer);
+  }
+
+  private Map<Integer, List<int[]>> defineRules(Random rng) {
+    Map<Integer, List<int[]>> rules = new TreeMap<>();
+    int[] nextRule = {FIRST_GENERATED_RULE};
+    rules.put(0, List.of(new int[]{8, 11}));
+    rules.put(8, looping ? List.of(new int[]{42}, new int[]{42, 8}) : List.of(new int[]{42}));
+    rules.put(11, looping
+        ? List.of(new int[]{42, 31}, new int[]{42, 11, 31})
+        : List.of(new int[]{42, 31}));
+    rules.put(42, List.of(new int[]{1, defineRule(DEPTH, rules, nextRule, rng)}));
+    rules.put(31, List.of(new int[]{2, defineRule(DEPTH, rules, nextRule, rng)}));
+    return rules;
+  }
+
+  private void writeRules(Map<Integer, List<int[]>> rules, Writer writer) throws IOException {
+    writer.write("1: \"a\"\n2: \"b\"\n");
+    StringBuilder line = new StringBuilder();
+    for (Map.Entry<Integer, List<int[]>> entry : rules.entrySet()) {
+      line.setLength(0);
+      line.append(entry.getKey()).append(':');
+      List<int[]> branches = entry.getValue();
+      for (int i = 0; i < branches.size(); i++) {
+        line.append((i > 0) ? " |" : "");
+        for (int reference : branches.get(i)) {
+          line.append(' ').append(reference);
+        }
+      }
+      writer.write(line.append('\n').toString());
+    }
+  }
+
+  // Messages are built from rules 42 and 31 directly, as 42^(m + n) 31^n; half of them are then
+  // corrupted by flipping a single character.
+  private void writeMessages(Map<Integer, List<int[]>> rules, Random rng, Writer writer)
+      throws IOException {
+    StringBuilder message = new StringBuilder();
+    for (int i = 0; i < messages; i++) {
+      message.setLength(0);
+      int prefix = looping ? 1 + rng.nextInt(MAX_REPETITIONS) : 1;
+      int nested = looping ? 1 + rng.nextInt(MAX_REPETITIONS) : 1;
+      for (int j = 0; j < prefix + nested; j++) {
+        derive(42, rules, rng, message);
+      }
+      for (int j = 0; j < nested; j++) {
+        derive(31, rules, rng, message);
+      }
+      if (rng.nextDouble() < CORRUPTION_RATE) {
+        int position = rng.nextInt(message.length());
+        message.setCharAt(position, (message.charAt(position) == 'a') ? 'b' : 'a');
+      }
+      writer.write(message.append('\n').toString());
+    }
+  }
+
+  // Every rule branches on a leading literal, so the grammar is unambiguous, and rules 42 and 31
+  // match disjoint sets of strings of the same length, as in the puzzle input.
+  private static int defineRule(
+      int depth, Map<Integer, List<int[]>> rules, int[] nextRule, Random rng) {
+    if (depth == 1) {
+      return 1 + rng.nextInt(2);
+    }
+    int id = nextRule[0]++;
+    int omitted = (rng.nextDouble() < BRANCHING_RATE) ? 0 : 1 + rng.nextInt(2);
+    List<int[]> branches = new ArrayList<>();
+    for (int literal = 1; literal <= 2; literal++) {
+      if (literal != omitted) {
+        branches.add(new int[]{literal, defineRule(depth - 1, rules, nextRule, rng)});
+      }
+    }
+    rules.put(id, branches);
+    return id;
+  }
+
+  private static void derive(
+      int id, Map<Integer, List<int[]>> rules, Random rng, StringBuilder message) {
+    List<int[]> branches = rules.get(id);
+    if (branches == null) {
+      message.append((id == 1) ? 'a' : 'b');
+    } else {
+      for (int reference : branches.get(rng.nextInt(branches.size()))) {
+        derive(reference, rules, rng, message);
+      }
+    }
+  }
+
+}
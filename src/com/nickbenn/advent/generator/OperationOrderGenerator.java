@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class OperationOrderGenerator extends Generator {
+
+  private static final int MAX_DEPTH = 2;
+  private static final int MIN_OPERANDS = 2;
+  private static final int MAX_OPERANDS = 6;
+  private static final double NESTING_RATE = 0.25;
+  private static final double BOUND = 1e12;
+
+  private final int size;
+
+  public OperationOrderGenerator(int size, long seed) {
+    super(seed);
+    this.size = size;
+  }
+
+  // Whatever the precedence rules, an expression's value can't exceed the product of its digits,
+  // with each 1 counted as 2; expressions are regenerated until that bound is small enough that
+  // the sum of a very long homework sheet still fits in a long.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    StringBuilder expression = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      double bound;
+      do {
+        expression.setLength(0);
+        bound = expression(0, rng, expression);
+      } while (bound > BOUND);
+      writer.write(expression.toString());
+      writer.write('\n');
+    }
+  }
+
+  private static double expression(int depth, Random rng, StringBuilder expression) {
+    int operands = MIN_OPERANDS + rng.nextInt(MAX_OPERANDS - MIN_OPERANDS + 1);
+    double bound = 1;
+    for (int i = 0; i < operands; i++) {
+      if (i > 0) {
+        expression.append(rng.nextBoolean() ? " + " : " * ");
+      }
+      if (depth < MAX_DEPTH && rng.nextDouble() < NESTING_RATE) {
+        expression.append('(');
+        bound *= expression(depth + 1, rng, expression);
+        expression.append(')');
+      } else {
+        int digit = 1 + rng.nextInt(9);
+        expression.append(digit);
+        bound *= Math.max(digit, 2);
+      }
+    }
+    return bound;
+  }
+
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class PassportProcessingGenerator extends Generator {
+
+  private static final List<String> REQUIRED_FIELDS =
+      List.of("byr", "iyr", "eyr", "hgt", "hcl", "ecl", "pid");
+  private static final String OPTIONAL_FIELD = "cid";
+  private static final List<String> EYE_COLORS =
+      List.of("amb", "blu", "brn", "gry", "grn", "hzl", "oth");
+  private static final double VALID_RATE = 0.5;
+  private static final double MISSING_FIELD_RATE = 0.5;
+  private static final double OPTIONAL_FIELD_RATE = 0.5;
+  private static final double LINE_BREAK_RATE = 0.3;
+
+  private final int size;
+
+  public PassportProcessingGenerator(int size, long seed) {
+    super(seed);
+    this.size = size;
+  }
+
+  // Half of the passports are valid; the rest are missing a required field or have one invalid
+  // value.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    List<String> entries = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      entries.clear();
+      String missing = null;
+      String invalid = null;
+      if (rng.nextDouble() >= VALID_RATE) {
+        if (rng.nextDouble() < MISSING_FIELD_RATE) {
+          missing = Choices.pick(REQUIRED_FIELDS, rng);
+        } else {
+          invalid = Choices.pick(REQUIRED_FIELDS, rng);
+        }
+      }
+      for (String field : REQUIRED_FIELDS) {
+        if (!field.equals(missing)) {
+          entries.add(field + ":" + value(field, field.equals(invalid), rng));
+        }
+      }
+      if (rng.nextDouble() < OPTIONAL_FIELD_RATE) {
+        entries.add(OPTIONAL_FIELD + ":" + (100 + rng.nextInt(250)));
+      }
+      Collections.shuffle(entries, rng);
+      if (i > 0) {
+        writer.write('\n');
+      }
+      for (int j = 0; j < entries.size(); j++) {
+        if (j > 0) {
+          writer.write((rng.nextDouble() < LINE_BREAK_RATE) ? '\n' : ' ');
+        }
+        writer.write(entries.get(j));
+      }
+      writer.write('\n');
+    }
+  }
+
+  private static String value(String field, boolean invalid, Random rng) {
+    switch (field) {
+      case "byr":
+        return year(1920, 2002, invalid, rng);
+      case "iyr":
+        return year(2010, 2020, invalid, rng);
+      case "eyr":
+        return year(2020, 2030, invalid, rng);
+      case "hgt":
+        if (invalid) {
+          return (rng.nextBoolean() ? 194 + rng.nextInt(50) + "cm" : 150 + rng.nextInt(40) + "");
+        }
+        return rng.nextBoolean() ? (150 + rng.nextInt(44)) + "cm" : (59 + rng.nextInt(18)) + "in";
+      case "hcl":
+        return String.format(invalid ? "%06x" : "#%06x", rng.nextInt(1 << 24));
+      case "ecl":
+        return invalid ? "xyz" : Choices.pick(EYE_COLORS, rng);
+      case "pid":
+        return invalid
+            ? String.format("%010d", rng.nextInt(Integer.MAX_VALUE))
+            : String.format("%09d", rng.nextInt(1_000_000_000));
+      default:
+        throw new IllegalArgumentException(field);
+    }
+  }
+
+  private static String year(int minimum, int maximum, boolean invalid, Random rng) {
+    int year = minimum + rng.nextInt(maximum - minimum + 1);
+    if (invalid) {
+      year = rng.nextBoolean() ? minimum - 1 - rng.nextInt(50) : maximum + 1 + rng.nextInt(50);
+    }
+    return Integer.toString(year);
+  }
+
+}
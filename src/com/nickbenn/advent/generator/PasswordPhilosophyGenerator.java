@@ -0,0 +1,50 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class PasswordPhilosophyGenerator extends Generator {
+
+  private static final int MAX_MINIMUM = 5;
+  private static final int MAX_SPREAD = 10;
+  private static final int MAX_PASSWORD_LENGTH = 20;
+
+  private final int size;
+
+  public PasswordPhilosophyGenerator(int size, long seed) {
+    super(seed);
+    this.size = size;
+  }
+
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    for (int i = 0; i < size; i++) {
+      int minimum = 1 + rng.nextInt(MAX_MINIMUM);
+      int maximum = minimum + 1 + rng.nextInt(MAX_SPREAD);
+      char required = Choices.letter(rng);
+      int length = maximum + rng.nextInt(MAX_PASSWORD_LENGTH - maximum + 1);
+      StringBuilder password = new StringBuilder(length);
+      for (int j = 0; j < length; j++) {
+        password.append(rng.nextInt(3) == 0 ? required : Choices.letter(rng));
+      }
+      writer.write(String.format("%d-%d %c: %s\n", minimum, maximum, required, password));
+    }
+  }
+
+}
@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class RainRiskGenerator extends Generator {
+
+  private static final String TRANSLATIONS = "NSEW";
+  private static final String ROTATIONS = "LR";
+  private static final double FORWARD_RATE = 0.3;
+  private static final double ROTATION_RATE = 0.3;
+  private static final int MAX_MAGNITUDE = 100;
+
+  private final int size;
+
+  public RainRiskGenerator(int size, long seed) {
+    super(seed);
+    this.size = size;
+  }
+
+  // Turns are always multiples of 90 degrees, as the navigation rules require.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    for (int i = 0; i < size; i++) {
+      double choice = rng.nextDouble();
+      if (choice < FORWARD_RATE) {
+        writer.write('F');
+        writer.write(Integer.toString(1 + rng.nextInt(MAX_MAGNITUDE)));
+      } else if (choice < FORWARD_RATE + ROTATION_RATE) {
+        writer.write(ROTATIONS.charAt(rng.nextInt(ROTATIONS.length())));
+        writer.write(Integer.toString(90 * (1 + rng.nextInt(3))));
+      } else {
+        writer.write(TRANSLATIONS.charAt(rng.nextInt(TRANSLATIONS.length())));
+        writer.write(Integer.toString(1 + rng.nextInt(MAX_MAGNITUDE)));
+      }
+      writer.write('\n');
+    }
+  }
+
+}
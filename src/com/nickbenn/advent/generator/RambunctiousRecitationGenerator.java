@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class RambunctiousRecitationGenerator extends Generator {
+
+  private static final int MAX_STARTING_VALUE = 20;
+
+  private final int limit;
+  private final int startingValues;
+
+  public RambunctiousRecitationGenerator(int limit, int startingValues, long seed) {
+    super(seed);
+    if (startingValues < 1 || startingValues > MAX_STARTING_VALUE || limit < startingValues) {
+      throw new IllegalArgumentException();
+    }
+    this.limit = limit;
+    this.startingValues = startingValues;
+  }
+
+  // Writes a single game, as the limit followed by distinct starting values.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    writer.write(IntStream.concat(
+        IntStream.of(limit),
+        rng.ints(0, MAX_STARTING_VALUE).distinct().limit(startingValues)
+    )
+        .mapToObj(Integer::toString)
+        .collect(Collectors.joining(", ")));
+    writer.write('\n');
+  }
+
+}
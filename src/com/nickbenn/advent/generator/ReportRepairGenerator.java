@@ -0,0 +1,61 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class ReportRepairGenerator extends Generator {
+
+  private static final int SUM = 2020;
+  private static final int PLANTED = 5;
+
+  private final int size;
+
+  public ReportRepairGenerator(int size, long seed) {
+    super(seed);
+    if (size < PLANTED) {
+      throw new IllegalArgumentException();
+    }
+    this.size = size;
+  }
+
+  // A pair and a triple summing to 2020 are planted among random values larger than 2020, which
+  // can't take part in any such sum.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    int[] values = new int[size];
+    int pair = 1 + rng.nextInt(SUM - 1);
+    int first = 1 + rng.nextInt(SUM / 2);
+    int second = 1 + rng.nextInt(SUM - first - 1);
+    values[0] = pair;
+    values[1] = SUM - pair;
+    values[2] = first;
+    values[3] = second;
+    values[4] = SUM - first - second;
+    int bound = Math.max(SUM, 4 * size);
+    for (int i = PLANTED; i < size; i++) {
+      values[i] = SUM + 1 + rng.nextInt(bound);
+    }
+    Choices.shuffle(values, rng);
+    for (int value : values) {
+      writer.write(Integer.toString(value));
+      writer.write('\n');
+    }
+  }
+
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Random;
+
+public class SeatingSystemGenerator extends Generator {
+
+  private static final double FLOOR_DENSITY = 0.15;
+  private static final int REPAIR_RATE = 10;
+  private static final int MOORE_THRESHOLD = 4;
+  private static final int LINE_OF_SIGHT_THRESHOLD = 5;
+  private static final char FLOOR = '.';
+  private static final char UNOCCUPIED = 'L';
+  private static final char OCCUPIED = '#';
+  private static final int[][] DIRECTIONS =
+      {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+
+  private final int rows;
+  private final int columns;
+
+  public SeatingSystemGenerator(int size, long seed) {
+    this(size, size, seed);
+  }
+
+  public SeatingSystemGenerator(int rows, int columns, long seed) {
+    super(seed);
+    this.rows = rows;
+    this.columns = columns;
+  }
+
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    char[][] layout = new char[rows][columns];
+    for (char[] row : layout) {
+      for (int col = 0; col < columns; col++) {
+        row[col] = (rng.nextDouble() < FLOOR_DENSITY) ? FLOOR : UNOCCUPIED;
+      }
+    }
+    boolean repaired;
+    do {
+      repaired = stabilize(layout, false, rng);
+      repaired |= stabilize(layout, true, rng);
+    } while (repaired);
+    for (char[] row : layout) {
+      writer.write(row);
+      writer.write('\n');
+    }
+  }
+
+  // A random layout can settle into a period-2 oscillation instead of a stable state. Until the
+  // layout stabilizes, a fraction of the oscillating seats are replaced with floor.
+  private static boolean stabilize(char[][] layout, boolean lineOfSight, Random rng) {
+    boolean repaired = false;
+    while (true) {
+      char[][] previous = null;
+      char[][] current = layout;
+      char[][] next;
+      while (!Arrays.deepEquals(next = step(current, lineOfSight), current)
+          && (previous == null || !Arrays.deepEquals(next, previous))) {
+        previous = current;
+        current = next;
+      }
+      if (Arrays.deepEquals(next, current)) {
+        return repaired;
+      }
+      for (int row = 0; row < layout.length; row++) {
+        for (int col = 0; col < layout[row].length; col++) {
+          if (next[row][col] != current[row][col] && rng.nextInt(REPAIR_RATE) == 0) {
+            layout[row][col] = FLOOR;
+            repaired = true;
+          }
+        }
+      }
+    }
+  }
+
+  private static char[][] step(char[][] current, boolean lineOfSight) {
+    int threshold = lineOfSight ? LINE_OF_SIGHT_THRESHOLD : MOORE_THRESHOLD;
+    char[][] next = new char[current.length][];
+    for (int row = 0; row < current.length; row++) {
+      next[row] = new char[current[row].length];
+      for (int col = 0; col < current[row].length; col++) {
+        char state = current[row][col];
+        if (state == FLOOR) {
+          next[row][col] = FLOOR;
+          continue;
+        }
+        int count = 0;
+        for (int[] direction : DIRECTIONS) {
+          int r = row + direction[0];
+          int c = col + direction[1];
+          while (lineOfSight && r >= 0 && r < current.length && c >= 0 && c < current[r].length
+              && current[r][c] == FLOOR) {
+            r += direction[0];
+            c += direction[1];
+          }
+          if (r >= 0 && r < current.length && c >= 0 && c < current[r].length
+              && current[r][c] == OCCUPIED) {
+            count++;
+          }
+        }
+        if (state == UNOCCUPIED && count == 0) {
+          next[row][col] = OCCUPIED;
+        } else if (state == OCCUPIED && count >= threshold) {
+          next[row][col] = UNOCCUPIED;
+        } else {
+          next[row][col] = state;
+        }
+      }
+    }
+    return next;
+  }
+
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+public class ShuttleSearchGenerator extends Generator {
+
+  private static final int MIN_ROUTE_LENGTH = 11;
+  private static final int MAX_ROUTE_LENGTH = 1000;
+  private static final long MAX_CYCLE_LENGTH = 100_000_000_000_000L;
+  private static final int MIN_THRESHOLD = 100_000;
+  private static final int MAX_THRESHOLD = 10_000_000;
+  private static final double ROUTE_RATE = 0.2;
+
+  private final int size;
+
+  public ShuttleSearchGenerator(int size, long seed) {
+    super(seed);
+    if (size < 1) {
+      throw new IllegalArgumentException();
+    }
+    this.size = size;
+  }
+
+  // Route lengths are distinct primes, so a synchronized departure always exists; once their
+  // product would exceed 10^14, any remaining positions are left out of service.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    List<Integer> primes = new ArrayList<>();
+    IntStream.range(MIN_ROUTE_LENGTH, MAX_ROUTE_LENGTH)
+        .filter(ShuttleSearchGenerator::isPrime)
+        .forEach(primes::add);
+    writer.write(Integer.toString(MIN_THRESHOLD + rng.nextInt(MAX_THRESHOLD - MIN_THRESHOLD)));
+    writer.write('\n');
+    long cycleLength = 1;
+    for (int i = 0; i < size; i++) {
+      writer.write((i > 0) ? "," : "");
+      int route = (i == 0 || rng.nextDouble() < ROUTE_RATE)
+          ? primes.get(rng.nextInt(primes.size()))
+          : 0;
+      if (route > 0 && cycleLength <= MAX_CYCLE_LENGTH / route) {
+        primes.remove(Integer.valueOf(route));
+        cycleLength *= route;
+        writer.write(Integer.toString(route));
+      } else {
+        writer.write('x');
+      }
+    }
+    writer.write('\n');
+  }
+
+  private static boolean isPrime(int value) {
+    for (int divisor = 2; divisor * divisor <= value; divisor++) {
+      if (value % divisor == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Random;
+
+public class TicketTranslationGenerator extends Generator {
+
+  public static final int DEFAULT_FIELDS = 20;
+
+  private static final List<String> FIELD_NAMES = List.of("departure location",
+      "departure station", "departure platform", "departure track", "departure date",
+      "departure time", "arrival location", "arrival station", "arrival platform",
+      "arrival track", "class", "duration", "price", "route", "row", "seat", "train", "type",
+      "wagon", "zone");
+  private static final int MAX_STEP = 20;
+  private static final int MIN_GAP = 5;
+  private static final double INVALID_RATE = 0.25;
+  private static final double NEW_VALUE_RATE = 0.5;
+
+  private final int fields;
+  private final int tickets;
+
+  public TicketTranslationGenerator(int tickets, long seed) {
+    this(DEFAULT_FIELDS, tickets, seed);
+  }
+
+  public TicketTranslationGenerator(int fields, int tickets, long seed) {
+    super(seed);
+    if (fields < 1 || tickets < 1) {
+      throw new IllegalArgumentException();
+    }
+    this.fields = fields;
+    this.tickets = tickets;
+  }
+
+  // Field i accepts the values [lower[i], gapStart) and (gapEnd, upper[i]], and each field's
+  // ranges contain those of the field before it. A column holding field i always includes a value
+  // that's invalid for fields 0 through i - 1, so fields can be assigned to columns one at a time
+  // by elimination. Values in the gap are invalid for every field.
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    int[] lower = new int[fields];
+    int[] upper = new int[fields];
+    lower[fields - 1] = 1;
+    for (int i = fields - 2; i >= 0; i--) {
+      lower[i] = lower[i + 1] + 1 + rng.nextInt(MAX_STEP);
+    }
+    int gapStart = lower[0] + 1 + rng.nextInt(MAX_STEP);
+    int gapEnd = gapStart + MIN_GAP + rng.nextInt(MAX_STEP);
+    upper[0] = gapEnd + 1 + rng.nextInt(MAX_STEP);
+    for (int i = 1; i < fields; i++) {
+      upper[i] = upper[i - 1] + 1 + rng.nextInt(MAX_STEP);
+    }
+    int[] order = new int[fields];
+    int[] columns = new int[fields];
+    for (int i = 0; i < fields; i++) {
+      order[i] = i;
+      columns[i] = i;
+    }
+    Choices.shuffle(order, rng);
+    Choices.shuffle(columns, rng);
+    for (int field : order) {
+      writer.write(String.format("%s: %d-%d or %d-%d\n",
+          name(field), lower[field], gapStart - 1, gapEnd + 1, upper[field]));
+    }
+    writer.write("\nyour ticket:\n");
+    writeTicket(columns, lower, upper, gapStart, gapEnd, true, -1, rng, writer);
+    writer.write("\nnearby tickets:\n");
+    for (int i = 0; i < tickets; i++) {
+      int invalid = (i > 0 && rng.nextDouble() < INVALID_RATE) ? rng.nextInt(fields) : -1;
+      writeTicket(columns, lower, upper, gapStart, gapEnd, i == 0, invalid, rng, writer);
+    }
+  }
+
+  private void writeTicket(int[] columns, int[] lower, int[] upper, int gapStart, int gapEnd,
+      boolean distinguishing, int invalid, Random rng, Writer writer) throws IOException {
+    for (int column = 0; column < fields; column++) {
+      int field = columns[column];
+      int value;
+      if (column == invalid) {
+        value = rng.nextBoolean()
+            ? gapStart + rng.nextInt(gapEnd - gapStart + 1)
+            : upper[fields - 1] + 1 + rng.nextInt(MAX_STEP);
+      } else if (field > 0 && (distinguishing || rng.nextDouble() < NEW_VALUE_RATE)) {
+        value = rng.nextBoolean()
+            ? lower[field] + rng.nextInt(lower[field - 1] - lower[field])
+            : upper[field - 1] + 1 + rng.nextInt(upper[field] - upper[field - 1]);
+      } else {
+        value = rng.nextBoolean()
+            ? lower[field] + rng.nextInt(gapStart - lower[field])
+            : gapEnd + 1 + rng.nextInt(upper[field] - gapEnd);
+      }
+      writer.write((column > 0) ? "," : "");
+      writer.write(Integer.toString(value));
+    }
+    writer.write('\n');
+  }
+
+  private static String name(int field) {
+    return (field < FIELD_NAMES.size()) ? FIELD_NAMES.get(field) : "field " + field;
+  }
+
+}
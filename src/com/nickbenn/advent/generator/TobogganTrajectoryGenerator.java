@@ -0,0 +1,46 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class TobogganTrajectoryGenerator extends Generator {
+
+  private static final int WIDTH = 31;
+  private static final double TREE_DENSITY = 0.25;
+
+  private final int rows;
+
+  public TobogganTrajectoryGenerator(int rows, long seed) {
+    super(seed);
+    this.rows = rows;
+  }
+
+  @Override
+  protected void generate(Random rng, Writer writer) throws IOException {
+    char[] row = new char[WIDTH];
+    for (int i = 0; i < rows; i++) {
+      for (int col = 0; col < WIDTH; col++) {
+        row[col] = (rng.nextDouble() < TREE_DENSITY) ? '#' : '.';
+      }
+      writer.write(row);
+      writer.write('\n');
+    }
+  }
+
+}
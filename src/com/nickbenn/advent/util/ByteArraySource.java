@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+final class ByteArraySource implements Source {
+
+  private final byte[] bytes;
+
+  ByteArraySource(byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+  @Override
+  public InputStream openStream() throws IOException {
+    return Compression.decode(new ByteArrayInputStream(bytes));
+  }
+
+  // The bytes are only wrapped when the parser asks for the mapped path; otherwise they're read
+  // through the same reader as any other source.
+  @Override
+  public ByteBuffer[] buffers(boolean mappingRequested) throws IOException {
+    return (!mappingRequested || isCompressed())
+        ? null
+        : new ByteBuffer[]{ByteBuffer.wrap(bytes).asReadOnlyBuffer()};
+  }
+
+  private boolean isCompressed() {
+    return bytes.length >= 2 && Compression.isGzip(bytes[0] & 0xff, bytes[1] & 0xff);
+  }
+
+}
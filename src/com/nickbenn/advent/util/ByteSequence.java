@@ -0,0 +1,127 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public final class ByteSequence implements CharSequence {
+
+  private final ByteBuffer buffer;
+  private final int offset;
+  private final int length;
+
+  ByteSequence(ByteBuffer buffer, int offset, int length) {
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return (char) (buffer.get(offset + index) & 0xff);
+  }
+
+  public byte byteAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return buffer.get(offset + index);
+  }
+
+  @Override
+  public ByteSequence subSequence(int start, int end) {
+    if (start < 0 || end > length || start > end) {
+      throw new IndexOutOfBoundsException();
+    }
+    return new ByteSequence(buffer, offset + start, end - start);
+  }
+
+  public ByteSequence trim() {
+    int start = offset;
+    int end = offset + length;
+    while (start < end && (buffer.get(start) & 0xff) <= ' ') {
+      start++;
+    }
+    while (end > start && (buffer.get(end - 1) & 0xff) <= ' ') {
+      end--;
+    }
+    return (start == offset && end == offset + length)
+        ? this
+        : new ByteSequence(buffer, start, end - start);
+  }
+
+  public boolean isBlank() {
+    for (int i = offset; i < offset + length; i++) {
+      if ((buffer.get(i) & 0xff) > ' ') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public boolean isAscii() {
+    for (int i = offset; i < offset + length; i++) {
+      if (buffer.get(i) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public ByteBuffer asByteBuffer() {
+    return buffer.duplicate()
+        .position(offset)
+        .limit(offset + length)
+        .slice()
+        .asReadOnlyBuffer();
+  }
+
+  public int parseInt() {
+    return NumberScanner.parseInt(buffer, offset, offset + length);
+  }
+
+  public long parseLong() {
+    return NumberScanner.parseLong(buffer, offset, offset + length);
+  }
+
+  public double parseDouble() {
+    return NumberScanner.parseDouble(buffer, offset, offset + length);
+  }
+
+  public char[] toCharArray() {
+    return toString().toCharArray();
+  }
+
+  // Decodes the bytes as UTF-8, as a reader over the same source would; length and charAt, on the
+  // other hand, work byte by byte, and agree with the decoded string only for ASCII content, so
+  // Parser hands out a ByteSequence as a CharSequence only when isAscii holds.
+  @Override
+  public String toString() {
+    byte[] bytes = new byte[length];
+    buffer.duplicate().position(offset).get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+}
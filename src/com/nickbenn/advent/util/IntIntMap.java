@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.util.Arrays;
+
+public final class IntIntMap {
+
+  private static final int DEFAULT_EXPECTED_SIZE = 16;
+  private static final int MAX_CAPACITY = 1 << 30;
+  private static final int EMPTY_KEY = 0;
+
+  private final int missingValue;
+
+  private int[] keys;
+  private int[] values;
+  private int mask;
+  private int threshold;
+  private int size;
+  private boolean emptyKeyPresent;
+  private int emptyKeyValue;
+
+  public IntIntMap() {
+    this(DEFAULT_EXPECTED_SIZE, 0);
+  }
+
+  public IntIntMap(int expectedSize) {
+    this(expectedSize, 0);
+  }
+
+  public IntIntMap(int expectedSize, int missingValue) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException();
+    }
+    this.missingValue = missingValue;
+    allocate(capacityFor(expectedSize));
+  }
+
+  public int getMissingValue() {
+    return missingValue;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean containsKey(int key) {
+    if (key == EMPTY_KEY) {
+      return emptyKeyPresent;
+    }
+    for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+      int candidate = keys[index];
+      if (candidate == key) {
+        return true;
+      }
+      if (candidate == EMPTY_KEY) {
+        return false;
+      }
+    }
+  }
+
+  public int get(int key) {
+    if (key == EMPTY_KEY) {
+      return emptyKeyPresent ? emptyKeyValue : missingValue;
+    }
+    for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+      int candidate = keys[index];
+      if (candidate == key) {
+        return values[index];
+      }
+      if (candidate == EMPTY_KEY) {
+        return missingValue;
+      }
+    }
+  }
+
+  // Returns the value previously associated with key, or the missing value if there was none, so
+  // that a lookup and an update take a single probe sequence.
+  public int put(int key, int value) {
+    if (key == EMPTY_KEY) {
+      int previous = emptyKeyPresent ? emptyKeyValue : missingValue;
+      if (!emptyKeyPresent) {
+        emptyKeyPresent = true;
+        size++;
+      }
+      emptyKeyValue = value;
+      return previous;
+    }
+    for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+      int candidate = keys[index];
+      if (candidate == key) {
+        int previous = values[index];
+        values[index] = value;
+        return previous;
+      }
+      if (candidate == EMPTY_KEY) {
+        if (size >= threshold) {
+          // Grows (or fails, if already at the maximum) before anything is stored.
+          grow();
+          return put(key, value);
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        return missingValue;
+      }
+    }
+  }
+
+  public void clear() {
+    Arrays.fill(keys, EMPTY_KEY);
+    emptyKeyPresent = false;
+    size = 0;
+  }
+
+  private void grow() {
+    int capacity = keys.length;
+    if (capacity == MAX_CAPACITY) {
+      throw new IllegalStateException("Map is full.");
+    }
+    int[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(2 * capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      int key = oldKeys[i];
+      if (key != EMPTY_KEY) {
+        int index = hash(key) & mask;
+        while (keys[index] != EMPTY_KEY) {
+          index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+    // At the maximum capacity, one slot always stays empty, so that every probe ends.
+    threshold = (capacity < MAX_CAPACITY) ? capacity >>> 1 : capacity - 1;
+  }
+
+  private static int capacityFor(int expectedSize) {
+    long capacity = Long.highestOneBit(Math.max(2L * expectedSize, 2) - 1) << 1;
+    return (int) Math.min(capacity, MAX_CAPACITY);
+  }
+
+  // Fibonacci hashing spreads sequential keys, which are common here, across the whole table.
+  private static int hash(int key) {
+    int hash = key * 0x9e3779b9;
+    return hash ^ (hash >>> 16);
+  }
+
+}
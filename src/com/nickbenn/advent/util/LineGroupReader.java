@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class LineGroupReader extends Spliterators.AbstractSpliterator<String> {
+
+  private static final char LINE_SEPARATOR = '\n';
+
+  private final BufferedReader reader;
+  private final StringBuilder group = new StringBuilder();
+
+  private LineGroupReader(BufferedReader reader) {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+    this.reader = reader;
+  }
+
+  static Stream<String> groups(BufferedReader reader) {
+    return StreamSupport.stream(new LineGroupReader(reader), false)
+        .onClose(() -> {
+          try {
+            reader.close();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super String> action) {
+    try {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.isBlank()) {
+          if (group.length() > 0) {
+            group.append(LINE_SEPARATOR);
+          }
+          group.append(line);
+        } else if (group.length() > 0) {
+          break;
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (group.length() == 0) {
+      return false;
+    }
+    String next = group.toString();
+    group.setLength(0);
+    action.accept(next);
+    return true;
+  }
+
+}
@@ -0,0 +1,200 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+public final class LongHashSet {
+
+  private static final int DEFAULT_EXPECTED_SIZE = 16;
+  private static final int MAX_CAPACITY = 1 << 30;
+  private static final long EMPTY_KEY = 0;
+
+  private long[] keys;
+  private int mask;
+  private int threshold;
+  private int size;
+  private boolean emptyKeyPresent;
+
+  public LongHashSet() {
+    this(DEFAULT_EXPECTED_SIZE);
+  }
+
+  public LongHashSet(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException();
+    }
+    allocate(capacityFor(expectedSize));
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean contains(long key) {
+    if (key == EMPTY_KEY) {
+      return emptyKeyPresent;
+    }
+    for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+      long candidate = keys[index];
+      if (candidate == key) {
+        return true;
+      }
+      if (candidate == EMPTY_KEY) {
+        return false;
+      }
+    }
+  }
+
+  public boolean add(long key) {
+    if (key == EMPTY_KEY) {
+      if (emptyKeyPresent) {
+        return false;
+      }
+      emptyKeyPresent = true;
+      size++;
+      return true;
+    }
+    for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+      long candidate = keys[index];
+      if (candidate == key) {
+        return false;
+      }
+      if (candidate == EMPTY_KEY) {
+        keys[index] = key;
+        if (++size > threshold) {
+          grow();
+        }
+        return true;
+      }
+    }
+  }
+
+  // Entries after the removed one in its probe run are shifted back into the gap, so that lookups
+  // never need tombstones.
+  public boolean remove(long key) {
+    if (key == EMPTY_KEY) {
+      if (!emptyKeyPresent) {
+        return false;
+      }
+      emptyKeyPresent = false;
+      size--;
+      return true;
+    }
+    for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+      long candidate = keys[index];
+      if (candidate == EMPTY_KEY) {
+        return false;
+      }
+      if (candidate == key) {
+        closeGap(index);
+        size--;
+        return true;
+      }
+    }
+  }
+
+  // Adds the key if absent, or removes it if present; returns true if the key is now present.
+  public boolean toggle(long key) {
+    if (remove(key)) {
+      return false;
+    }
+    add(key);
+    return true;
+  }
+
+  public void forEach(LongConsumer consumer) {
+    if (emptyKeyPresent) {
+      consumer.accept(EMPTY_KEY);
+    }
+    for (long key : keys) {
+      if (key != EMPTY_KEY) {
+        consumer.accept(key);
+      }
+    }
+  }
+
+  public long[] toArray() {
+    long[] result = new long[size];
+    int[] index = {0};
+    forEach((key) -> result[index[0]++] = key);
+    return result;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, EMPTY_KEY);
+    emptyKeyPresent = false;
+    size = 0;
+  }
+
+  private void closeGap(int gap) {
+    for (int index = (gap + 1) & mask; ; index = (index + 1) & mask) {
+      long key = keys[index];
+      if (key == EMPTY_KEY) {
+        break;
+      }
+      int home = hash(key) & mask;
+      if (((index - home) & mask) >= ((index - gap) & mask)) {
+        keys[gap] = key;
+        gap = index;
+      }
+    }
+    keys[gap] = EMPTY_KEY;
+  }
+
+  private void grow() {
+    int capacity = keys.length;
+    if (capacity == MAX_CAPACITY) {
+      if (size >= capacity - 1) {
+        throw new IllegalStateException("Set is full.");
+      }
+      return;
+    }
+    long[] oldKeys = keys;
+    allocate(2 * capacity);
+    for (long key : oldKeys) {
+      if (key != EMPTY_KEY) {
+        int index = hash(key) & mask;
+        while (keys[index] != EMPTY_KEY) {
+          index = (index + 1) & mask;
+        }
+        keys[index] = key;
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    mask = capacity - 1;
+    threshold = (capacity < MAX_CAPACITY) ? capacity >>> 1 : capacity - (capacity >>> 3);
+  }
+
+  private static int capacityFor(int expectedSize) {
+    long capacity = Long.highestOneBit(Math.max(2L * expectedSize, 2) - 1) << 1;
+    return (int) Math.min(capacity, MAX_CAPACITY);
+  }
+
+  static int hash(long key) {
+    long hash = key * 0x9e37_79b9_7f4a_7c15L;
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+}
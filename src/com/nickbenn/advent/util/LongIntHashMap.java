@@ -0,0 +1,210 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.util.Arrays;
+
+public final class LongIntHashMap {
+
+  private static final int DEFAULT_EXPECTED_SIZE = 16;
+  private static final int MAX_CAPACITY = 1 << 30;
+  private static final long EMPTY_KEY = 0;
+
+  private final int missingValue;
+
+  private long[] keys;
+  private int[] values;
+  private int mask;
+  private int threshold;
+  private int size;
+  private boolean emptyKeyPresent;
+  private int emptyKeyValue;
+
+  public LongIntHashMap() {
+    this(DEFAULT_EXPECTED_SIZE, 0);
+  }
+
+  public LongIntHashMap(int expectedSize) {
+    this(expectedSize, 0);
+  }
+
+  public LongIntHashMap(int expectedSize, int missingValue) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException();
+    }
+    this.missingValue = missingValue;
+    allocate(capacityFor(expectedSize));
+  }
+
+  public int getMissingValue() {
+    return missingValue;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean containsKey(long key) {
+    if (key == EMPTY_KEY) {
+      return emptyKeyPresent;
+    }
+    for (int index = LongHashSet.hash(key) & mask; ; index = (index + 1) & mask) {
+      long candidate = keys[index];
+      if (candidate == key) {
+        return true;
+      }
+      if (candidate == EMPTY_KEY) {
+        return false;
+      }
+    }
+  }
+
+  public int get(long key) {
+    if (key == EMPTY_KEY) {
+      return emptyKeyPresent ? emptyKeyValue : missingValue;
+    }
+    for (int index = LongHashSet.hash(key) & mask; ; index = (index + 1) & mask) {
+      long candidate = keys[index];
+      if (candidate == key) {
+        return values[index];
+      }
+      if (candidate == EMPTY_KEY) {
+        return missingValue;
+      }
+    }
+  }
+
+  // Returns the value previously associated with key, or the missing value if there was none.
+  public int put(long key, int value) {
+    int index = slot(key);
+    if (index < 0) {
+      int previous = emptyKeyPresent ? emptyKeyValue : missingValue;
+      if (!emptyKeyPresent) {
+        emptyKeyPresent = true;
+        size++;
+      }
+      emptyKeyValue = value;
+      return previous;
+    }
+    if (keys[index] == key) {
+      int previous = values[index];
+      values[index] = value;
+      return previous;
+    }
+    insert(index, key, value);
+    return missingValue;
+  }
+
+  // Adds delta to the value for key (starting from the missing value if there is none), and
+  // returns the new value; neighbor counting needs only this one probe sequence per visit.
+  public int addTo(long key, int delta) {
+    int index = slot(key);
+    if (index < 0) {
+      if (!emptyKeyPresent) {
+        emptyKeyPresent = true;
+        emptyKeyValue = missingValue;
+        size++;
+      }
+      return emptyKeyValue += delta;
+    }
+    if (keys[index] == key) {
+      return values[index] += delta;
+    }
+    int value = missingValue + delta;
+    insert(index, key, value);
+    return value;
+  }
+
+  public void forEach(LongIntConsumer consumer) {
+    if (emptyKeyPresent) {
+      consumer.accept(EMPTY_KEY, emptyKeyValue);
+    }
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != EMPTY_KEY) {
+        consumer.accept(keys[i], values[i]);
+      }
+    }
+  }
+
+  public void clear() {
+    Arrays.fill(keys, EMPTY_KEY);
+    emptyKeyPresent = false;
+    size = 0;
+  }
+
+  // Returns the index holding key, or the empty index where it would be inserted, or -1 for the
+  // empty key itself.
+  private int slot(long key) {
+    if (key == EMPTY_KEY) {
+      return -1;
+    }
+    for (int index = LongHashSet.hash(key) & mask; ; index = (index + 1) & mask) {
+      long candidate = keys[index];
+      if (candidate == key || candidate == EMPTY_KEY) {
+        return index;
+      }
+    }
+  }
+
+  private void insert(int index, long key, int value) {
+    keys[index] = key;
+    values[index] = value;
+    if (++size > threshold) {
+      grow();
+    }
+  }
+
+  private void grow() {
+    int capacity = keys.length;
+    if (capacity == MAX_CAPACITY) {
+      if (size >= capacity - 1) {
+        throw new IllegalStateException("Map is full.");
+      }
+      return;
+    }
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(2 * capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      long key = oldKeys[i];
+      if (key != EMPTY_KEY) {
+        int index = LongHashSet.hash(key) & mask;
+        while (keys[index] != EMPTY_KEY) {
+          index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+    threshold = (capacity < MAX_CAPACITY) ? capacity >>> 1 : capacity - (capacity >>> 3);
+  }
+
+  private static int capacityFor(int expectedSize) {
+    long capacity = Long.highestOneBit(Math.max(2L * expectedSize, 2) - 1) << 1;
+    return (int) Math.min(capacity, MAX_CAPACITY);
+  }
+
+}
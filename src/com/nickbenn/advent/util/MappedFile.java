@@ -0,0 +1,346 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class MappedFile {
+
+  static final int MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+  private final ByteBuffer[] segments;
+  private final long[] bases;
+
+  private MappedFile(ByteBuffer[] segments) {
+    this.segments = segments;
+    bases = new long[segments.length];
+    for (int i = 1; i < segments.length; i++) {
+      bases[i] = bases[i - 1] + segments[i - 1].limit();
+    }
+  }
+
+  static MappedFile of(ByteBuffer... segments) {
+    return new MappedFile(segments);
+  }
+
+  static MappedFile map(Path path) throws IOException {
+    return map(path, MAX_SEGMENT_SIZE);
+  }
+
+  // Segments never split a line; where possible, they end just after a blank line, so that a line
+  // group only needs to be copied when no blank line appears in an entire segment.
+  static MappedFile map(Path path, int maxSegmentSize) throws IOException {
+    List<ByteBuffer> segments = new ArrayList<>();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long start = 0;
+      while (start < size) {
+        long windowSize = Math.min(maxSegmentSize, size - start);
+        ByteBuffer window = channel.map(MapMode.READ_ONLY, start, windowSize);
+        int end = (start + windowSize < size) ? boundary(window) : (int) windowSize;
+        segments.add(window.limit(end).slice());
+        start += end;
+      }
+    }
+    return new MappedFile(segments.toArray(new ByteBuffer[0]));
+  }
+
+  private static int boundary(ByteBuffer window) throws IOException {
+    int lastNewline = -1;
+    int fallback = -1;
+    boolean blank = true;
+    for (int i = window.limit() - 1; i >= 0; i--) {
+      byte b = window.get(i);
+      if (b == '\n') {
+        if (lastNewline >= 0 && blank) {
+          return lastNewline + 1;
+        }
+        if (fallback < 0) {
+          fallback = i + 1;
+        }
+        lastNewline = i;
+        blank = true;
+      } else if ((b & 0xff) > ' ') {
+        blank = false;
+      }
+    }
+    if (fallback < 0) {
+      throw new IOException("Line too long to map.");
+    }
+    return fallback;
+  }
+
+  ByteBuffer[] segments() {
+    return segments;
+  }
+
+  ByteBuffer[] chunks(int count) {
+    long target = Math.max(1, size() / count);
+    List<ByteBuffer> chunks = new ArrayList<>();
+    for (ByteBuffer segment : segments) {
+      int limit = segment.limit();
+      int start = 0;
+      while (start < limit) {
+        int end = (int) Math.min(limit, start + target);
+        while (end < limit && segment.get(end - 1) != '\n') {
+          end++;
+        }
+        chunks.add(segment.duplicate().limit(end).position(start).slice());
+        start = end;
+      }
+    }
+    return chunks.toArray(new ByteBuffer[0]);
+  }
+
+  Stream<ByteSequence> lines() {
+    return StreamSupport.stream(lineSpliterator(true), false);
+  }
+
+  Stream<ByteSequence> lineGroups() {
+    return StreamSupport.stream(lineGroupSpliterator(true), false);
+  }
+
+  Spliterator<ByteSequence> lineSpliterator(boolean ordered) {
+    return new LineSpliterator(0, size(), ordered);
+  }
+
+  Spliterator<ByteSequence> lineGroupSpliterator(boolean ordered) {
+    return new LineGroupSpliterator(0, size(), ordered);
+  }
+
+  long size() {
+    return (segments.length > 0)
+        ? bases[segments.length - 1] + segments[segments.length - 1].limit()
+        : 0;
+  }
+
+  private int segmentAt(long offset) {
+    int index = Arrays.binarySearch(bases, offset);
+    return (index >= 0) ? index : -index - 2;
+  }
+
+  private abstract class RangeSpliterator implements Spliterator<ByteSequence> {
+
+    private final int characteristics;
+
+    long origin;
+    long fence;
+    int segment;
+    int lineStart;
+    int lineEnd;
+    boolean carriageReturn;
+
+    RangeSpliterator(long origin, long fence, boolean ordered) {
+      this.origin = origin;
+      this.fence = fence;
+      characteristics = Spliterator.NONNULL | Spliterator.IMMUTABLE
+          | (ordered ? Spliterator.ORDERED : 0);
+      segment = (origin < fence) ? segmentAt(origin) : 0;
+    }
+
+    @Override
+    public Spliterator<ByteSequence> trySplit() {
+      if (fence - origin < 2) {
+        return null;
+      }
+      long split = boundaryAfter(origin + (fence - origin) / 2);
+      if (split <= origin || split >= fence) {
+        return null;
+      }
+      Spliterator<ByteSequence> prefix = newInstance(origin, split);
+      origin = split;
+      segment = segmentAt(origin);
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return fence - origin;
+    }
+
+    @Override
+    public int characteristics() {
+      return characteristics;
+    }
+
+    abstract long boundaryAfter(long offset);
+
+    abstract Spliterator<ByteSequence> newInstance(long origin, long fence);
+
+    // Reads the line starting at origin into (segment, lineStart, lineEnd), excluding any line
+    // terminator, and advances origin past it; carriageReturn records whether a CR was dropped.
+    void readLine() {
+      while (origin >= bases[segment] + segments[segment].limit()) {
+        segment++;
+      }
+      ByteBuffer buffer = segments[segment];
+      long base = bases[segment];
+      int limit = (int) Math.min(buffer.limit(), fence - base);
+      int position = (int) (origin - base);
+      int end = position;
+      while (end < limit && buffer.get(end) != '\n') {
+        end++;
+      }
+      lineStart = position;
+      carriageReturn = end > position && buffer.get(end - 1) == '\r';
+      lineEnd = carriageReturn ? end - 1 : end;
+      origin = base + Math.min(end + 1, limit);
+    }
+
+    boolean isBlank(ByteBuffer buffer, int start, int end) {
+      for (int i = start; i < end; i++) {
+        if ((buffer.get(i) & 0xff) > ' ') {
+          return false;
+        }
+      }
+      return true;
+    }
+
+  }
+
+  private class LineSpliterator extends RangeSpliterator {
+
+    LineSpliterator(long origin, long fence, boolean ordered) {
+      super(origin, fence, ordered);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ByteSequence> action) {
+      if (origin >= fence) {
+        return false;
+      }
+      readLine();
+      action.accept(new ByteSequence(segments[segment], lineStart, lineEnd - lineStart));
+      return true;
+    }
+
+    @Override
+    long boundaryAfter(long offset) {
+      int index = segmentAt(offset);
+      ByteBuffer buffer = segments[index];
+      int position = (int) (offset - bases[index]);
+      int limit = buffer.limit();
+      while (position < limit && buffer.get(position) != '\n') {
+        position++;
+      }
+      return bases[index] + Math.min(position + 1, limit);
+    }
+
+    @Override
+    Spliterator<ByteSequence> newInstance(long origin, long fence) {
+      return new LineSpliterator(origin, fence, hasCharacteristics(Spliterator.ORDERED));
+    }
+
+  }
+
+  private class LineGroupSpliterator extends RangeSpliterator {
+
+    LineGroupSpliterator(long origin, long fence, boolean ordered) {
+      super(origin, fence, ordered);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ByteSequence> action) {
+      ByteArrayOutputStream spill = null;
+      ByteBuffer buffer = null;
+      int start = 0;
+      int end = 0;
+      boolean split = false;
+      while (origin < fence) {
+        readLine();
+        ByteBuffer current = segments[segment];
+        if (!isBlank(current, lineStart, lineEnd)) {
+          // A group can only be a single range of its buffer if no CR sits between its lines.
+          if (buffer != current || split) {
+            if (buffer != null) {
+              if (spill == null) {
+                spill = new ByteArrayOutputStream();
+              }
+              copy(buffer, start, end, spill);
+              spill.write('\n');
+            }
+            buffer = current;
+            start = lineStart;
+          }
+          end = lineEnd;
+          split = carriageReturn;
+        } else if (buffer != null) {
+          break;
+        }
+      }
+      if (buffer == null) {
+        return false;
+      }
+      if (spill == null) {
+        action.accept(new ByteSequence(buffer, start, end - start));
+      } else {
+        copy(buffer, start, end, spill);
+        action.accept(new ByteSequence(ByteBuffer.wrap(spill.toByteArray()), 0, spill.size()));
+      }
+      return true;
+    }
+
+    @Override
+    long boundaryAfter(long offset) {
+      int index = segmentAt(offset);
+      ByteBuffer buffer = segments[index];
+      int limit = buffer.limit();
+      int position = (int) (offset - bases[index]);
+      while (position < limit && buffer.get(position) != '\n') {
+        position++;
+      }
+      position = Math.min(position + 1, limit);
+      while (position < limit) {
+        int end = position;
+        while (end < limit && buffer.get(end) != '\n') {
+          end++;
+        }
+        boolean blank = isBlank(buffer, position, end);
+        position = Math.min(end + 1, limit);
+        if (blank) {
+          return bases[index] + position;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    Spliterator<ByteSequence> newInstance(long origin, long fence) {
+      return new LineGroupSpliterator(origin, fence, hasCharacteristics(Spliterator.ORDERED));
+    }
+
+    private void copy(ByteBuffer buffer, int start, int end, ByteArrayOutputStream spill) {
+      for (int i = start; i < end; i++) {
+        spill.write(buffer.get(i));
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,302 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+public final class NumberScanner {
+
+  private static final int INITIAL_CAPACITY = 1 << 10;
+  private static final int MAX_TOKEN_LENGTH = 64;
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+  private static final double[] EXACT_POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+      1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private final byte[] token = new byte[MAX_TOKEN_LENGTH];
+
+  private int length;
+
+  public static int[] parseInts(ByteBuffer buffer) {
+    IntArray values = new IntArray();
+    new NumberScanner().scanInts(buffer, values);
+    return values.toArray();
+  }
+
+  public static long[] parseLongs(ByteBuffer buffer) {
+    LongArray values = new LongArray();
+    new NumberScanner().scanLongs(buffer, values);
+    return values.toArray();
+  }
+
+  public static double[] parseDoubles(ByteBuffer buffer) {
+    DoubleArray values = new DoubleArray();
+    new NumberScanner().scanDoubles(buffer, values);
+    return values.toArray();
+  }
+
+  public void scanInts(ByteBuffer buffer, IntConsumer consumer) {
+    scanInts(buffer, consumer, true);
+  }
+
+  public void scanLongs(ByteBuffer buffer, LongConsumer consumer) {
+    scanLongs(buffer, consumer, true);
+  }
+
+  public void scanDoubles(ByteBuffer buffer, DoubleConsumer consumer) {
+    scanDoubles(buffer, consumer, true);
+  }
+
+  // When last is false, a token that runs to the end of the buffer is held until the next call,
+  // so that a file can be scanned in fixed-size chunks.
+  public void scanInts(ByteBuffer buffer, IntConsumer consumer, boolean last) {
+    scan(buffer, last,
+        (source, start, end) -> consumer.accept(toInt(parseLong(source, start, end))));
+  }
+
+  public void scanLongs(ByteBuffer buffer, LongConsumer consumer, boolean last) {
+    scan(buffer, last, (source, start, end) -> consumer.accept(parseLong(source, start, end)));
+  }
+
+  public void scanDoubles(ByteBuffer buffer, DoubleConsumer consumer, boolean last) {
+    scan(buffer, last, (source, start, end) -> consumer.accept(parseDouble(source, start, end)));
+  }
+
+  static int parseInt(ByteBuffer buffer, int start, int end) {
+    return toInt(parseLong(buffer, start, end));
+  }
+
+  static long parseLong(ByteBuffer buffer, int start, int end) {
+    if (start == end) {
+      throw new NumberFormatException("");
+    }
+    int position = start;
+    boolean negative = false;
+    byte first = buffer.get(position);
+    if (first == '-' || first == '+') {
+      negative = (first == '-');
+      position++;
+    }
+    if (position == end) {
+      throw invalid(buffer, start, end);
+    }
+    long value = 0;
+    while (position < end) {
+      int digit = buffer.get(position++) - '0';
+      if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+        throw invalid(buffer, start, end);
+      }
+      value = value * 10 - digit;
+    }
+    if (!negative) {
+      if (value == Long.MIN_VALUE) {
+        throw invalid(buffer, start, end);
+      }
+      value = -value;
+    }
+    return value;
+  }
+
+  static double parseDouble(ByteBuffer buffer, int start, int end) {
+    if (start == end) {
+      throw new NumberFormatException("");
+    }
+    int position = start;
+    boolean negative = false;
+    byte first = buffer.get(position);
+    if (first == '-' || first == '+') {
+      negative = (first == '-');
+      position++;
+    }
+    long mantissa = 0;
+    int scale = 0;
+    int digits = 0;
+    boolean fraction = false;
+    while (position < end) {
+      byte b = buffer.get(position++);
+      if (b >= '0' && b <= '9') {
+        mantissa = mantissa * 10 + (b - '0');
+        digits++;
+        if (fraction) {
+          scale++;
+        }
+        if (mantissa > MAX_EXACT_MANTISSA) {
+          return slowParseDouble(buffer, start, end);
+        }
+      } else if (b == '.' && !fraction) {
+        fraction = true;
+      } else {
+        return slowParseDouble(buffer, start, end);
+      }
+    }
+    if (digits == 0 || scale >= EXACT_POWERS_OF_TEN.length) {
+      return slowParseDouble(buffer, start, end);
+    }
+    double value = mantissa / EXACT_POWERS_OF_TEN[scale];
+    return negative ? -value : value;
+  }
+
+  private static double slowParseDouble(ByteBuffer buffer, int start, int end) {
+    return Double.parseDouble(decode(buffer, start, end));
+  }
+
+  private static int toInt(long value) {
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw new NumberFormatException(Long.toString(value));
+    }
+    return (int) value;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return (b & 0xff) <= ' ';
+  }
+
+  private static int tokenEnd(ByteBuffer buffer, int position, int limit) {
+    while (position < limit && !isWhitespace(buffer.get(position))) {
+      position++;
+    }
+    return position;
+  }
+
+  private static NumberFormatException invalid(ByteBuffer buffer, int start, int end) {
+    return new NumberFormatException(decode(buffer, start, end));
+  }
+
+  private static String decode(ByteBuffer buffer, int start, int end) {
+    byte[] bytes = new byte[end - start];
+    for (int i = start; i < end; i++) {
+      bytes[i - start] = buffer.get(i);
+    }
+    return new String(bytes, StandardCharsets.ISO_8859_1);
+  }
+
+  private void scan(ByteBuffer buffer, boolean last, TokenHandler handler) {
+    int limit = buffer.limit();
+    int position = buffer.position();
+    while (position < limit) {
+      if (length == 0) {
+        while (position < limit && isWhitespace(buffer.get(position))) {
+          position++;
+        }
+        int end = tokenEnd(buffer, position, limit);
+        if (end < limit || last) {
+          if (end > position) {
+            handler.handle(buffer, position, end);
+          }
+        } else {
+          hold(buffer, position, end);
+        }
+        position = end;
+      } else {
+        int end = tokenEnd(buffer, position, limit);
+        hold(buffer, position, end);
+        position = end;
+        if (end < limit) {
+          release(handler);
+        }
+      }
+    }
+    buffer.position(limit);
+    if (last && length > 0) {
+      release(handler);
+    }
+  }
+
+  private void hold(ByteBuffer buffer, int start, int end) {
+    if (length + end - start > token.length) {
+      throw new NumberFormatException(decode(buffer, start, end));
+    }
+    for (int i = start; i < end; i++) {
+      token[length++] = buffer.get(i);
+    }
+  }
+
+  private void release(TokenHandler handler) {
+    int held = length;
+    length = 0;
+    handler.handle(ByteBuffer.wrap(token), 0, held);
+  }
+
+  private interface TokenHandler {
+
+    void handle(ByteBuffer buffer, int start, int end);
+
+  }
+
+  static class IntArray implements IntConsumer {
+
+    private int[] values = new int[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public void accept(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, 2 * size);
+      }
+      values[size++] = value;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+
+  }
+
+  static class LongArray implements LongConsumer {
+
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public void accept(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, 2 * size);
+      }
+      values[size++] = value;
+    }
+
+    long[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+
+  }
+
+  static class DoubleArray implements DoubleConsumer {
+
+    private double[] values = new double[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public void accept(double value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, 2 * size);
+      }
+      values[size++] = value;
+    }
+
+    double[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+
+  }
+
+}
@@ -16,61 +16,193 @@
 package com.nickbenn.advent.util;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.BitSet;
-import java.util.regex.Pattern;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
 import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Parser {
 
-  private static final Pattern BLANK_LINE_SPLITTER = Pattern.compile("\\n\\s*\\n");
+  private static final int CHUNK_SIZE = 1 << 16;
+  private static final int CHUNKS_PER_THREAD = 4;
 
-  private final Path path;
+  private final Source source;
   private final boolean trimmed;
   private final boolean stripped;
+  private final boolean mapped;
+  private final boolean parallel;
+  private final boolean ordered;
 
-  private Parser(Path path, boolean trimmed, boolean stripped) {
-    this.path = path;
+  private Parser(Source source, boolean trimmed, boolean stripped, boolean mapped,
+      boolean parallel, boolean ordered) {
+    this.source = source;
     this.trimmed = trimmed;
     this.stripped = stripped;
+    this.mapped = mapped;
+    this.parallel = parallel;
+    this.ordered = ordered;
   }
 
   public Stream<String> lineStream() throws IOException {
-    return rawLines()
-        .map((line) -> trimmed ? line.trim() : line)
-        .filter((line) -> !(stripped && line.isEmpty()));
+    MappedFile file = buffers();
+    return (file != null)
+        ? bufferedLines(file).map(ByteSequence::toString)
+        : configure(source.lines())
+            .map((line) -> trimmed ? line.trim() : line)
+            .filter((line) -> !(stripped && line.isEmpty()));
+  }
+
+  public Stream<CharSequence> lineSequenceStream() throws IOException {
+    MappedFile file = buffers();
+    return (file != null)
+        ? bufferedLines(file).map(Parser::asCharSequence)
+        : lineStream().map((line) -> line);
   }
 
+  public Stream<ByteBuffer> lineBufferStream() throws IOException {
+    MappedFile file = buffers();
+    return (file != null)
+        ? bufferedLines(file).map(ByteSequence::asByteBuffer)
+        : lineStream().map((line) -> ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  // The numeric streams parse lazily, a chunk at a time, so that only one chunk's values (or a
+  // few, in parallel) are held at once; ints() and the like fill a single array instead.
   public IntStream intStream() throws IOException {
-    return lineStream()
-        .mapToInt(Integer::parseInt);
+    NumberScanner scanner = new NumberScanner();
+    return configure(chunkStream(NumberScanner::parseInts, (chunk, last) -> {
+      NumberScanner.IntArray values = new NumberScanner.IntArray();
+      scanner.scanInts(chunk, values, last);
+      return values.toArray();
+    }).flatMapToInt(IntStream::of));
   }
 
   public LongStream longStream() throws IOException {
-    return lineStream()
-        .mapToLong(Long::parseLong);
+    NumberScanner scanner = new NumberScanner();
+    return configure(chunkStream(NumberScanner::parseLongs, (chunk, last) -> {
+      NumberScanner.LongArray values = new NumberScanner.LongArray();
+      scanner.scanLongs(chunk, values, last);
+      return values.toArray();
+    }).flatMapToLong(LongStream::of));
   }
 
   public DoubleStream doubleStream() throws IOException {
-    return lineStream()
-        .mapToDouble(Double::parseDouble);
+    NumberScanner scanner = new NumberScanner();
+    return configure(chunkStream(NumberScanner::parseDoubles, (chunk, last) -> {
+      NumberScanner.DoubleArray values = new NumberScanner.DoubleArray();
+      scanner.scanDoubles(chunk, values, last);
+      return values.toArray();
+    }).flatMapToDouble(DoubleStream::of));
   }
 
-  public BitSet bitSet() throws IOException {
-    try (IntStream stream = intStream()) {
-      return stream.collect(BitSet::new, BitSet::set, BitSet::or);
+  public int[] ints() throws IOException {
+    MappedFile file = buffers();
+    if (file != null && parallel) {
+      return Arrays.stream(file.chunks(parallelChunkCount()))
+          .parallel()
+          .map(NumberScanner::parseInts)
+          .flatMapToInt(IntStream::of)
+          .toArray();
+    }
+    NumberScanner.IntArray values = new NumberScanner.IntArray();
+    parseInts(file, values);
+    return values.toArray();
+  }
+
+  public long[] longs() throws IOException {
+    MappedFile file = buffers();
+    if (file != null && parallel) {
+      return Arrays.stream(file.chunks(parallelChunkCount()))
+          .parallel()
+          .map(NumberScanner::parseLongs)
+          .flatMapToLong(LongStream::of)
+          .toArray();
+    }
+    NumberScanner.LongArray values = new NumberScanner.LongArray();
+    parseLongs(file, values);
+    return values.toArray();
+  }
+
+  public double[] doubles() throws IOException {
+    MappedFile file = buffers();
+    if (file != null && parallel) {
+      return Arrays.stream(file.chunks(parallelChunkCount()))
+          .parallel()
+          .map(NumberScanner::parseDoubles)
+          .flatMapToDouble(DoubleStream::of)
+          .toArray();
     }
+    NumberScanner.DoubleArray values = new NumberScanner.DoubleArray();
+    parseDoubles(file, values);
+    return values.toArray();
+  }
+
+  public void parseInts(IntConsumer consumer) throws IOException {
+    parseInts(buffers(), consumer);
+  }
+
+  public void parseLongs(LongConsumer consumer) throws IOException {
+    parseLongs(buffers(), consumer);
+  }
+
+  public void parseDoubles(DoubleConsumer consumer) throws IOException {
+    parseDoubles(buffers(), consumer);
+  }
+
+  // Feeds the raw bytes to scanners from supplier, and merges their results with combiner. A
+  // mapped, parallel parser gives each line-aligned chunk its own scanner, and scans the chunks
+  // concurrently; otherwise, a single scanner sees every chunk, in order, and a chunk may end
+  // mid-line.
+  public <S extends ChunkScanner> S scanChunks(Supplier<S> supplier, BinaryOperator<S> combiner)
+      throws IOException {
+    MappedFile file = buffers();
+    if (file != null && parallel) {
+      return Arrays.stream(file.chunks(parallelChunkCount()))
+          .parallel()
+          .map((chunk) -> {
+            S scanner = supplier.get();
+            scanner.scan(chunk, true);
+            return scanner;
+          })
+          .reduce(combiner)
+          .orElseGet(supplier);
+    }
+    S scanner = supplier.get();
+    scanChunks(file, scanner);
+    return scanner;
+  }
+
+  public BitSet bitSet() throws IOException {
+    BitSet bits = new BitSet();
+    parseInts(bits::set);
+    return bits;
   }
 
   public String rawString() throws IOException {
-    return Files.readString(path);
+    return source.readString();
   }
 
   public String joinedString() throws IOException {
@@ -84,14 +216,33 @@ public class Parser {
   }
 
   public Stream<String> lineGroupStream() throws IOException {
-    return BLANK_LINE_SPLITTER.splitAsStream(rawString())
-        .map((line) -> trimmed ? line.trim() : line)
-        .filter((line) -> !(stripped && line.isEmpty()));
+    MappedFile file = buffers();
+    return (file != null)
+        ? bufferedLineGroups(file).map(ByteSequence::toString)
+        : configure(LineGroupReader.groups(source.openReader()))
+            .map((line) -> trimmed ? line.trim() : line)
+            .filter((line) -> !(stripped && line.isEmpty()));
+  }
+
+  public Stream<CharSequence> lineGroupSequenceStream() throws IOException {
+    MappedFile file = buffers();
+    return (file != null)
+        ? bufferedLineGroups(file).map(Parser::asCharSequence)
+        : lineGroupStream().map((group) -> group);
+  }
+
+  public Stream<ByteBuffer> lineGroupBufferStream() throws IOException {
+    MappedFile file = buffers();
+    return (file != null)
+        ? bufferedLineGroups(file).map(ByteSequence::asByteBuffer)
+        : lineGroupStream().map((group) -> ByteBuffer.wrap(group.getBytes(StandardCharsets.UTF_8)));
   }
 
   public Stream<char[]> charArrayStream() throws IOException {
-    return lineStream()
-        .map(String::toCharArray);
+    MappedFile file = buffers();
+    return (file != null)
+        ? bufferedLines(file).map(ByteSequence::toCharArray)
+        : lineStream().map(String::toCharArray);
   }
 
   public String[] lines() throws IOException {
@@ -100,19 +251,162 @@ public class Parser {
     }
   }
 
-  private Stream<String> rawLines() throws IOException {
-    return Files.lines(path);
+  private MappedFile buffers() throws IOException {
+    ByteBuffer[] segments = source.buffers(mapped);
+    return (segments != null) ? MappedFile.of(segments) : null;
   }
 
-  public static class Builder {
+  private void parseInts(MappedFile file, IntConsumer consumer) throws IOException {
+    NumberScanner scanner = new NumberScanner();
+    scanChunks(file, (chunk, last) -> scanner.scanInts(chunk, consumer, last));
+  }
+
+  private void parseLongs(MappedFile file, LongConsumer consumer) throws IOException {
+    NumberScanner scanner = new NumberScanner();
+    scanChunks(file, (chunk, last) -> scanner.scanLongs(chunk, consumer, last));
+  }
+
+  private void parseDoubles(MappedFile file, DoubleConsumer consumer) throws IOException {
+    NumberScanner scanner = new NumberScanner();
+    scanChunks(file, (chunk, last) -> scanner.scanDoubles(chunk, consumer, last));
+  }
+
+  private void scanChunks(MappedFile file, ChunkScanner scanner) throws IOException {
+    if (file != null) {
+      for (ByteBuffer segment : file.segments()) {
+        scanner.scan(segment.duplicate(), true);
+      }
+    } else {
+      try (ReadableByteChannel channel = source.openChannel()) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_SIZE);
+        while (channel.read(buffer) >= 0) {
+          scanner.scan(buffer.flip(), false);
+          buffer.clear();
+        }
+        scanner.scan(buffer.flip(), true);
+      }
+    }
+  }
+
+  private int parallelChunkCount() {
+    return CHUNKS_PER_THREAD * ForkJoinPool.getCommonPoolParallelism();
+  }
+
+  // Maps each chunk of the input to a value as the stream is consumed. Mapped chunks are split on
+  // line boundaries, no larger than CHUNK_SIZE where possible, and mapped independently; otherwise
+  // the source is read CHUNK_SIZE bytes at a time, in order, and a chunk may end mid-token.
+  private <T> Stream<T> chunkStream(Function<ByteBuffer, T> independent, ChunkParser<T> sequential)
+      throws IOException {
+    MappedFile file = buffers();
+    if (file != null) {
+      int count = (int) Math.max(parallelChunkCount(),
+          Math.min(Integer.MAX_VALUE, file.size() / CHUNK_SIZE + 1));
+      return Arrays.stream(file.chunks(count))
+          .map(independent);
+    }
+    ReadableByteChannel channel = source.openChannel();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_SIZE);
+    Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(
+        Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+
+      private boolean done;
 
+      @Override
+      public boolean tryAdvance(Consumer<? super T> action) {
+        if (done) {
+          return false;
+        }
+        try {
+          buffer.clear();
+          done = channel.read(buffer) < 0;
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        action.accept(sequential.parse(buffer.flip(), done));
+        return true;
+      }
 
-    private final URI uri;
+    };
+    return StreamSupport.stream(spliterator, false)
+        .onClose(() -> {
+          try {
+            channel.close();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
+  private <S extends BaseStream<?, S>> S configure(S stream) {
+    if (parallel) {
+      stream = stream.parallel();
+    }
+    if (!ordered) {
+      stream = stream.unordered();
+    }
+    return stream;
+  }
+
+  private Stream<ByteSequence> bufferedLines(MappedFile file) {
+    return StreamSupport.stream(file.lineSpliterator(ordered), parallel)
+        .map((line) -> trimmed ? line.trim() : line)
+        .filter((line) -> !(stripped && line.length() == 0));
+  }
+
+  private Stream<ByteSequence> bufferedLineGroups(MappedFile file) {
+    return StreamSupport.stream(file.lineGroupSpliterator(ordered), parallel)
+        .map((group) -> trimmed ? group.trim() : group)
+        .filter((group) -> !(stripped && group.length() == 0));
+  }
+
+  private static CharSequence asCharSequence(ByteSequence sequence) {
+    return sequence.isAscii() ? sequence : sequence.toString();
+  }
+
+  private interface ChunkParser<T> {
+
+    T parse(ByteBuffer chunk, boolean last);
+
+  }
+
+  public interface ChunkScanner {
+
+    // Scans chunk from its position to its limit; last is true if no more input follows it.
+    void scan(ByteBuffer chunk, boolean last);
+
+  }
+
+  public static class Builder {
+
+    private final Source source;
     private boolean trimmed;
     private boolean stripped;
+    private boolean mapped;
+    private boolean parallel;
+    private boolean ordered = true;
+
+    public Builder(Source source) {
+      this.source = source;
+    }
 
     public Builder(URI uri) {
-      this.uri = uri;
+      this(Source.of(uri));
+    }
+
+    public Builder(Path path) {
+      this(Source.of(path));
+    }
+
+    public Builder(InputStream input) {
+      this(Source.of(input));
+    }
+
+    public Builder(byte[] bytes) {
+      this(Source.of(bytes));
+    }
+
+    public static Builder stdin() {
+      return new Builder(Source.stdin());
     }
 
     public Builder setTrimmed(boolean trimmed) {
@@ -125,8 +419,23 @@ public class Parser {
       return this;
     }
 
+    public Builder setMapped(boolean mapped) {
+      this.mapped = mapped;
+      return this;
+    }
+
+    public Builder setParallel(boolean parallel) {
+      this.parallel = parallel;
+      return this;
+    }
+
+    public Builder setOrdered(boolean ordered) {
+      this.ordered = ordered;
+      return this;
+    }
+
     public Parser build() throws URISyntaxException, IOException {
-      return new Parser(Path.of(uri), trimmed, stripped);
+      return new Parser(source, trimmed, stripped, mapped, parallel, ordered);
     }
 
   }
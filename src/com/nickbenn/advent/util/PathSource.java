@@ -0,0 +1,71 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+final class PathSource implements Source {
+
+  private final Path path;
+
+  PathSource(Path path) {
+    this.path = path;
+  }
+
+  @Override
+  public InputStream openStream() throws IOException {
+    return Compression.decode(Files.newInputStream(path));
+  }
+
+  @Override
+  public ReadableByteChannel openChannel() throws IOException {
+    return isCompressed() ? Source.super.openChannel() : FileChannel.open(path);
+  }
+
+  @Override
+  public Stream<String> lines() throws IOException {
+    return isCompressed() ? Source.super.lines() : Files.lines(path);
+  }
+
+  @Override
+  public String readString() throws IOException {
+    return isCompressed() ? Source.super.readString() : Files.readString(path);
+  }
+
+  @Override
+  public ByteBuffer[] buffers(boolean mappingRequested) throws IOException {
+    return (mappingRequested && !isCompressed()) ? MappedFile.map(path).segments() : null;
+  }
+
+  private boolean isCompressed() throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer magic = ByteBuffer.allocate(2);
+      while (magic.hasRemaining() && channel.read(magic) >= 0) {
+        // Keep reading until both bytes arrive or the file ends.
+      }
+      return magic.position() == 2 && Compression.isGzip(magic.get(0) & 0xff, magic.get(1) & 0xff);
+    }
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+public interface Source {
+
+  InputStream openStream() throws IOException;
+
+  default ReadableByteChannel openChannel() throws IOException {
+    return Channels.newChannel(openStream());
+  }
+
+  default BufferedReader openReader() throws IOException {
+    return new BufferedReader(new InputStreamReader(openStream(), StandardCharsets.UTF_8));
+  }
+
+  default Stream<String> lines() throws IOException {
+    BufferedReader reader = openReader();
+    return reader.lines()
+        .onClose(() -> {
+          try {
+            reader.close();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
+  default String readString() throws IOException {
+    try (InputStream input = openStream()) {
+      return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  // Returns the entire content as buffers split on line boundaries, or null if the content can
+  // only be streamed, or if mapping isn't requested.
+  default ByteBuffer[] buffers(boolean mappingRequested) throws IOException {
+    return null;
+  }
+
+  static Source of(Path path) {
+    return new PathSource(path);
+  }
+
+  static Source of(URI uri) {
+    return "file".equals(uri.getScheme()) ? new PathSource(Path.of(uri)) : new UrlSource(uri);
+  }
+
+  static Source of(InputStream input) {
+    return new StreamSource(input);
+  }
+
+  static Source of(byte[] bytes) {
+    return new ByteArraySource(bytes);
+  }
+
+  static Source stdin() {
+    return new StreamSource(new FilterInputStream(System.in) {
+      @Override
+      public void close() {
+        // Standard input belongs to the process, not to the stream reading from it.
+      }
+    });
+  }
+
+}
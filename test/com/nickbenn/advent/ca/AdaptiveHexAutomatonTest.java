@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nickbenn.advent.util.LongHashSet;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveHexAutomatonTest {
+
+  @Test
+  void step_switchesToDenseAndMatchesSparse() {
+    HexTopology topology = new HexTopology();
+    LongHashSet cells = DenseHexAutomatonTest.random(topology, 5, -9);
+    Automaton sparse = new SparseAutomaton(topology, DenseHexAutomatonTest.LOBBY, cells);
+    AdaptiveHexAutomaton adaptive =
+        new AdaptiveHexAutomaton(topology, DenseHexAutomatonTest.LOBBY, cells);
+    assertFalse(adaptive.isDense());
+    for (int generation = 0; generation < 60; generation++) {
+      assertEquals(sparse.step(), adaptive.step());
+      assertEquals(sparse.getPopulation(), adaptive.getPopulation());
+      sparse.forEachAlive((cell) -> assertTrue(adaptive.isAlive(cell)));
+    }
+    assertTrue(adaptive.isDense());
+    assertEquals(60, adaptive.getGeneration());
+  }
+
+  @Test
+  void step_switchesBackToSparse() {
+    HexTopology topology = new HexTopology();
+    LongHashSet cells = new LongHashSet();
+    for (int q = 0; q < 40; q++) {
+      for (int r = 0; r < 40; r++) {
+        cells.add(topology.pack(q, r));
+      }
+    }
+    AdaptiveHexAutomaton adaptive = new AdaptiveHexAutomaton(topology, Rule.parse("B/S12"), cells);
+    assertTrue(adaptive.isDense());
+    adaptive.step();
+    assertFalse(adaptive.isDense());
+    assertEquals(2, adaptive.getPopulation());
+  }
+
+}
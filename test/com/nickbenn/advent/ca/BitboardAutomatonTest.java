@@ -0,0 +1,62 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class BitboardAutomatonTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {"B3/S23", "B0/S0123", "B36/S23", "B2/S", "B012345678/S012345678"})
+  void step_matchesDense(String notation) {
+    Rule rule = Rule.parse(notation);
+    Random rng = new Random(SparseAutomatonTest.SEED);
+    boolean[][] grid = new boolean[70][];
+    for (int row = 0; row < grid.length; row++) {
+      grid[row] = new boolean[130 + rng.nextInt(70)];
+      for (int column = 0; column < grid[row].length; column++) {
+        grid[row][column] = rng.nextInt(5) > 0;
+      }
+    }
+    MooreTopology topology = new MooreTopology(grid);
+    boolean[] alive = new boolean[topology.size()];
+    for (int cell = 0; cell < alive.length; cell++) {
+      alive[cell] = rng.nextInt(3) == 0;
+    }
+    DenseAutomaton dense = new DenseAutomaton(topology, rule, alive);
+    BitboardAutomaton bitboard = new BitboardAutomaton(topology, rule, alive);
+    for (int generation = 0; generation < 30; generation++) {
+      assertEquals(dense.step(), bitboard.step());
+      assertEquals(dense.getPopulation(), bitboard.getPopulation());
+      assertArrayEquals(dense.getState(), bitboard.getState());
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2})
+  void construct_wrongSize(int size) {
+    MooreTopology topology = new MooreTopology(new boolean[][]{{true, true, true}});
+    assertThrows(IllegalArgumentException.class, () ->
+        new BitboardAutomaton(topology, DenseAutomatonTest.LIFE, new boolean[size]));
+  }
+
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CellTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 4, 5})
+  void forEachNeighbor(int dimensions) {
+    int[] coordinates = new int[dimensions];
+    for (int i = 0; i < dimensions; i++) {
+      coordinates[i] = 3 * i - 4;
+    }
+    Cell cell = new Cell(coordinates);
+    Set<Cell> neighbors = new HashSet<>();
+    cell.forEachNeighbor((neighbor) -> neighbors.add(new Cell(neighbor)));
+    assertEquals(cell.getNeighbors(), neighbors);
+    assertEquals(Cell.neighborOffsets(dimensions).length, neighbors.size());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 3, 9})
+  void neighborOffsets(int dimensions) {
+    int[][] offsets = Cell.neighborOffsets(dimensions);
+    assertEquals((int) Math.pow(3, dimensions) - 1, offsets.length);
+    if (dimensions <= 8) {
+      assertSame(offsets, Cell.neighborOffsets(dimensions));
+    }
+  }
+
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class DenseAutomatonTest {
+
+  static final Rule LIFE = Rule.parse("B3/S23");
+
+  @Test
+  void step_blinker() {
+    boolean[][] grid = new boolean[5][5];
+    for (boolean[] row : grid) {
+      Arrays.fill(row, true);
+    }
+    MooreTopology topology = new MooreTopology(grid);
+    boolean[] alive = new boolean[topology.size()];
+    for (int column = 1; column <= 3; column++) {
+      alive[topology.cellAt(2, column)] = true;
+    }
+    DenseAutomaton automaton = new DenseAutomaton(topology, LIFE, alive);
+    assertTrue(automaton.step());
+    assertEquals(3, automaton.getPopulation());
+    for (int row = 1; row <= 3; row++) {
+      assertTrue(automaton.isAlive(topology.cellAt(row, 2)));
+    }
+    assertTrue(automaton.step());
+    assertArrayEquals(alive, automaton.getState());
+    assertEquals(2, automaton.getGeneration());
+  }
+
+  @Test
+  void runUntilStable_block() {
+    boolean[][] grid = {{true, true}, {true, true}};
+    DenseAutomaton automaton =
+        new DenseAutomaton(new MooreTopology(grid), LIFE, new boolean[]{true, true, true, false});
+    assertEquals(1, automaton.runUntilStable());
+    assertEquals(4, automaton.getPopulation());
+    assertFalse(automaton.step());
+  }
+
+  @Test
+  void step_parallelMatchesSequential() {
+    Random rng = new Random(SparseAutomatonTest.SEED);
+    boolean[][] grid = new boolean[300][300];
+    for (boolean[] row : grid) {
+      for (int column = 0; column < row.length; column++) {
+        row[column] = rng.nextInt(5) > 0;
+      }
+    }
+    MooreTopology topology = new MooreTopology(grid);
+    boolean[] alive = new boolean[topology.size()];
+    for (int cell = 0; cell < alive.length; cell++) {
+      alive[cell] = rng.nextInt(3) == 0;
+    }
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      DenseAutomaton sequential = new DenseAutomaton(topology, LIFE, alive);
+      DenseAutomaton parallel = new DenseAutomaton(topology, LIFE, alive, pool);
+      for (int generation = 0; generation < 20; generation++) {
+        assertEquals(sequential.step(), parallel.step());
+        assertEquals(sequential.getPopulation(), parallel.getPopulation());
+        assertArrayEquals(sequential.getState(), parallel.getState());
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void construct_wrongSize() {
+    MooreTopology topology = new MooreTopology(new boolean[][]{{true, true}});
+    assertThrows(IllegalArgumentException.class, () ->
+        new DenseAutomaton(topology, LIFE, new boolean[3]));
+  }
+
+}
@@ -0,0 +1,73 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nickbenn.advent.util.LongHashSet;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DenseHexAutomatonTest {
+
+  static final Rule LOBBY = Rule.parse("B2/S12");
+
+  @Test
+  void step_matchesSparse() {
+    HexTopology topology = new HexTopology();
+    LongHashSet cells = random(topology, -7, 3);
+    Automaton sparse = new SparseAutomaton(topology, LOBBY, cells);
+    DenseHexAutomaton dense = new DenseHexAutomaton(topology, LOBBY, cells);
+    int area = dense.getArea();
+    for (int generation = 0; generation < 60; generation++) {
+      assertEquals(sparse.step(), dense.step());
+      assertEquals(sparse.getPopulation(), dense.getPopulation());
+      sparse.forEachAlive((cell) -> assertTrue(dense.isAlive(cell)));
+      int[] count = {0};
+      dense.forEachAlive((cell) -> count[0]++);
+      assertEquals(sparse.getPopulation(), count[0]);
+    }
+    assertTrue(dense.getArea() > area);
+  }
+
+  @Test
+  void step_empty() {
+    DenseHexAutomaton automaton =
+        new DenseHexAutomaton(new HexTopology(), LOBBY, new LongHashSet());
+    assertFalse(automaton.step());
+    assertEquals(0, automaton.getPopulation());
+    assertEquals(0, automaton.getLiveArea());
+  }
+
+  @Test
+  void construct_birthFromNothing() {
+    assertThrows(IllegalArgumentException.class, () ->
+        new DenseHexAutomaton(new HexTopology(), Rule.parse("B0/S"), new LongHashSet()));
+  }
+
+  static LongHashSet random(HexTopology topology, int q, int r) {
+    Random rng = new Random(SparseAutomatonTest.SEED);
+    LongHashSet cells = new LongHashSet();
+    for (int i = 0; i < 40; i++) {
+      cells.add(topology.pack(q + rng.nextInt(12), r + rng.nextInt(12)));
+    }
+    return cells;
+  }
+
+}
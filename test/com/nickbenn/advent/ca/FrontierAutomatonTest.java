@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class FrontierAutomatonTest {
+
+  @Test
+  void step_matchesDense() {
+    Random rng = new Random(SparseAutomatonTest.SEED);
+    boolean[][] grid = new boolean[60][80];
+    for (boolean[] row : grid) {
+      for (int column = 0; column < row.length; column++) {
+        row[column] = rng.nextInt(5) > 0;
+      }
+    }
+    LineOfSightTopology topology = new LineOfSightTopology(grid);
+    boolean[] alive = new boolean[topology.size()];
+    for (int cell = 0; cell < alive.length; cell++) {
+      alive[cell] = rng.nextInt(3) == 0;
+    }
+    DenseAutomaton dense = new DenseAutomaton(topology, DenseAutomatonTest.LIFE, alive);
+    FrontierAutomaton frontier = new FrontierAutomaton(topology, DenseAutomatonTest.LIFE, alive);
+    for (int generation = 0; generation < 50; generation++) {
+      boolean[] previous = dense.getState();
+      assertEquals(dense.step(), frontier.step());
+      assertEquals(dense.getPopulation(), frontier.getPopulation());
+      boolean[] state = dense.getState();
+      assertArrayEquals(state, frontier.getState());
+      int changes = 0;
+      for (int cell = 0; cell < state.length; cell++) {
+        if (state[cell] != previous[cell]) {
+          changes++;
+        }
+      }
+      assertEquals(changes, frontier.getChangeCount());
+    }
+  }
+
+  @Test
+  void step_stableFrontierEmpties() {
+    boolean[][] grid = {{true, true}, {true, true}};
+    FrontierAutomaton automaton = new FrontierAutomaton(
+        new MooreTopology(grid), DenseAutomatonTest.LIFE, new boolean[]{true, true, true, false});
+    assertEquals(4, automaton.getFrontierSize());
+    assertEquals(1, automaton.runUntilStable());
+    assertEquals(4, automaton.getPopulation());
+    assertEquals(0, automaton.getFrontierSize());
+    assertFalse(automaton.step());
+  }
+
+  @Test
+  void construct_wrongSize() {
+    MooreTopology topology = new MooreTopology(new boolean[][]{{true, true}});
+    assertThrows(IllegalArgumentException.class, () ->
+        new FrontierAutomaton(topology, DenseAutomatonTest.LIFE, new boolean[1]));
+  }
+
+}
@@ -0,0 +1,122 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nickbenn.advent.util.LongHashSet;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class HashlifeAutomatonTest {
+
+  static final int[][] MOORE = {
+      {-1, -1}, {0, -1}, {1, -1}, {-1, 0}, {1, 0}, {-1, 1}, {0, 1}, {1, 1}
+  };
+
+  @Test
+  void step_hexMatchesSparse() {
+    HexTopology topology = new HexTopology();
+    LongHashSet cells = random(topology.pack(0, 0), new PackedCells(2));
+    Rule rule = Rule.parse("B2/S12");
+    Automaton sparse = new SparseAutomaton(topology, rule, cells);
+    Automaton hashlife = new HashlifeAutomaton(topology.getDirections(), rule, cells);
+    for (int generation = 0; generation < 40; generation++) {
+      assertEquals(sparse.step(), hashlife.step());
+      assertSame(sparse, hashlife);
+    }
+  }
+
+  @Test
+  void advance_mooreMatchesSparse() {
+    HypercubeTopology topology = new HypercubeTopology(2);
+    LongHashSet cells = random(topology.getPacking().pack(-20, 7), topology.getPacking());
+    Automaton sparse = new SparseAutomaton(topology, DenseAutomatonTest.LIFE, cells);
+    HashlifeAutomaton hashlife = new HashlifeAutomaton(MOORE, DenseAutomatonTest.LIFE, cells, 500);
+    for (int generations : new int[]{1, 3, 8, 21, 64}) {
+      for (int i = 0; i < generations; i++) {
+        sparse.step();
+      }
+      hashlife.advance(generations);
+      assertEquals(sparse.getGeneration(), hashlife.getGeneration());
+      assertSame(sparse, hashlife);
+    }
+  }
+
+  @Test
+  void advance_gliderTravels() {
+    PackedCells packing = new PackedCells(2);
+    LongHashSet glider = new LongHashSet();
+    for (int[] cell : new int[][]{{1, 0}, {2, 1}, {0, 2}, {1, 2}, {2, 2}}) {
+      glider.add(packing.pack(cell));
+    }
+    HashlifeAutomaton automaton = new HashlifeAutomaton(MOORE, DenseAutomatonTest.LIFE, glider);
+    automaton.advance(4_000_000);
+    assertEquals(5, automaton.getPopulation());
+    glider.forEach((cell) -> assertTrue(automaton.isAlive(cell + packing.pack(1_000_000, 1_000_000)
+        - packing.pack(0, 0))));
+    assertFalse(automaton.isAlive(glider.toArray()[0]));
+  }
+
+  @Test
+  void step_stillLifeAndOscillator() {
+    PackedCells packing = new PackedCells(2);
+    LongHashSet block = new LongHashSet();
+    LongHashSet blinker = new LongHashSet();
+    for (int i = 0; i < 4; i++) {
+      block.add(packing.pack(i / 2, i % 2));
+    }
+    for (int i = 0; i < 3; i++) {
+      blinker.add(packing.pack(i, 0));
+    }
+    HashlifeAutomaton still = new HashlifeAutomaton(MOORE, DenseAutomatonTest.LIFE, block);
+    HashlifeAutomaton oscillating =
+        new HashlifeAutomaton(MOORE, DenseAutomatonTest.LIFE, blinker);
+    for (int generation = 0; generation < 20; generation++) {
+      assertFalse(still.step());
+      assertTrue(oscillating.step());
+      assertEquals(3, oscillating.getPopulation());
+    }
+    block.forEach((cell) -> assertTrue(still.isAlive(cell)));
+  }
+
+  @Test
+  void construct_invalid() {
+    assertThrows(IllegalArgumentException.class, () ->
+        new HashlifeAutomaton(MOORE, Rule.parse("B0/S"), new LongHashSet()));
+    assertThrows(IllegalArgumentException.class, () ->
+        new HashlifeAutomaton(new int[][]{{2, 0}}, DenseAutomatonTest.LIFE, new LongHashSet()));
+  }
+
+  private static LongHashSet random(long origin, PackedCells packing) {
+    Random rng = new Random(SparseAutomatonTest.SEED);
+    LongHashSet cells = new LongHashSet();
+    long base = origin - packing.pack(0, 0);
+    for (int i = 0; i < 300; i++) {
+      cells.add(base + packing.pack(rng.nextInt(30), rng.nextInt(30)));
+    }
+    return cells;
+  }
+
+  private static void assertSame(Automaton expected, Automaton actual) {
+    assertEquals(expected.getPopulation(), actual.getPopulation());
+    expected.forEachAlive((cell) -> assertTrue(actual.isAlive(cell)));
+  }
+
+}
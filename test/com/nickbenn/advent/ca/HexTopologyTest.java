@@ -0,0 +1,43 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class HexTopologyTest {
+
+  @Test
+  void forEachNeighbor() {
+    HexTopology topology = new HexTopology();
+    Set<String> neighbors = new HashSet<>();
+    topology.forEachNeighbor(topology.pack(3, -2), (cell) ->
+        neighbors.add(topology.q(cell) + "," + topology.r(cell)));
+    assertEquals(Set.of("4,-2", "3,-1", "2,-1", "2,-2", "3,-3", "4,-3"), neighbors);
+  }
+
+  @Test
+  void forEachNeighbor_edge() {
+    HexTopology topology = new HexTopology();
+    long edge = topology.pack(Integer.MAX_VALUE - 1, 0);
+    assertThrows(IllegalStateException.class, () -> topology.forEachNeighbor(edge, (cell) -> {}));
+  }
+
+}
@@ -0,0 +1,45 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class HypercubeTopologyTest {
+
+  @Test
+  void forEachNeighbor() {
+    HypercubeTopology topology = new HypercubeTopology(3);
+    PackedCells packing = topology.getPacking();
+    Cell cell = new Cell(1, -1, 4);
+    Set<Cell> neighbors = new HashSet<>();
+    topology.forEachNeighbor(packing.pack(cell), (neighbor) ->
+        neighbors.add(packing.toCell(neighbor)));
+    assertEquals(cell.getNeighbors(), neighbors);
+  }
+
+  @Test
+  void forEachNeighbor_edge() {
+    HypercubeTopology topology = new HypercubeTopology(2);
+    long edge = topology.getPacking().pack(0, topology.getPacking().getMinimum());
+    assertThrows(IllegalStateException.class, () -> topology.forEachNeighbor(edge, (cell) -> {}));
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LineOfSightTopologyTest {
+
+  static final boolean[][] SEATS = {
+      {true, false, false, true},
+      {false, false, false, false},
+      {false, false, true, false},
+      {true, false, false, true}
+  };
+
+  @Test
+  void neighbors() {
+    LineOfSightTopology topology = new LineOfSightTopology(SEATS);
+    assertArrayEquals(new int[]{1, 2, 3}, MooreTopologyTest.neighbors(topology, 0, 0));
+    assertArrayEquals(new int[]{0, 3, 4}, MooreTopologyTest.neighbors(topology, 0, 3));
+    assertArrayEquals(new int[]{0, 4}, MooreTopologyTest.neighbors(topology, 2, 2));
+    assertArrayEquals(new int[]{1, 2, 3}, MooreTopologyTest.neighbors(topology, 3, 3));
+  }
+
+  @Test
+  void neighbors_raggedMatchesRays() {
+    Random rng = new Random(SparseAutomatonTest.SEED);
+    boolean[][] grid = new boolean[50][];
+    for (int row = 0; row < grid.length; row++) {
+      grid[row] = new boolean[20 + rng.nextInt(30)];
+      for (int column = 0; column < grid[row].length; column++) {
+        grid[row][column] = rng.nextInt(4) == 0;
+      }
+    }
+    LineOfSightTopology topology = new LineOfSightTopology(grid);
+    int[] buffer = new int[topology.maxNeighbors()];
+    for (int cell = 0; cell < topology.size(); cell++) {
+      int count = topology.neighbors(cell, buffer);
+      assertArrayEquals(rays(grid, topology, cell), Arrays.copyOf(buffer, count));
+    }
+  }
+
+  @Test
+  void countAlive() {
+    LineOfSightTopology topology = new LineOfSightTopology(SEATS);
+    int[] counts = new int[topology.size()];
+    topology.countAlive(new boolean[]{true, false, true, false, true}, counts);
+    assertArrayEquals(new int[]{1, 2, 2, 2, 1}, counts);
+  }
+
+  private static int[] rays(boolean[][] grid, GridTopology topology, int cell) {
+    int[] neighbors = new int[GridTopology.DIRECTIONS.length];
+    int count = 0;
+    for (int[] direction : GridTopology.DIRECTIONS) {
+      int row = topology.row(cell) + direction[0];
+      int column = topology.column(cell) + direction[1];
+      while (row >= 0 && row < grid.length && column >= 0 && column < grid[row].length) {
+        if (grid[row][column]) {
+          neighbors[count++] = topology.cellAt(row, column);
+          break;
+        }
+        row += direction[0];
+        column += direction[1];
+      }
+    }
+    return Arrays.copyOf(neighbors, count);
+  }
+
+}
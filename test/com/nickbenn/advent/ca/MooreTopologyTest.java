@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class MooreTopologyTest {
+
+  static final boolean[][] SEATS = {
+      {true, false, true},
+      {false, true, true},
+      {true, true}
+  };
+
+  @Test
+  void cells() {
+    MooreTopology topology = new MooreTopology(SEATS);
+    assertEquals(6, topology.size());
+    assertEquals(-1, topology.cellAt(0, 1));
+    assertEquals(-1, topology.cellAt(2, 2));
+    assertEquals(-1, topology.cellAt(-1, 0));
+    int cell = topology.cellAt(1, 2);
+    assertEquals(3, cell);
+    assertEquals(1, topology.row(cell));
+    assertEquals(2, topology.column(cell));
+  }
+
+  @Test
+  void neighbors() {
+    MooreTopology topology = new MooreTopology(SEATS);
+    assertArrayEquals(new int[]{0, 1, 3, 4, 5}, neighbors(topology, 1, 1));
+    assertArrayEquals(new int[]{2}, neighbors(topology, 0, 0));
+    assertArrayEquals(new int[]{2, 3, 4}, neighbors(topology, 2, 1));
+  }
+
+  @Test
+  void countAlive() {
+    MooreTopology topology = new MooreTopology(SEATS);
+    boolean[] state = {true, false, true, true, false, true};
+    int[] counts = new int[state.length];
+    topology.countAlive(state, counts);
+    assertArrayEquals(new int[]{1, 2, 3, 2, 2, 2}, counts);
+  }
+
+  static int[] neighbors(GridTopology topology, int row, int column) {
+    int[] buffer = new int[topology.maxNeighbors()];
+    int count = topology.neighbors(topology.cellAt(row, column), buffer);
+    int[] neighbors = Arrays.copyOf(buffer, count);
+    Arrays.sort(neighbors);
+    return neighbors;
+  }
+
+}
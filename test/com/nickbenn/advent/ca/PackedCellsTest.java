@@ -0,0 +1,81 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PackedCellsTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 4, 6})
+  void pack_roundTrip(int dimensions) {
+    PackedCells cells = new PackedCells(dimensions);
+    int[] coordinates = new int[dimensions];
+    for (int i = 0; i < dimensions; i++) {
+      coordinates[i] = (i % 2 == 0) ? cells.getMinimum() + i : cells.getMaximum() - i;
+    }
+    long packed = cells.pack(coordinates);
+    int[] unpacked = new int[dimensions];
+    cells.unpack(packed, unpacked);
+    assertArrayEquals(coordinates, unpacked);
+    assertEquals(packed, cells.pack(new Cell(coordinates)));
+    assertEquals(new Cell(coordinates), cells.toCell(packed));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 4})
+  void forEachNeighbor(int dimensions) {
+    PackedCells cells = new PackedCells(dimensions);
+    int[] coordinates = new int[dimensions];
+    for (int i = 0; i < dimensions; i++) {
+      coordinates[i] = 1 - 2 * i;
+    }
+    Cell cell = new Cell(coordinates);
+    Set<Cell> neighbors = new HashSet<>();
+    cells.forEachNeighbor(cells.pack(cell), (neighbor) -> neighbors.add(cells.toCell(neighbor)));
+    assertEquals(cell.getNeighbors(), neighbors);
+  }
+
+  @Test
+  void pack_reducedDimensions() {
+    PackedCells cells = new PackedCells(4);
+    long packed = cells.pack(new Cell(5, -7));
+    assertEquals(new Cell(5, -7, 0, 0), cells.toCell(packed));
+  }
+
+  @Test
+  void range() {
+    PackedCells cells = new PackedCells(3);
+    assertEquals(-(1 << 20) + 1, cells.getMinimum());
+    assertEquals((1 << 20) - 2, cells.getMaximum());
+    assertThrows(IllegalArgumentException.class, () -> cells.pack(0, cells.getMaximum() + 1, 0));
+    assertThrows(IllegalArgumentException.class, () -> cells.pack(cells.getMinimum() - 1));
+    assertTrue(cells.isInterior(cells.pack(0, 0, 0)));
+    assertFalse(cells.isInterior(cells.pack(0, cells.getMaximum(), 0)));
+    assertThrows(IllegalArgumentException.class, () -> new PackedCells(33));
+  }
+
+}
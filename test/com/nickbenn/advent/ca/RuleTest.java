@@ -0,0 +1,55 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class RuleTest {
+
+  @Test
+  void parse_life() {
+    Rule rule = Rule.parse("B3/S23");
+    assertTrue(rule.next(false, 3));
+    assertFalse(rule.next(false, 2));
+    assertTrue(rule.next(true, 2));
+    assertTrue(rule.next(true, 3));
+    assertFalse(rule.next(true, 4));
+    assertFalse(rule.next(true, 100));
+    assertEquals("B3/S23", rule.toString());
+  }
+
+  @Test
+  void parse_emptySets() {
+    Rule rule = Rule.parse(" b0/s ");
+    assertTrue(rule.next(false, 0));
+    assertFalse(rule.next(true, 0));
+    assertEquals("B0/S", rule.toString());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "B3", "S23/B3", "B3/S2x"})
+  void parse_invalid(String notation) {
+    assertThrows(IllegalArgumentException.class, () -> Rule.parse(notation));
+  }
+
+}
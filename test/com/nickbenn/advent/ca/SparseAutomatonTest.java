@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.ca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nickbenn.advent.util.LongHashSet;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class SparseAutomatonTest {
+
+  static final long SEED = 2020;
+
+  @Test
+  void step_matchesDense() {
+    Random rng = new Random(SEED);
+    boolean[][] grid = new boolean[40][40];
+    for (boolean[] row : grid) {
+      Arrays.fill(row, true);
+    }
+    MooreTopology topology = new MooreTopology(grid);
+    boolean[] alive = new boolean[topology.size()];
+    LongHashSet cells = new LongHashSet();
+    for (int cell = 0; cell < alive.length; cell++) {
+      if (rng.nextInt(3) == 0) {
+        alive[cell] = true;
+        cells.add(cell);
+      }
+    }
+    Automaton dense = new DenseAutomaton(topology, DenseAutomatonTest.LIFE, alive);
+    Automaton sparse = new SparseAutomaton(topology, DenseAutomatonTest.LIFE, cells);
+    for (int generation = 0; generation < 50; generation++) {
+      assertEquals(dense.step(), sparse.step());
+      assertEquals(dense.getPopulation(), sparse.getPopulation());
+      dense.forEachAlive((cell) -> assertTrue(sparse.isAlive(cell)));
+    }
+  }
+
+  @Test
+  void step_parallelMatchesSequential() {
+    Random rng = new Random(SEED);
+    HypercubeTopology topology = new HypercubeTopology(2);
+    PackedCells packing = topology.getPacking();
+    LongHashSet cells = new LongHashSet();
+    while (cells.size() < 3 * SparseAutomaton.MIN_CHUNK_SIZE) {
+      cells.add(packing.pack(rng.nextInt(200), rng.nextInt(200)));
+    }
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Automaton sequential = new SparseAutomaton(topology, DenseAutomatonTest.LIFE, cells);
+      Automaton parallel = new SparseAutomaton(topology, DenseAutomatonTest.LIFE, cells, pool);
+      for (int generation = 0; generation < 20; generation++) {
+        assertEquals(sequential.step(), parallel.step());
+        assertEquals(sequential.getPopulation(), parallel.getPopulation());
+        sequential.forEachAlive((cell) -> assertTrue(parallel.isAlive(cell)));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void step_glider() {
+    HypercubeTopology topology = new HypercubeTopology(2);
+    PackedCells packing = topology.getPacking();
+    LongHashSet glider = new LongHashSet();
+    for (int[] cell : new int[][]{{1, 0}, {2, 1}, {0, 2}, {1, 2}, {2, 2}}) {
+      glider.add(packing.pack(cell));
+    }
+    Automaton automaton = new SparseAutomaton(topology, DenseAutomatonTest.LIFE, glider);
+    for (int i = 0; i < 4; i++) {
+      assertTrue(automaton.step());
+    }
+    assertEquals(5, automaton.getPopulation());
+    glider.forEach((cell) -> assertTrue(automaton.isAlive(cell + packing.pack(1, 1)
+        - packing.pack(0, 0))));
+  }
+
+  @Test
+  void step_isolatedSurvivors() {
+    HypercubeTopology topology = new HypercubeTopology(2);
+    LongHashSet cells = new LongHashSet();
+    cells.add(topology.getPacking().pack(0, 0));
+    cells.add(topology.getPacking().pack(5, 5));
+    Automaton automaton = new SparseAutomaton(topology, Rule.parse("B3/S0"), cells);
+    assertFalse(automaton.step());
+    assertEquals(2, automaton.getPopulation());
+  }
+
+  @Test
+  void construct_birthFromNothing() {
+    assertThrows(IllegalArgumentException.class, () ->
+        new SparseAutomaton(new HexTopology(), Rule.parse("B0/S"), new LongHashSet()));
+  }
+
+}
@@ -30,10 +30,30 @@ class SeatingSystemTest {
     assertEquals(37, seatingSystem.countMooreStablePopulation());
   }
 
+  @Test
+  void countMooreStablePopulationBitboard() throws IOException, URISyntaxException {
+    SeatingSystem seatingSystem = new SeatingSystem(Defaults.TEST_FILENAME);
+    assertEquals(37, seatingSystem.countMooreStablePopulationBitboard());
+  }
+
   @Test
   void countLineOfSightStablePopulation() throws IOException, URISyntaxException {
     SeatingSystem seatingSystem = new SeatingSystem(Defaults.TEST_FILENAME);
     assertEquals(26, seatingSystem.countLineOfSightStablePopulation());
   }
 
+  @Test
+  void countMooreStablePopulationFrontier() throws IOException, URISyntaxException {
+    SeatingSystem seatingSystem = new SeatingSystem(Defaults.TEST_FILENAME);
+    assertEquals(37, seatingSystem.countMooreStablePopulationFrontier());
+    assertArrayEquals(new int[]{71, 51, 31, 21, 7}, seatingSystem.getChangeCounts());
+  }
+
+  @Test
+  void countLineOfSightStablePopulationFrontier() throws IOException, URISyntaxException {
+    SeatingSystem seatingSystem = new SeatingSystem(Defaults.TEST_FILENAME);
+    assertEquals(26, seatingSystem.countLineOfSightStablePopulationFrontier());
+    assertArrayEquals(new int[]{71, 64, 46, 35, 13, 5}, seatingSystem.getChangeCounts());
+  }
+
 }
@@ -42,6 +42,13 @@ class ShuttleSearchTest {
     );
   }
 
+  @Test
+  void parse() throws IOException, URISyntaxException {
+    ShuttleSearch search = new ShuttleSearch(Defaults.TEST_FILENAME);
+    assertEquals(THRESHOLD, search.getThreshold());
+    assertEquals(ROUTE_LENGTHS, search.getRouteLengths());
+  }
+
   @Test
   void getMinWaitProduct() throws IOException, URISyntaxException {
     assertEquals(295, ShuttleSearch.getMinWaitProduct(THRESHOLD, ROUTE_LENGTHS));
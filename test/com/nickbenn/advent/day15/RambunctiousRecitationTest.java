@@ -16,11 +16,20 @@
 package com.nickbenn.advent.day15;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.aggregator.ArgumentsAccessor;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.provider.CsvFileSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class RambunctiousRecitationTest {
 
@@ -36,4 +45,91 @@ class RambunctiousRecitationTest {
     assertEquals(expected, RambunctiousRecitation.process(inputValues, term));
   }
 
-}
\ No newline at end of file
+  @ParameterizedTest
+  @CsvFileSource(resources = "test.txt", numLinesToSkip = 1)
+  void processSparse(int expected, int term, ArgumentsAccessor arguments) {
+    int[] inputValues = arguments.toList().subList(2, arguments.size()).stream()
+        .map(Object::toString)
+        .mapToInt(Integer::parseInt)
+        .toArray();
+    assertEquals(expected, RambunctiousRecitation.processSparse(inputValues, term));
+  }
+
+  @Test
+  void process_largeStartingValues() {
+    int[] inputValues = {4000, 0, 3, 4000, 17};
+    assertEquals(RambunctiousRecitation.processSparse(inputValues, 2020),
+        RambunctiousRecitation.process(inputValues, 2020));
+    assertEquals(0, RambunctiousRecitation.process(inputValues, 4));
+  }
+
+  @ParameterizedTest
+  @CsvFileSource(resources = "test.txt", numLinesToSkip = 1)
+  void processMapped(int expected, int term, ArgumentsAccessor arguments, @TempDir Path directory)
+      throws IOException {
+    int[] inputValues = arguments.toList().subList(2, arguments.size()).stream()
+        .map(Object::toString)
+        .mapToInt(Integer::parseInt)
+        .toArray();
+    assertEquals(expected,
+        RambunctiousRecitation.processMapped(inputValues, term, directory.resolve("positions")));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {MappedRecitation.COMPACT_SLOT_WIDTH, MappedRecitation.WIDE_SLOT_WIDTH})
+  void mappedRecitation_resume(int slotWidth, @TempDir Path directory) throws IOException {
+    int[] inputValues = {0, 3, 6};
+    int limit = 300_000;
+    Path path = directory.resolve("positions");
+    try (
+        MappedRecitation recitation =
+            MappedRecitation.create(path, inputValues, limit, slotWidth)
+    ) {
+      recitation.advance(123_456);
+      assertEquals(3 + 123_456, recitation.getPosition());
+      assertFalse(recitation.isComplete());
+    }
+    try (MappedRecitation recitation = MappedRecitation.resume(path)) {
+      assertEquals(3 + 123_456, recitation.getPosition());
+      assertEquals(RambunctiousRecitation.processDense(inputValues, limit), recitation.run(50_000));
+      assertTrue(recitation.isComplete());
+    }
+    assertEquals(RambunctiousRecitation.processDense(inputValues, limit),
+        RambunctiousRecitation.processMapped(inputValues, limit, path));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {MappedRecitation.COMPACT_SLOT_WIDTH, MappedRecitation.WIDE_SLOT_WIDTH})
+  void mappedRecitation_stopped(int slotWidth, @TempDir Path directory) throws IOException {
+    int[] inputValues = {0, 3, 6};
+    int limit = 300_000;
+    Path path = directory.resolve("positions");
+    Path stopped = directory.resolve("stopped");
+    try (
+        MappedRecitation recitation =
+            MappedRecitation.create(path, inputValues, limit, slotWidth)
+    ) {
+      recitation.advance(100_000);
+      recitation.checkpoint();
+      recitation.advance(23_456);
+      Files.copy(path, stopped);
+    }
+    try (MappedRecitation recitation = MappedRecitation.resume(stopped)) {
+      assertEquals(3 + 100_000, recitation.getPosition());
+      assertEquals(RambunctiousRecitation.processDense(inputValues, limit), recitation.run(50_000));
+    }
+  }
+
+  @Test
+  void mappedRecitation_invalid(@TempDir Path directory) throws IOException {
+    Path path = directory.resolve("positions");
+    assertThrows(IllegalArgumentException.class, () ->
+        MappedRecitation.create(path, new int[]{0, 3, 6}, 2020, 4));
+    assertThrows(IllegalArgumentException.class, () ->
+        MappedRecitation.create(path, new int[]{0, 3, 2020}, 2020, 5));
+    assertFalse(Files.exists(path));
+    Files.write(path, new byte[8192]);
+    assertThrows(IOException.class, () -> MappedRecitation.resume(path));
+  }
+
+}
@@ -16,4 +16,29 @@ class ConwayCubesTest {
     assertEquals(848, cubes.countActive(4, 6));
   }
 
-}
\ No newline at end of file
+  @Test
+  void countActiveDense() throws IOException, URISyntaxException {
+    ConwayCubes cubes = new ConwayCubes(Defaults.TEST_FILENAME);
+    assertEquals(112, cubes.countActiveDense(3, 6));
+    assertEquals(848, cubes.countActiveDense(4, 6));
+    assertEquals(5760, cubes.countActiveDense(5, 6));
+  }
+
+  @Test
+  void countActiveSymmetric() throws IOException, URISyntaxException {
+    ConwayCubes cubes = new ConwayCubes(Defaults.TEST_FILENAME);
+    assertEquals(112, cubes.countActiveSymmetric(3, 6));
+    assertEquals(848, cubes.countActiveSymmetric(4, 6));
+    assertEquals(5760, cubes.countActiveSymmetric(5, 6));
+    assertEquals(35_936, cubes.countActiveSymmetric(6, 6));
+  }
+
+  @Test
+  void countActivePacked() throws IOException, URISyntaxException {
+    ConwayCubes cubes = new ConwayCubes(Defaults.TEST_FILENAME);
+    assertEquals(112, cubes.countActivePacked(3, 6));
+    assertEquals(848, cubes.countActivePacked(4, 6));
+    assertEquals(5760, cubes.countActivePacked(5, 6));
+  }
+
+}
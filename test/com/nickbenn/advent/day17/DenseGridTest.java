@@ -0,0 +1,75 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day17;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nickbenn.advent.ca.Cell;
+import com.nickbenn.advent.generator.ConwayCubesGenerator;
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class DenseGridTest {
+
+  @ParameterizedTest
+  @CsvSource({"2, 8, 1", "3, 8, 2", "4, 6, 3"})
+  void iterate_matchesSparse(int dimensions, int size, long seed)
+      throws IOException, URISyntaxException {
+    ConwayCubes cubes =
+        new ConwayCubes(new Parser.Builder(new ConwayCubesGenerator(size, seed)).build());
+    Set<Cell> sparse = cubes.population(dimensions);
+    DenseGrid dense = new DenseGrid(sparse, dimensions);
+    for (int generation = 0; generation <= 4; generation++) {
+      if (generation > 0) {
+        cubes.iterate(sparse);
+        dense.iterate();
+      }
+      assertEquals(sparse.size(), dense.size());
+      for (Cell cell : sparse) {
+        int[] coordinates = new int[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+          coordinates[i] = cell.get(i);
+        }
+        assertTrue(dense.contains(coordinates));
+      }
+    }
+  }
+
+  @Test
+  void iterate_dies() {
+    DenseGrid grid = new DenseGrid(List.of(new Cell(0, 0), new Cell(1, 0)), 3);
+    grid.iterate();
+    assertEquals(0, grid.size());
+    assertFalse(grid.contains(0, 0, 0));
+    grid.iterate();
+    assertEquals(0, grid.size());
+  }
+
+  @Test
+  void construct_invalidDimensions() {
+    assertThrows(IllegalArgumentException.class, () -> new DenseGrid(List.of(), 10));
+  }
+
+}
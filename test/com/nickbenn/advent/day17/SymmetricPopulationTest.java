@@ -0,0 +1,57 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day17;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.nickbenn.advent.ca.Cell;
+import com.nickbenn.advent.generator.ConwayCubesGenerator;
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class SymmetricPopulationTest {
+
+  @ParameterizedTest
+  @CsvSource({"2, 8, 1", "3, 8, 2", "4, 6, 3", "5, 4, 4", "6, 3, 5"})
+  void iterate_matchesDense(int dimensions, int size, long seed)
+      throws IOException, URISyntaxException {
+    ConwayCubes cubes =
+        new ConwayCubes(new Parser.Builder(new ConwayCubesGenerator(size, seed)).build());
+    Set<Cell> plane = cubes.population(2);
+    DenseGrid dense = new DenseGrid(plane, dimensions);
+    SymmetricPopulation symmetric = new SymmetricPopulation(plane, dimensions);
+    for (int generation = 0; generation <= 5; generation++) {
+      if (generation > 0) {
+        dense.iterate();
+        symmetric.iterate();
+      }
+      assertEquals(dense.size(), symmetric.size());
+    }
+  }
+
+  @Test
+  void construct_invalidDimensions() {
+    assertThrows(IllegalArgumentException.class, () -> new SymmetricPopulation(List.of(), 1));
+  }
+
+}
@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day19;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class GrammarTest {
+
+  private static final String RULES =
+      "0: 4 1 5\n1: 2 3 | 3 2\n2: 4 4 | 5 5\n3: 4 5 | 5 4\n4: \"a\"\n5: \"b\"\n";
+  private static final String LOOPING_RULES = "0: 1 | 1 0\n1: \"a\"\n";
+  private static final String NESTED_RULES = "0: 8 11\n8: 42 | 42 8\n11: 42 31 | 42 11 31\n"
+      + "42: 1 1\n31: 2 1\n1: \"a\"\n2: \"b\"\n3000: 1\n";
+
+  @Test
+  void parse() throws IOException, URISyntaxException {
+    Grammar grammar = parse(RULES);
+    assertEquals(6, grammar.size());
+    assertEquals('a', grammar.letter(4));
+    assertEquals(0, grammar.letter(1));
+    assertArrayEquals(new int[][]{{2, 3}, {3, 2}}, grammar.branches(1));
+    assertNull(grammar.branches(5));
+  }
+
+  @Test
+  void branches_copy() throws IOException, URISyntaxException {
+    Grammar grammar = parse(RULES);
+    grammar.branches(0)[0][0] = 5;
+    assertArrayEquals(new int[][]{{4, 1, 5}}, grammar.branches(0));
+  }
+
+  @Test
+  void matches() throws IOException, URISyntaxException {
+    Grammar grammar = parse(RULES);
+    assertTrue(grammar.matches("ababbb"));
+    assertTrue(grammar.matches("abbbab"));
+    assertFalse(grammar.matches("bababa"));
+    assertFalse(grammar.matches("aaabbb"));
+    assertFalse(grammar.matches("aaaabbb"));
+    assertFalse(grammar.matches(""));
+  }
+
+  @Test
+  void matches_looping() throws IOException, URISyntaxException {
+    Grammar grammar = parse(LOOPING_RULES);
+    assertTrue(grammar.matches("a"));
+    assertTrue(grammar.matches("a".repeat(200)));
+    assertFalse(grammar.matches("a".repeat(200) + "b"));
+    assertFalse(grammar.matches(""));
+  }
+
+  @Test
+  void matches_longMessage() throws IOException, URISyntaxException {
+    Grammar grammar = parse(NESTED_RULES);
+    String message = "aa".repeat(3000) + "ba".repeat(2000);
+    assertTrue(grammar.matches(message));
+    assertFalse(grammar.matches(message + "a"));
+    assertFalse(grammar.matches("aa".repeat(2000) + "ba".repeat(2000)));
+  }
+
+  @Test
+  void matches_tooLong() throws IOException, URISyntaxException {
+    Grammar grammar = parse(NESTED_RULES);
+    assertThrows(IllegalArgumentException.class, () -> grammar.matches("a".repeat(400_000)));
+  }
+
+  @Test
+  void matches_concurrent() throws IOException, URISyntaxException {
+    Grammar grammar = parse(LOOPING_RULES);
+    long matched = new ForkJoinPool(4).submit(() -> IntStream.range(0, 10_000)
+        .parallel()
+        .filter((length) -> grammar.matches(((length % 2 == 0) ? "a" : "b").repeat(length % 97)))
+        .count())
+        .join();
+    assertEquals(IntStream.range(0, 10_000)
+        .filter((length) -> length % 2 == 0 && length % 97 > 0)
+        .count(), matched);
+  }
+
+  private static Grammar parse(String rules) throws IOException, URISyntaxException {
+    return Grammar.parse(new Parser.Builder(rules.getBytes(StandardCharsets.US_ASCII)).build());
+  }
+
+}
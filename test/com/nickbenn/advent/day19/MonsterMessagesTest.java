@@ -16,13 +16,19 @@
 package com.nickbenn.advent.day19;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.nickbenn.advent.generator.MonsterMessagesGenerator;
+import com.nickbenn.advent.util.Parser;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class MonsterMessagesTest {
 
@@ -40,4 +46,61 @@ class MonsterMessagesTest {
     assertEquals(expected, new MonsterMessages(rulesFile, messagesFile).countValid());
   }
 
+  @ParameterizedTest
+  @MethodSource("countValid")
+  void countValidCompiled(String rulesFile, String messagesFile, long expected)
+      throws IOException, URISyntaxException {
+    assertEquals(expected, new MonsterMessages(rulesFile, messagesFile).countValidCompiled());
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void countValidCompiled_generated(boolean looping) throws IOException, URISyntaxException {
+    MonsterMessagesGenerator generator = new MonsterMessagesGenerator(200, looping, 2020);
+    MonsterMessages monsterMessages = new MonsterMessages(
+        new Parser.Builder(generator.rules()).build(),
+        new Parser.Builder(generator.messages()).build()
+    );
+    assertEquals(monsterMessages.countValid(), monsterMessages.countValidCompiled());
+  }
+
+  @ParameterizedTest
+  @MethodSource("countValid")
+  void validate(String rulesFile, String messagesFile, long expected)
+      throws IOException, URISyntaxException {
+    Grammar grammar = Grammar.parse(
+        new Parser.Builder(MonsterMessages.class.getResource(rulesFile).toURI()).build());
+    MonsterMessages.Validation validation = MonsterMessages.validate(grammar,
+        new Parser.Builder(MonsterMessages.class.getResource(messagesFile).toURI())
+            .setMapped(true)
+            .setParallel(true)
+            .build());
+    assertEquals(expected, validation.getValidCount());
+    assertEquals(15, validation.getMessageCount());
+    assertTrue(validation.getMessagesPerSecond() > 0);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void validate_generated(boolean looping) throws IOException, URISyntaxException {
+    MonsterMessagesGenerator generator = new MonsterMessagesGenerator(2000, looping, 2020);
+    Grammar grammar = Grammar.parse(new Parser.Builder(generator.rules()).build());
+    MonsterMessages monsterMessages = new MonsterMessages(
+        new Parser.Builder(generator.rules()).build(),
+        new Parser.Builder(generator.messages()).build()
+    );
+    MonsterMessages.Validation validation = MonsterMessages.validate(grammar,
+        new Parser.Builder(generator.messages().toBytes()).setMapped(true).build());
+    assertEquals(monsterMessages.countValid(), validation.getValidCount());
+    assertEquals(2000, validation.getMessageCount());
+  }
+
+  @Test
+  void compile_leftRecursive() {
+    char[] letters = {0, 'a'};
+    int[][][] branches = {{{1}, {0, 1}}, null};
+    assertThrows(IllegalArgumentException.class,
+        () -> MessageMatcher.compile(letters, branches, 0));
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day23;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class ArrayCupCircleTest {
+
+  @Test
+  void play() {
+    Circle circle = new ArrayCupCircle(CrabCircleTest.INITIAL_ARRANGEMENT);
+    for (int i = 0; i < CrabCups.MOVES_IN_GAME_1; i++) {
+      circle.move();
+    }
+    assertEquals(CrabCircleTest.EXPECTED_ARRANGEMENT_GAME_1, circle.reportItems());
+  }
+
+  @Test
+  void play_long() {
+    Circle circle = new ArrayCupCircle(CrabCircleTest.INITIAL_ARRANGEMENT, CrabCups.CUPS_IN_GAME_2);
+    for (int i = 0; i < CrabCups.MOVES_IN_GAME_2; i++) {
+      circle.move();
+    }
+    assertEquals(CrabCircleTest.EXPECTED_PRODUCT_GAME_2, circle.reportProduct(2));
+  }
+
+  @Test
+  void play_matchesLinked() {
+    Circle expected = new CupCircle(CrabCircleTest.INITIAL_ARRANGEMENT, 1000);
+    Circle actual = new ArrayCupCircle(CrabCircleTest.INITIAL_ARRANGEMENT, 1000);
+    for (int i = 0; i < 10_000; i++) {
+      expected.move();
+      actual.move();
+    }
+    assertEquals(expected.reportItems(), actual.reportItems());
+  }
+
+  @Test
+  void construct_invalidLabels() {
+    assertThrows(IllegalArgumentException.class, () -> new ArrayCupCircle("389125461"));
+    assertThrows(IllegalArgumentException.class, () -> new ArrayCupCircle("389125460"));
+    assertThrows(IllegalArgumentException.class, () -> new ArrayCupCircle("389125467", 8));
+  }
+
+}
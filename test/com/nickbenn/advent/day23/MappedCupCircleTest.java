@@ -0,0 +1,126 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.day23;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedCupCircleTest {
+
+  @Test
+  void play(@TempDir Path directory) throws IOException {
+    try (
+        MappedCupCircle circle =
+            MappedCupCircle.create(directory.resolve("cups"), CrabCircleTest.INITIAL_ARRANGEMENT, 9)
+    ) {
+      circle.move(CrabCups.MOVES_IN_GAME_1);
+      assertEquals(CrabCircleTest.EXPECTED_ARRANGEMENT_GAME_1, circle.reportItems());
+    }
+  }
+
+  @Test
+  void play_long(@TempDir Path directory) throws IOException {
+    ByteArrayOutputStream progress = new ByteArrayOutputStream();
+    assertEquals(CrabCircleTest.EXPECTED_PRODUCT_GAME_2, CrabCups.playMapped(
+        CrabCircleTest.INITIAL_ARRANGEMENT, CrabCups.CUPS_IN_GAME_2, CrabCups.MOVES_IN_GAME_2,
+        directory.resolve("cups"), 4_000_000, new PrintStream(progress)));
+    assertEquals(3, progress.toString().lines().count());
+  }
+
+  @Test
+  void play_resume(@TempDir Path directory) throws IOException {
+    Path path = directory.resolve("cups");
+    Circle expected = new ArrayCupCircle(CrabCircleTest.INITIAL_ARRANGEMENT, 1000);
+    for (int i = 0; i < 20_000; i++) {
+      expected.move();
+    }
+    try (
+        MappedCupCircle circle =
+            MappedCupCircle.create(path, CrabCircleTest.INITIAL_ARRANGEMENT, 1000)
+    ) {
+      circle.move(12_345);
+    }
+    try (MappedCupCircle circle = MappedCupCircle.resume(path)) {
+      assertEquals(12_345, circle.getMoves());
+      assertEquals(1000, circle.getSize());
+      circle.move(20_000 - 12_345);
+      assertEquals(expected.reportItems(), circle.reportItems());
+    }
+    assertEquals(expected.reportProduct(2), CrabCups.playMapped(
+        CrabCircleTest.INITIAL_ARRANGEMENT, 1000, 20_000, path, 1000,
+        new PrintStream(new ByteArrayOutputStream())));
+  }
+
+  @Test
+  void play_stopped(@TempDir Path directory) throws IOException {
+    Path path = directory.resolve("cups");
+    Path stopped = directory.resolve("stopped");
+    Circle expected = new ArrayCupCircle(CrabCircleTest.INITIAL_ARRANGEMENT, 1000);
+    for (int i = 0; i < 20_000; i++) {
+      expected.move();
+    }
+    try (
+        MappedCupCircle circle =
+            MappedCupCircle.create(path, CrabCircleTest.INITIAL_ARRANGEMENT, 1000)
+    ) {
+      circle.move(10_000);
+      circle.checkpoint();
+      circle.move(2_345);
+      Files.copy(path, stopped);
+    }
+    try (MappedCupCircle circle = MappedCupCircle.resume(stopped)) {
+      assertEquals(10_000, circle.getMoves());
+      circle.move(10_000);
+      assertEquals(expected.reportItems(), circle.reportItems());
+    }
+  }
+
+  @Test
+  void play_negativeMoves(@TempDir Path directory) {
+    Path path = directory.resolve("cups");
+    assertThrows(IllegalArgumentException.class, () -> CrabCups.playMapped(
+        CrabCircleTest.INITIAL_ARRANGEMENT, 1000, -1, path, 1000,
+        new PrintStream(new ByteArrayOutputStream())));
+    assertFalse(Files.exists(path));
+  }
+
+  @Test
+  void create_invalidLabels(@TempDir Path directory) {
+    Path path = directory.resolve("cups");
+    assertThrows(IllegalArgumentException.class, () ->
+        MappedCupCircle.create(path, "389125461", 9));
+    assertThrows(IllegalArgumentException.class, () -> MappedCupCircle.create(path, "3891", 9));
+    assertFalse(Files.exists(path));
+  }
+
+  @Test
+  void resume_incomplete(@TempDir Path directory) throws IOException {
+    Path path = Files.write(directory.resolve("cups"), new byte[8192]);
+    assertThrows(IOException.class, () -> MappedCupCircle.resume(path));
+    assertTrue(Files.exists(path));
+  }
+
+}
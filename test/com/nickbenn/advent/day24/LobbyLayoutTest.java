@@ -16,11 +16,17 @@
 package com.nickbenn.advent.day24;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.nickbenn.advent.generator.LobbyLayoutGenerator;
 import com.nickbenn.advent.util.Defaults;
+import com.nickbenn.advent.util.LongHashSet;
+import com.nickbenn.advent.util.Parser;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
 class LobbyLayoutTest {
@@ -32,6 +38,25 @@ class LobbyLayoutTest {
     assertEquals(10, population.size());
   }
 
+  @Test
+  void scanPackedConfiguration() throws IOException, URISyntaxException {
+    Parser parser =
+        new Parser.Builder(LobbyLayout.class.getResource(Defaults.TEST_FILENAME).toURI()).build();
+    LongHashSet expected = new LobbyLayout(parser).getPackedConfiguration();
+    assertSameTiles(expected, LobbyLayout.scanPackedConfiguration(parser));
+  }
+
+  @Test
+  void scanPackedConfiguration_parallel() throws IOException, URISyntaxException {
+    byte[] bytes = new LobbyLayoutGenerator(20_000, 2020).toBytes();
+    LongHashSet expected =
+        new LobbyLayout(new Parser.Builder(bytes).build()).getPackedConfiguration();
+    assertSameTiles(expected,
+        LobbyLayout.scanPackedConfiguration(new Parser.Builder(bytes).build()));
+    assertSameTiles(expected, LobbyLayout.scanPackedConfiguration(
+        new Parser.Builder(bytes).setMapped(true).setParallel(true).build()));
+  }
+
   @Test
   void iterate() throws IOException, URISyntaxException {
     LobbyLayout layout = new LobbyLayout(Defaults.TEST_FILENAME);
@@ -42,4 +67,58 @@ class LobbyLayoutTest {
     assertEquals(2208, population.size());
   }
 
-}
\ No newline at end of file
+  @Test
+  void iterate_packed() throws IOException, URISyntaxException {
+    LobbyLayout layout = new LobbyLayout(Defaults.TEST_FILENAME);
+    LongHashSet population = layout.getPackedConfiguration();
+    Set<HexagonalCell> expected = layout.getInitialConfiguration();
+    for (int i = 0; i < 10; i++) {
+      LongHashSet current = population;
+      assertEquals(expected.size(), current.size());
+      expected.stream()
+          .mapToLong(LobbyLayout::pack)
+          .forEach((cell) -> assertTrue(current.contains(cell)));
+      population = LobbyLayout.iterate(population);
+      expected = layout.iterate(expected);
+    }
+    for (int i = 10; i < LobbyLayout.NUM_GENERATIONS; i++) {
+      population = LobbyLayout.iterate(population);
+    }
+    assertEquals(2208, population.size());
+    assertEquals(population.size(), Arrays.stream(population.toArray())
+        .mapToObj(LobbyLayout::unpack)
+        .collect(Collectors.toSet())
+        .size());
+  }
+
+  @Test
+  void countPopulationHashlife() throws IOException, URISyntaxException {
+    LobbyLayout layout = new LobbyLayout(Defaults.TEST_FILENAME);
+    LongHashSet initial = layout.getPackedConfiguration();
+    for (int generations : new int[]{0, 1, 2, 10, 37, 100}) {
+      assertEquals(LobbyLayout.countPopulation(initial, generations),
+          LobbyLayout.countPopulationHashlife(initial, generations));
+    }
+    assertEquals(2208, LobbyLayout.countPopulationHashlife(initial, LobbyLayout.NUM_GENERATIONS));
+  }
+
+  @Test
+  void countPopulationDense() throws IOException, URISyntaxException {
+    LobbyLayout layout = new LobbyLayout(Defaults.TEST_FILENAME);
+    assertEquals(2208, LobbyLayout.countPopulationDense(
+        layout.getPackedConfiguration(), LobbyLayout.NUM_GENERATIONS));
+  }
+
+  @Test
+  void countPopulationAdaptive() throws IOException, URISyntaxException {
+    LobbyLayout layout = new LobbyLayout(Defaults.TEST_FILENAME);
+    assertEquals(2208, LobbyLayout.countPopulationAdaptive(
+        layout.getPackedConfiguration(), LobbyLayout.NUM_GENERATIONS));
+  }
+
+  private static void assertSameTiles(LongHashSet expected, LongHashSet actual) {
+    assertEquals(expected.size(), actual.size());
+    Arrays.stream(expected.toArray()).forEach((cell) -> assertTrue(actual.contains(cell)));
+  }
+
+}
@@ -0,0 +1,370 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.generator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nickbenn.advent.day1.ReportRepair;
+import com.nickbenn.advent.day10.AdapterArray;
+import com.nickbenn.advent.day11.SeatingSystem;
+import com.nickbenn.advent.day12.RainRisk;
+import com.nickbenn.advent.day13.ShuttleSearch;
+import com.nickbenn.advent.day14.DockingData;
+import com.nickbenn.advent.day15.RambunctiousRecitation;
+import com.nickbenn.advent.day16.TicketTranslation;
+import com.nickbenn.advent.day17.ConwayCubes;
+import com.nickbenn.advent.day18.Expression.Operator;
+import com.nickbenn.advent.day18.OperationOrder;
+import com.nickbenn.advent.day19.MonsterMessages;
+import com.nickbenn.advent.day2.PasswordPhilosophy;
+import com.nickbenn.advent.day20.JurassicJigsaw;
+import com.nickbenn.advent.day21.AllergenAssessment;
+import com.nickbenn.advent.day22.CrabCombat;
+import com.nickbenn.advent.day23.CupCircle;
+import com.nickbenn.advent.day24.HexagonalCell;
+import com.nickbenn.advent.day24.LobbyLayout;
+import com.nickbenn.advent.day3.TobogganTrajectory;
+import com.nickbenn.advent.day4.PassportProcessing;
+import com.nickbenn.advent.day5.BinaryBoarding;
+import com.nickbenn.advent.day6.CustomCustoms;
+import com.nickbenn.advent.day8.HandheldHalting;
+import com.nickbenn.advent.day9.EncodingError;
+import com.nickbenn.advent.util.Parser;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class GeneratorsTest {
+
+  static final long SEED = 2020;
+  static final int SIZE = 200;
+  static final Pattern LUGGAGE_RULE_PATTERN = Pattern.compile(
+      "^\\S+ \\S+ bags contain (?:no other bags|\\d+ \\S+ \\S+ bags?(?:, \\d+ \\S+ \\S+ bags?)*)\\.$");
+
+  static IntStream days() {
+    return IntStream.rangeClosed(1, 25);
+  }
+
+  @ParameterizedTest
+  @MethodSource("days")
+  void reproducible(int day) throws IOException {
+    byte[] expected = Generators.forDay(day, SIZE, SEED).toBytes();
+    assertTrue(expected.length > 0);
+    assertArrayEquals(expected, Generators.forDay(day, SIZE, SEED).toBytes());
+    assertFalse(Arrays.equals(expected, Generators.forDay(day, SIZE, SEED + 1).toBytes()));
+  }
+
+  @ParameterizedTest
+  @MethodSource("days")
+  void streamsIntoParser(int day) throws IOException, URISyntaxException {
+    Generator generator = Generators.forDay(day, SIZE, SEED);
+    assertEquals(lines(generator.toBytes()), lines(parser(generator)));
+  }
+
+  @Test
+  void writesCompressedFile(@TempDir Path directory) throws IOException, URISyntaxException {
+    Generator generator = Generators.forDay(4, SIZE, SEED);
+    Path path = directory.resolve("passports.txt.gz");
+    generator.write(path);
+    assertTrue(Files.size(path) < generator.toBytes().length);
+    assertEquals(lines(generator.toBytes()), lines(new Parser.Builder(path).build()));
+  }
+
+  @Test
+  void unknownDay() {
+    assertThrows(IllegalArgumentException.class, () -> Generators.forDay(26, SIZE, SEED));
+  }
+
+  @Test
+  void reportRepair() throws IOException, URISyntaxException {
+    ReportRepair repair = new ReportRepair(parser(new ReportRepairGenerator(SIZE, SEED)));
+    assertTrue(repair.dualSumProduct() > 0);
+    assertTrue(repair.tripleSumProduct() > 0);
+  }
+
+  @Test
+  void passwordPhilosophy() throws IOException, URISyntaxException {
+    PasswordPhilosophy philosophy =
+        new PasswordPhilosophy(parser(new PasswordPhilosophyGenerator(SIZE, SEED)));
+    assertTrue(philosophy.countValidByCount() > 0);
+    assertTrue(philosophy.countValidByPosition() > 0);
+  }
+
+  @Test
+  void tobogganTrajectory() throws IOException, URISyntaxException {
+    TobogganTrajectory trajectory =
+        new TobogganTrajectory(parser(new TobogganTrajectoryGenerator(SIZE, SEED)));
+    assertTrue(trajectory.trees(TobogganTrajectory.slopes2) > 0);
+  }
+
+  @Test
+  void passportProcessing() throws IOException, URISyntaxException {
+    PassportProcessing processing =
+        new PassportProcessing(parser(new PassportProcessingGenerator(SIZE, SEED)));
+    long basic = processing.basicValidation();
+    long advanced = processing.advancedValidation();
+    assertTrue(basic < SIZE);
+    assertTrue(advanced < basic);
+    assertTrue(advanced > 0);
+  }
+
+  @Test
+  void binaryBoarding() throws IOException, URISyntaxException {
+    Generator generator = new BinaryBoardingGenerator(SIZE, SEED);
+    Set<Integer> ids = lines(generator.toBytes()).stream()
+        .map(BinaryBoarding::getId)
+        .collect(Collectors.toSet());
+    int missing = new BinaryBoarding(parser(generator)).missing();
+    assertEquals(SIZE - 1, ids.size());
+    assertFalse(ids.contains(missing));
+    assertTrue(ids.contains(missing - 1) && ids.contains(missing + 1));
+  }
+
+  @Test
+  void customCustoms() throws IOException, URISyntaxException {
+    CustomCustoms customs = new CustomCustoms(parser(new CustomCustomsGenerator(SIZE, SEED)));
+    assertTrue(customs.responseIntersection() > 0);
+    assertTrue(customs.responseUnion() > customs.responseIntersection());
+  }
+
+  // HandyHaversacks keeps its rules in a static registry, so generated rules are only checked
+  // against the puzzle's format.
+  @Test
+  void handyHaversacks() throws IOException {
+    List<String> rules = lines(new HandyHaversacksGenerator(SIZE, SEED).toBytes());
+    assertEquals(SIZE, rules.size());
+    assertEquals(1, rules.stream()
+        .filter((rule) -> rule.startsWith(HandyHaversacksGenerator.SUBJECT_BAG_NAME + " bags"))
+        .count());
+    rules.forEach((rule) -> assertTrue(LUGGAGE_RULE_PATTERN.matcher(rule).matches(), rule));
+  }
+
+  @Test
+  void handheldHalting() throws IOException, URISyntaxException {
+    HandheldHalting halting = new HandheldHalting(parser(new HandheldHaltingGenerator(SIZE, SEED)));
+    assertNotNull(halting.executeUntilLoop());
+    assertNotNull(halting.findAndFix());
+  }
+
+  @Test
+  void encodingError() throws IOException, URISyntaxException {
+    Generator generator = new EncodingErrorGenerator(10 * SIZE, 25, SEED);
+    List<String> values = lines(generator.toBytes());
+    EncodingError encodingError = new EncodingError(parser(generator), 25);
+    long invalid = encodingError.firstInvalid();
+    assertEquals(Long.parseLong(values.get(values.size() - 1)), invalid);
+    assertTrue(encodingError.bracketSum(invalid) > 0);
+  }
+
+  @Test
+  void adapterArray() throws IOException, URISyntaxException {
+    AdapterArray adapterArray = new AdapterArray(parser(new AdapterArrayGenerator(SIZE, SEED)));
+    assertTrue(adapterArray.productMaxChainDifferences() > 0);
+    assertTrue(adapterArray.countViableChains() > 1);
+  }
+
+  @Test
+  void seatingSystem() throws IOException, URISyntaxException {
+    SeatingSystem seatingSystem =
+        new SeatingSystem(parser(new SeatingSystemGenerator(SIZE / 4, SEED)));
+    assertTrue(seatingSystem.countMooreStablePopulation() > 0);
+    seatingSystem.reset();
+    assertTrue(seatingSystem.countLineOfSightStablePopulation() > 0);
+  }
+
+  @Test
+  void rainRisk() throws IOException, URISyntaxException {
+    RainRisk rainRisk = new RainRisk(parser(new RainRiskGenerator(SIZE, SEED)));
+    assertTrue(rainRisk.basicDistance() > 0);
+    assertTrue(rainRisk.waypointDistance() > 0);
+  }
+
+  @Test
+  void shuttleSearch() throws IOException {
+    List<String> input = lines(new ShuttleSearchGenerator(SIZE, SEED).toBytes());
+    int threshold = Integer.parseInt(input.get(0));
+    List<Integer> routeLengths = Stream.of(input.get(1).split(","))
+        .map((value) -> value.equals("x") ? null : Integer.valueOf(value))
+        .collect(Collectors.toList());
+    assertTrue(ShuttleSearch.getMinWaitProduct(threshold, routeLengths) > 0);
+    long timestamp = ShuttleSearch.findOffsetSynchSmartForce(routeLengths);
+    for (int offset = 0; offset < routeLengths.size(); offset++) {
+      Integer length = routeLengths.get(offset);
+      if (length != null) {
+        assertEquals(0, (timestamp + offset) % length);
+      }
+    }
+  }
+
+  @Test
+  void dockingData() throws IOException, URISyntaxException {
+    DockingData dockingData = new DockingData(parser(new DockingDataGenerator(SIZE, SEED)));
+    assertTrue(dockingData.getV1Sum() > 0);
+    assertTrue(dockingData.getV2Sum() > 0);
+  }
+
+  @Test
+  void rambunctiousRecitation() throws IOException, URISyntaxException {
+    int[] game = parser(new RambunctiousRecitationGenerator(2020, 6, SEED))
+        .lineStream()
+        .flatMap((line) -> Stream.of(line.split(",\\s*")))
+        .mapToInt(Integer::parseInt)
+        .toArray();
+    assertEquals(7, game.length);
+    assertEquals(6, IntStream.of(game).skip(1).distinct().count());
+    assertTrue(RambunctiousRecitation.process(Arrays.copyOfRange(game, 1, game.length), game[0])
+        >= 0);
+  }
+
+  @Test
+  void ticketTranslation() throws IOException, URISyntaxException {
+    TicketTranslation translation =
+        new TicketTranslation(parser(new TicketTranslationGenerator(SIZE, SEED)));
+    assertTrue(translation.sumInvalidValues() > 0);
+    assertTrue(translation.getProductForPrefix("departure") > 0);
+  }
+
+  @Test
+  void conwayCubes() throws IOException, URISyntaxException {
+    ConwayCubes cubes = new ConwayCubes(parser(new ConwayCubesGenerator(8, SEED)));
+    assertTrue(cubes.countActive(3, 6) > 0);
+  }
+
+  @Test
+  void operationOrder() throws IOException, URISyntaxException {
+    OperationOrder operationOrder =
+        new OperationOrder(parser(new OperationOrderGenerator(SIZE, SEED)));
+    Collection<Operator> flat =
+        List.of(new Operator('+', 1, Long::sum), new Operator('*', 1, (a, b) -> a * b));
+    Collection<Operator> weird =
+        List.of(new Operator('+', 2, Long::sum), new Operator('*', 1, (a, b) -> a * b));
+    assertTrue(operationOrder.getSum(flat) > 0);
+    assertTrue(operationOrder.getSum(weird) > 0);
+  }
+
+  @Test
+  void monsterMessages() throws IOException, URISyntaxException {
+    for (boolean looping : new boolean[]{false, true}) {
+      MonsterMessagesGenerator generator = new MonsterMessagesGenerator(SIZE, looping, SEED);
+      long valid =
+          new MonsterMessages(parser(generator.rules()), parser(generator.messages())).countValid();
+      assertTrue(valid > 0 && valid < SIZE);
+    }
+  }
+
+  @Test
+  void jurassicJigsaw() throws IOException, URISyntaxException {
+    Generator generator = new JurassicJigsawGenerator(4, SEED);
+    long pixels = new String(generator.toBytes(), StandardCharsets.US_ASCII).chars()
+        .filter((c) -> c == '#')
+        .count();
+    JurassicJigsaw jigsaw = new JurassicJigsaw(parser(generator));
+    assertEquals(16, jigsaw.getTiles().size());
+    int roughness = jigsaw.getRoughness(jigsaw.merge(jigsaw.solve()));
+    assertTrue(roughness > 0 && roughness < pixels);
+  }
+
+  @Test
+  void allergenAssessment() throws IOException, URISyntaxException {
+    AllergenAssessment assessment =
+        new AllergenAssessment(parser(new AllergenAssessmentGenerator(SIZE, SEED)));
+    assertTrue(assessment.countNonAllergenicListings() > 0);
+    assertEquals(9, Set.of(assessment.getAllergenicIngredients().split(",")).size());
+  }
+
+  @Test
+  void crabCombat() throws IOException, URISyntaxException {
+    CrabCombatGenerator generator = new CrabCombatGenerator(10, SEED);
+    CrabCombat combat = new CrabCombat(parser(generator.player1()), parser(generator.player2()));
+    List<Integer> hand1 = new LinkedList<>(combat.getPlayer1());
+    List<Integer> hand2 = new LinkedList<>(combat.getPlayer2());
+    combat.playRecursive(hand1, hand2);
+    assertEquals(20, hand1.size() + hand2.size());
+    List<String> combined = lines(generator.toBytes());
+    assertEquals(23, combined.size());
+  }
+
+  @Test
+  void crabCups() throws IOException {
+    String arrangement = lines(new CrabCupsGenerator(SEED).toBytes()).get(0);
+    assertEquals("123456789", arrangement.chars()
+        .sorted()
+        .mapToObj(Character::toString)
+        .collect(Collectors.joining()));
+    CupCircle circle = new CupCircle(arrangement);
+    for (int i = 0; i < 100; i++) {
+      circle.move();
+    }
+    assertEquals(8, circle.reportItems().length());
+  }
+
+  @Test
+  void lobbyLayout() throws IOException, URISyntaxException {
+    LobbyLayout layout = new LobbyLayout(parser(new LobbyLayoutGenerator(SIZE, SEED)));
+    Set<HexagonalCell> population = layout.getInitialConfiguration();
+    assertFalse(population.isEmpty());
+    for (int i = 0; i < 10; i++) {
+      population = layout.iterate(population);
+    }
+    assertFalse(population.isEmpty());
+  }
+
+  @Test
+  void comboBreaker() throws IOException {
+    List<String> keys = lines(new ComboBreakerGenerator(SEED).toBytes());
+    assertEquals(2, keys.size());
+    for (String key : keys) {
+      long value = Long.parseLong(key);
+      assertTrue(value > 0 && value < ComboBreakerGenerator.MODULUS);
+    }
+  }
+
+  private static Parser parser(Generator generator) throws IOException, URISyntaxException {
+    return new Parser.Builder(generator).build();
+  }
+
+  private static List<String> lines(byte[] bytes) {
+    return new String(bytes, StandardCharsets.US_ASCII).lines().collect(Collectors.toList());
+  }
+
+  private static List<String> lines(Parser parser) throws IOException {
+    try (Stream<String> stream = parser.lineStream()) {
+      return stream.collect(Collectors.toCollection(ArrayList::new));
+    }
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IntIntMapTest {
+
+  static final long SEED = 2020;
+
+  @Test
+  void put_get() {
+    IntIntMap map = new IntIntMap();
+    assertEquals(0, map.put(7, 42));
+    assertEquals(42, map.get(7));
+    assertEquals(42, map.put(7, 43));
+    assertEquals(43, map.get(7));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void get_missing() {
+    IntIntMap map = new IntIntMap(4, -1);
+    assertEquals(-1, map.get(3));
+    assertEquals(-1, map.put(3, 5));
+    assertFalse(map.containsKey(4));
+    assertTrue(map.containsKey(3));
+  }
+
+  @Test
+  void put_zeroAndNegativeKeys() {
+    IntIntMap map = new IntIntMap(0, -1);
+    assertEquals(-1, map.put(0, 10));
+    assertEquals(-1, map.put(-5, 20));
+    assertEquals(-1, map.put(Integer.MIN_VALUE, 30));
+    assertEquals(10, map.put(0, 11));
+    assertEquals(11, map.get(0));
+    assertEquals(20, map.get(-5));
+    assertEquals(30, map.get(Integer.MIN_VALUE));
+    assertEquals(3, map.size());
+  }
+
+  @Test
+  void put_matchesHashMap() {
+    Random rng = new Random(SEED);
+    IntIntMap map = new IntIntMap();
+    Map<Integer, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 100_000; i++) {
+      int key = (i % 2 == 0) ? rng.nextInt(50_000) : rng.nextInt();
+      int value = rng.nextInt();
+      assertEquals(expected.getOrDefault(key, 0), map.put(key, value));
+      expected.put(key, value);
+    }
+    assertEquals(expected.size(), map.size());
+    expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+  }
+
+  @Test
+  void clear() {
+    IntIntMap map = new IntIntMap();
+    for (int key = 0; key < 100; key++) {
+      map.put(key, key + 1);
+    }
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertFalse(map.containsKey(0));
+    assertFalse(map.containsKey(50));
+    assertEquals(0, map.put(50, 1));
+  }
+
+}
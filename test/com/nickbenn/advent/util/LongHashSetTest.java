@@ -0,0 +1,100 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class LongHashSetTest {
+
+  static final long SEED = 2020;
+
+  @Test
+  void add_contains() {
+    LongHashSet set = new LongHashSet();
+    assertTrue(set.add(7));
+    assertFalse(set.add(7));
+    assertTrue(set.contains(7));
+    assertFalse(set.contains(8));
+    assertEquals(1, set.size());
+  }
+
+  @Test
+  void add_zeroAndNegativeKeys() {
+    LongHashSet set = new LongHashSet(0);
+    assertTrue(set.add(0));
+    assertTrue(set.add(-5));
+    assertTrue(set.add(Long.MIN_VALUE));
+    assertFalse(set.add(0));
+    assertTrue(set.contains(0));
+    assertTrue(set.contains(Long.MIN_VALUE));
+    assertEquals(3, set.size());
+    long[] keys = set.toArray();
+    Arrays.sort(keys);
+    assertArrayEquals(new long[]{Long.MIN_VALUE, -5, 0}, keys);
+  }
+
+  @Test
+  void toggle() {
+    LongHashSet set = new LongHashSet();
+    assertTrue(set.toggle(3));
+    assertFalse(set.toggle(3));
+    assertTrue(set.isEmpty());
+    assertTrue(set.toggle(0));
+    assertFalse(set.toggle(0));
+    assertFalse(set.contains(0));
+  }
+
+  @Test
+  void addRemove_matchesHashSet() {
+    Random rng = new Random(SEED);
+    LongHashSet set = new LongHashSet();
+    Set<Long> expected = new HashSet<>();
+    for (int i = 0; i < 200_000; i++) {
+      long key = (i % 2 == 0) ? rng.nextInt(5_000) : rng.nextLong();
+      if (rng.nextInt(3) == 0) {
+        assertEquals(expected.remove(key), set.remove(key));
+      } else {
+        assertEquals(expected.add(key), set.add(key));
+      }
+    }
+    assertEquals(expected.size(), set.size());
+    expected.forEach((key) -> assertTrue(set.contains(key)));
+    set.forEach((key) -> assertTrue(expected.contains(key)));
+  }
+
+  @Test
+  void clear() {
+    LongHashSet set = new LongHashSet();
+    for (long key = 0; key < 100; key++) {
+      set.add(key);
+    }
+    set.clear();
+    assertTrue(set.isEmpty());
+    assertFalse(set.contains(0));
+    assertFalse(set.contains(50));
+    assertTrue(set.add(50));
+  }
+
+}
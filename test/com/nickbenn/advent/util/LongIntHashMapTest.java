@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LongIntHashMapTest {
+
+  static final long SEED = 2020;
+
+  @Test
+  void put_get() {
+    LongIntHashMap map = new LongIntHashMap();
+    assertEquals(0, map.put(7, 42));
+    assertEquals(42, map.get(7));
+    assertEquals(42, map.put(7, 43));
+    assertEquals(43, map.get(7));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void addTo() {
+    LongIntHashMap map = new LongIntHashMap(4, 10);
+    assertEquals(11, map.addTo(-3, 1));
+    assertEquals(13, map.addTo(-3, 2));
+    assertEquals(9, map.addTo(0, -1));
+    assertEquals(8, map.addTo(0, -1));
+    assertEquals(2, map.size());
+    assertEquals(10, map.get(5));
+    assertFalse(map.containsKey(5));
+    assertTrue(map.containsKey(0));
+  }
+
+  @Test
+  void addTo_matchesHashMap() {
+    Random rng = new Random(SEED);
+    LongIntHashMap map = new LongIntHashMap();
+    Map<Long, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 100_000; i++) {
+      long key = (i % 2 == 0) ? rng.nextInt(20_000) : rng.nextLong();
+      int delta = rng.nextInt(5);
+      assertEquals((int) expected.merge(key, delta, Integer::sum), map.addTo(key, delta));
+    }
+    assertEquals(expected.size(), map.size());
+    expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+    int[] visited = {0};
+    map.forEach((key, value) -> {
+      assertEquals(expected.get(key), value);
+      visited[0]++;
+    });
+    assertEquals(expected.size(), visited[0]);
+  }
+
+  @Test
+  void clear() {
+    LongIntHashMap map = new LongIntHashMap();
+    for (long key = 0; key < 100; key++) {
+      map.put(key, 1);
+    }
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertFalse(map.containsKey(0));
+    assertEquals(0, map.addTo(50, 0));
+  }
+
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class NumberScannerTest {
+
+  static final String INT_INPUT = "  17\n-42\r\n+8\n\n 2147483647 \n-2147483648\n0";
+  static final int[] EXPECTED_INTS = {17, -42, 8, Integer.MAX_VALUE, Integer.MIN_VALUE, 0};
+  static final String LONG_INPUT = "9223372036854775807\n-9223372036854775808\n 35 \n";
+  static final long[] EXPECTED_LONGS = {Long.MAX_VALUE, Long.MIN_VALUE, 35};
+  static final String DOUBLE_INPUT = "1.5\n-0.25\n42\n3.14159\n1e3\n0.1\n";
+  static final double[] EXPECTED_DOUBLES = {1.5, -0.25, 42, 3.14159, 1000, 0.1};
+
+  @Test
+  void parseInts() {
+    assertArrayEquals(EXPECTED_INTS, NumberScanner.parseInts(wrap(INT_INPUT)));
+  }
+
+  @Test
+  void parseLongs() {
+    assertArrayEquals(EXPECTED_LONGS, NumberScanner.parseLongs(wrap(LONG_INPUT)));
+  }
+
+  @Test
+  void parseDoubles() {
+    assertArrayEquals(EXPECTED_DOUBLES, NumberScanner.parseDoubles(wrap(DOUBLE_INPUT)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 5, 8})
+  void scanInts_chunked(int chunkSize) {
+    NumberScanner.IntArray values = new NumberScanner.IntArray();
+    NumberScanner scanner = new NumberScanner();
+    byte[] bytes = INT_INPUT.getBytes(StandardCharsets.US_ASCII);
+    for (int start = 0; start < bytes.length; start += chunkSize) {
+      int length = Math.min(chunkSize, bytes.length - start);
+      scanner.scanInts(ByteBuffer.wrap(bytes, start, length), values, false);
+    }
+    scanner.scanInts(ByteBuffer.allocate(0), values, true);
+    assertArrayEquals(EXPECTED_INTS, values.toArray());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"2147483648", "-2147483649", "12a", "-", "+"})
+  void parseInts_invalid(String input) {
+    assertThrows(NumberFormatException.class, () -> NumberScanner.parseInts(wrap(input)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"9223372036854775808", "-9223372036854775809"})
+  void parseLongs_overflow(String input) {
+    assertThrows(NumberFormatException.class, () -> NumberScanner.parseLongs(wrap(input)));
+  }
+
+  private static ByteBuffer wrap(String input) {
+    return ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII));
+  }
+
+}
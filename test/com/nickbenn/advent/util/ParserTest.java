@@ -0,0 +1,457 @@
+/*
+ *  Copyright 2020 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.advent.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ParserTest {
+
+  static final Pattern BLANK_LINE_SPLITTER = Pattern.compile("\\n\\s*\\n");
+
+  static final String[] LINE_RESOURCES = {
+      "/com/nickbenn/advent/day1/test.txt",
+      "/com/nickbenn/advent/day2/test.txt",
+      "/com/nickbenn/advent/day4/basic.txt",
+      "/com/nickbenn/advent/day6/test.txt",
+      "/com/nickbenn/advent/day11/test.txt",
+      "/com/nickbenn/advent/day16/test1.txt",
+      "/com/nickbenn/advent/day19/test-rules-2.txt",
+      "/com/nickbenn/advent/day20/test.txt",
+      "/com/nickbenn/advent/day24/test.txt",
+  };
+  static final String[] DAY_RESOURCES = {
+      "/com/nickbenn/advent/day1/test.txt",
+      "/com/nickbenn/advent/day2/test.txt",
+      "/com/nickbenn/advent/day3/test.txt",
+      "/com/nickbenn/advent/day4/basic.txt",
+      "/com/nickbenn/advent/day4/invalid.txt",
+      "/com/nickbenn/advent/day4/valid.txt",
+      "/com/nickbenn/advent/day5/test.txt",
+      "/com/nickbenn/advent/day6/test.txt",
+      "/com/nickbenn/advent/day7/test.txt",
+      "/com/nickbenn/advent/day8/test.txt",
+      "/com/nickbenn/advent/day9/test.txt",
+      "/com/nickbenn/advent/day10/test1.txt",
+      "/com/nickbenn/advent/day10/test2.txt",
+      "/com/nickbenn/advent/day11/test.txt",
+      "/com/nickbenn/advent/day12/test.txt",
+      "/com/nickbenn/advent/day13/test.txt",
+      "/com/nickbenn/advent/day14/test1.txt",
+      "/com/nickbenn/advent/day14/test2.txt",
+      "/com/nickbenn/advent/day15/test.txt",
+      "/com/nickbenn/advent/day16/test1.txt",
+      "/com/nickbenn/advent/day16/test2.txt",
+      "/com/nickbenn/advent/day17/test.txt",
+      "/com/nickbenn/advent/day18/test1.txt",
+      "/com/nickbenn/advent/day18/test2.txt",
+      "/com/nickbenn/advent/day19/test-messages.txt",
+      "/com/nickbenn/advent/day19/test-rules-1.txt",
+      "/com/nickbenn/advent/day19/test-rules-2.txt",
+      "/com/nickbenn/advent/day20/test.txt",
+      "/com/nickbenn/advent/day21/test.txt",
+      "/com/nickbenn/advent/day22/test-1.txt",
+      "/com/nickbenn/advent/day22/test-2.txt",
+      "/com/nickbenn/advent/day24/test.txt",
+      "/com/nickbenn/advent/day25/test.txt",
+  };
+  static final String[] NUMERIC_RESOURCES = {
+      "/com/nickbenn/advent/day1/test.txt",
+      "/com/nickbenn/advent/day9/test.txt",
+      "/com/nickbenn/advent/day10/test1.txt",
+      "/com/nickbenn/advent/day10/test2.txt",
+      "/com/nickbenn/advent/day22/test-1.txt",
+      "/com/nickbenn/advent/day22/test-2.txt",
+  };
+
+  private static Stream<Arguments> lineStream() {
+    return Stream.of(LINE_RESOURCES)
+        .flatMap((resource) -> Stream.of(
+            Arguments.of(resource, false, false),
+            Arguments.of(resource, true, false),
+            Arguments.of(resource, true, true)
+        ));
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  void lineStream(String resource, boolean trimmed, boolean stripped)
+      throws IOException, URISyntaxException {
+    try (
+        Stream<String> expected = builder(resource)
+            .setTrimmed(trimmed)
+            .setStripped(stripped)
+            .build()
+            .lineStream();
+        Stream<String> actual = builder(resource)
+            .setTrimmed(trimmed)
+            .setStripped(stripped)
+            .setMapped(true)
+            .build()
+            .lineStream()
+    ) {
+      assertEquals(expected.collect(Collectors.toList()), actual.collect(Collectors.toList()));
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("lineStream")
+  void lineGroupStream(String resource, boolean ignored, boolean stripped)
+      throws IOException, URISyntaxException {
+    try (
+        Stream<String> expected = builder(resource)
+            .setTrimmed(true)
+            .setStripped(stripped)
+            .build()
+            .lineGroupStream();
+        Stream<String> actual = builder(resource)
+            .setTrimmed(true)
+            .setStripped(stripped)
+            .setMapped(true)
+            .build()
+            .lineGroupStream()
+    ) {
+      assertEquals(
+          expected.filter((group) -> !group.isEmpty()).collect(Collectors.toList()),
+          actual.collect(Collectors.toList())
+      );
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("dayResources")
+  void lineGroupStream_streaming(String resource) throws IOException, URISyntaxException {
+    Path path = Path.of(ParserTest.class.getResource(resource).toURI());
+    List<String> expected = BLANK_LINE_SPLITTER.splitAsStream(Files.readString(path))
+        .map(String::trim)
+        .filter((group) -> !group.isEmpty())
+        .map((group) -> group.replace("\r\n", "\n"))
+        .collect(Collectors.toList());
+    assertEquals(expected,
+        collect(builder(resource).setTrimmed(true).setStripped(true).build().lineGroupStream()));
+  }
+
+  @ParameterizedTest
+  @MethodSource("numericResources")
+  void intStream(String resource) throws IOException, URISyntaxException {
+    Parser.Builder builder = builder(resource);
+    try (
+        IntStream expected = builder.build().intStream();
+        IntStream actual = builder.setMapped(true).build().intStream()
+    ) {
+      assertArrayEquals(expected.toArray(), actual.toArray());
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("numericResources")
+  void longStream(String resource) throws IOException, URISyntaxException {
+    Parser.Builder builder = builder(resource);
+    try (
+        LongStream expected = builder.build().longStream();
+        LongStream actual = builder.setMapped(true).build().longStream()
+    ) {
+      assertArrayEquals(expected.toArray(), actual.toArray());
+    }
+  }
+
+  @Test
+  void intStream_lazy() throws IOException, URISyntaxException {
+    InputStream endless = new InputStream() {
+      private long position;
+
+      @Override
+      public int read() {
+        return (position++ % 2 == 0) ? '7' : '\n';
+      }
+    };
+    try (IntStream stream = new Parser.Builder(endless).build().intStream()) {
+      assertArrayEquals(new int[]{7, 7, 7}, stream.limit(3).toArray());
+    }
+  }
+
+  @Test
+  void doubleStream() throws IOException, URISyntaxException {
+    byte[] bytes = "1.5\n-2\n3e2 0.25\n".getBytes(StandardCharsets.US_ASCII);
+    double[] expected = {1.5, -2, 300, 0.25};
+    for (Parser.Builder builder : List.of(new Parser.Builder(bytes),
+        new Parser.Builder(bytes).setMapped(true),
+        new Parser.Builder(bytes).setMapped(true).setParallel(true))) {
+      try (DoubleStream stream = builder.build().doubleStream()) {
+        assertArrayEquals(expected, stream.toArray());
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {64, 100, 256})
+  void segmentedMapping(int maxSegmentSize) throws IOException, URISyntaxException {
+    for (String resource : LINE_RESOURCES) {
+      Path path = Path.of(ParserTest.class.getResource(resource).toURI());
+      assertEquals(
+          MappedFile.map(path).lines()
+              .map(ByteSequence::toString)
+              .collect(Collectors.toList()),
+          MappedFile.map(path, maxSegmentSize).lines()
+              .map(ByteSequence::toString)
+              .collect(Collectors.toList())
+      );
+      assertEquals(
+          MappedFile.map(path).lineGroups()
+              .map(ByteSequence::toString)
+              .collect(Collectors.toList()),
+          MappedFile.map(path, maxSegmentSize).lineGroups()
+              .map(ByteSequence::toString)
+              .collect(Collectors.toList())
+      );
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("dayResources")
+  void parallelLineStream(String resource) throws IOException, URISyntaxException {
+    Parser.Builder builder = builder(resource).setMapped(true);
+    List<String> expected = collect(builder.build().lineStream());
+    assertEquals(expected, collect(builder.setParallel(true).build().lineStream()));
+    assertEquals(sorted(expected),
+        sorted(collect(builder.setOrdered(false).build().lineStream())));
+  }
+
+  @ParameterizedTest
+  @MethodSource("dayResources")
+  void parallelLineGroupStream(String resource) throws IOException, URISyntaxException {
+    Parser.Builder builder = builder(resource).setMapped(true);
+    List<String> expected = collect(builder.build().lineGroupStream());
+    assertEquals(expected, collect(builder.setParallel(true).build().lineGroupStream()));
+    assertEquals(sorted(expected),
+        sorted(collect(builder.setOrdered(false).build().lineGroupStream())));
+  }
+
+  @ParameterizedTest
+  @MethodSource("dayResources")
+  void parallelCharArrayStream(String resource) throws IOException, URISyntaxException {
+    Parser.Builder builder = builder(resource).setMapped(true);
+    try (
+        Stream<char[]> expected = builder.build().charArrayStream();
+        Stream<char[]> actual = builder.setParallel(true).build().charArrayStream()
+    ) {
+      assertArrayEquals(expected.toArray(char[][]::new), actual.toArray(char[][]::new));
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("numericResources")
+  void parallelNumericStreams(String resource) throws IOException, URISyntaxException {
+    Parser.Builder builder = builder(resource).setMapped(true);
+    int[] expectedInts = builder.build().intStream().toArray();
+    long[] expectedLongs = builder.build().longStream().toArray();
+    builder.setParallel(true);
+    assertArrayEquals(expectedInts, builder.build().intStream().toArray());
+    assertArrayEquals(expectedLongs, builder.build().longStream().toArray());
+    builder.setOrdered(false);
+    assertArrayEquals(IntStream.of(expectedInts).sorted().toArray(),
+        builder.build().intStream().sorted().toArray());
+    assertArrayEquals(LongStream.of(expectedLongs).sorted().toArray(),
+        builder.build().longStream().sorted().toArray());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {128, 200, MappedFile.MAX_SEGMENT_SIZE})
+  void exhaustiveSplit(int maxSegmentSize) throws IOException, URISyntaxException {
+    for (String resource : DAY_RESOURCES) {
+      MappedFile file = MappedFile.map(
+          Path.of(ParserTest.class.getResource(resource).toURI()), maxSegmentSize);
+      assertEquals(collect(file.lines().map(ByteSequence::toString)),
+          splitAll(file.lineSpliterator(true)));
+      assertEquals(collect(file.lineGroups().map(ByteSequence::toString)),
+          splitAll(file.lineGroupSpliterator(true)));
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("dayResources")
+  void byteArraySource(String resource) throws IOException, URISyntaxException {
+    byte[] bytes = read(resource);
+    assertSameContent(builder(resource), new Parser.Builder(bytes));
+    assertSameContent(builder(resource), new Parser.Builder(bytes).setParallel(true));
+    assertSameContent(builder(resource), new Parser.Builder(bytes).setMapped(true));
+    assertSameContent(builder(resource),
+        new Parser.Builder(bytes).setMapped(true).setParallel(true));
+  }
+
+  @ParameterizedTest
+  @MethodSource("dayResources")
+  void gzipSource(String resource) throws IOException, URISyntaxException {
+    byte[] compressed = gzip(read(resource));
+    assertSameContent(builder(resource), new Parser.Builder(compressed));
+    Path path = Files.createTempFile("source", ".txt.gz");
+    try {
+      Files.write(path, compressed);
+      assertSameContent(builder(resource), new Parser.Builder(path).setMapped(true));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("numericResources")
+  void inputStreamSource(String resource) throws IOException, URISyntaxException {
+    byte[] bytes = read(resource);
+    assertArrayEquals(builder(resource).build().ints(),
+        new Parser.Builder(new ByteArrayInputStream(bytes)).build().ints());
+    assertArrayEquals(builder(resource).build().ints(),
+        new Parser.Builder(new ByteArrayInputStream(gzip(bytes))).build().ints());
+  }
+
+  @Test
+  void inputStreamSource_singleUse() throws IOException, URISyntaxException {
+    Parser parser = new Parser.Builder(new ByteArrayInputStream(new byte[0])).build();
+    assertEquals(0, parser.lines().length);
+    assertThrows(IllegalStateException.class, parser::lines);
+  }
+
+  @Test
+  void nonAsciiContent() throws IOException, URISyntaxException {
+    byte[] bytes = "  caf\u00e9 \u2713\n\nna\u00efve\r\n\ud834\udd1e r\u00e9sum\u00e9  \n"
+        .getBytes(StandardCharsets.UTF_8);
+    Path path = Files.createTempFile("source", ".txt");
+    try {
+      Files.write(path, bytes);
+      Parser.Builder streamed = new Parser.Builder(path);
+      Parser.Builder mapped = new Parser.Builder(path).setMapped(true);
+      assertEquals(List.of(
+          "  caf\u00e9 \u2713", "", "na\u00efve", "\ud834\udd1e r\u00e9sum\u00e9  "),
+          collect(mapped.build().lineStream()));
+      assertArrayEquals(
+          streamed.build().charArrayStream().map(String::new).toArray(String[]::new),
+          mapped.build().charArrayStream().map(String::new).toArray(String[]::new));
+      assertEquals(collect(streamed.build().lineStream()),
+          collect(mapped.build().lineSequenceStream().map((line) -> new StringBuilder(line))
+              .map(StringBuilder::toString)));
+      assertEquals(collect(streamed.build().lineGroupStream()),
+          collect(mapped.build().lineGroupSequenceStream().map((group) -> new StringBuilder(group))
+              .map(StringBuilder::toString)));
+      assertSameContent(streamed, mapped);
+      assertSameContent(new Parser.Builder(bytes), new Parser.Builder(bytes).setMapped(true));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  void jarSource() throws IOException, URISyntaxException {
+    String resource = DAY_RESOURCES[0];
+    Path jar = Files.createTempFile("source", ".jar");
+    try {
+      try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(jar))) {
+        output.putNextEntry(new ZipEntry(resource.substring(1)));
+        output.write(read(resource));
+        output.closeEntry();
+      }
+      URI uri = new URI("jar:" + jar.toUri() + "!" + resource);
+      assertSameContent(builder(resource), new Parser.Builder(uri));
+    } finally {
+      Files.delete(jar);
+    }
+  }
+
+  private static void assertSameContent(Parser.Builder expected, Parser.Builder actual)
+      throws IOException, URISyntaxException {
+    assertEquals(collect(expected.build().lineStream()), collect(actual.build().lineStream()));
+    assertEquals(collect(expected.setTrimmed(true).build().lineGroupStream()),
+        collect(actual.setTrimmed(true).build().lineGroupStream()));
+    assertEquals(expected.build().rawString(), actual.build().rawString());
+  }
+
+  private static byte[] read(String resource) throws IOException, URISyntaxException {
+    return Files.readAllBytes(Path.of(ParserTest.class.getResource(resource).toURI()));
+  }
+
+  private static byte[] gzip(byte[] bytes) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (OutputStream output = new GZIPOutputStream(buffer)) {
+      output.write(bytes);
+    }
+    return buffer.toByteArray();
+  }
+
+  private static List<String> splitAll(Spliterator<ByteSequence> spliterator) {
+    List<String> items = new ArrayList<>();
+    Spliterator<ByteSequence> prefix = spliterator.trySplit();
+    if (prefix != null) {
+      items.addAll(splitAll(prefix));
+      items.addAll(splitAll(spliterator));
+    } else {
+      spliterator.forEachRemaining((item) -> items.add(item.toString()));
+    }
+    return items;
+  }
+
+  private static List<String> collect(Stream<String> stream) {
+    try (stream) {
+      return stream.collect(Collectors.toList());
+    }
+  }
+
+  private static List<String> sorted(List<String> list) {
+    List<String> sorted = new ArrayList<>(list);
+    Collections.sort(sorted);
+    return sorted;
+  }
+
+  private static Stream<String> dayResources() {
+    return Stream.of(DAY_RESOURCES);
+  }
+
+  private static Stream<String> numericResources() {
+    return Stream.of(NUMERIC_RESOURCES);
+  }
+
+  private static Parser.Builder builder(String resource) throws URISyntaxException {
+    return new Parser.Builder(ParserTest.class.getResource(resource).toURI());
+  }
+
+}